@@ -0,0 +1,190 @@
+package com.example.inventoryeventcontract;
+
+import org.apache.kafka.common.errors.SerializationException;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Compact binary wire format for {@link InventoryEventMessage}.
+ * <pre>
+ * byte     magic (0x00, never the first byte of a JSON document)
+ * byte     schema version
+ * short    presence bits, one per field below in order; absent fields are not written
+ * 16       eventId              byte     eventType code      byte    reason code
+ * 16       installationId       long     productId           string  productName
+ * int      quantity             long+int occurredAt (epoch seconds, nanos)
+ * string   sourceService        string   details
+ * </pre>
+ * Strings are a varint byte length followed by UTF-8. Enum codes come from the tables below, which
+ * may only be appended to; new fields go at the end under a new schema version.
+ */
+public final class InventoryEventBinaryCodec {
+
+    public static final byte MAGIC = 0x00;
+    public static final byte SCHEMA_V1 = 1;
+
+    private static final InventoryEventType[] EVENT_TYPES = {
+            InventoryEventType.ITEM_ADDED,
+            InventoryEventType.ITEM_UPDATED,
+            InventoryEventType.ITEM_DELETED,
+            InventoryEventType.ITEM_DEPLETED,
+            InventoryEventType.ITEM_EXPIRED_DISCARDED
+    };
+
+    private static final InventoryEventReason[] REASONS = {
+            InventoryEventReason.PURCHASE,
+            InventoryEventReason.CONSUMED,
+            InventoryEventReason.EXPIRED,
+            InventoryEventReason.USER_ERROR,
+            InventoryEventReason.DAMAGED,
+            InventoryEventReason.MANUAL_UPDATE,
+            InventoryEventReason.OTHER
+    };
+
+    private static final Map<InventoryEventType, Byte> EVENT_TYPE_CODES = codes(InventoryEventType.class, EVENT_TYPES);
+    private static final Map<InventoryEventReason, Byte> REASON_CODES = codes(InventoryEventReason.class, REASONS);
+
+    private static final int EVENT_ID = 1;
+    private static final int EVENT_TYPE = 1 << 1;
+    private static final int REASON = 1 << 2;
+    private static final int INSTALLATION_ID = 1 << 3;
+    private static final int PRODUCT_ID = 1 << 4;
+    private static final int PRODUCT_NAME = 1 << 5;
+    private static final int QUANTITY = 1 << 6;
+    private static final int OCCURRED_AT = 1 << 7;
+    private static final int SOURCE_SERVICE = 1 << 8;
+    private static final int DETAILS = 1 << 9;
+
+    private InventoryEventBinaryCodec() {
+    }
+
+    public static boolean isBinary(byte[] data) {
+        return data != null && data.length > 1 && data[0] == MAGIC;
+    }
+
+    public static byte[] encode(InventoryEventMessage event) {
+        byte[] productName = utf8(event.getProductName());
+        byte[] sourceService = utf8(event.getSourceService());
+        byte[] details = utf8(event.getDetails());
+
+        int presence = 0;
+        int size = 4;
+        if (event.getEventId() != null) { presence |= EVENT_ID; size += 16; }
+        if (event.getEventType() != null) { presence |= EVENT_TYPE; size += 1; }
+        if (event.getReason() != null) { presence |= REASON; size += 1; }
+        if (event.getInstallationId() != null) { presence |= INSTALLATION_ID; size += 16; }
+        if (event.getProductId() != null) { presence |= PRODUCT_ID; size += 8; }
+        if (productName != null) { presence |= PRODUCT_NAME; size += stringSize(productName); }
+        if (event.getQuantity() != null) { presence |= QUANTITY; size += 4; }
+        if (event.getOccurredAt() != null) { presence |= OCCURRED_AT; size += 12; }
+        if (sourceService != null) { presence |= SOURCE_SERVICE; size += stringSize(sourceService); }
+        if (details != null) { presence |= DETAILS; size += stringSize(details); }
+
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.put(MAGIC).put(SCHEMA_V1).putShort((short) presence);
+        if (event.getEventId() != null) putUuid(buffer, event.getEventId());
+        if (event.getEventType() != null) buffer.put(EVENT_TYPE_CODES.get(event.getEventType()));
+        if (event.getReason() != null) buffer.put(REASON_CODES.get(event.getReason()));
+        if (event.getInstallationId() != null) putUuid(buffer, event.getInstallationId());
+        if (event.getProductId() != null) buffer.putLong(event.getProductId());
+        if (productName != null) putString(buffer, productName);
+        if (event.getQuantity() != null) buffer.putInt(event.getQuantity());
+        if (event.getOccurredAt() != null) {
+            buffer.putLong(event.getOccurredAt().getEpochSecond()).putInt(event.getOccurredAt().getNano());
+        }
+        if (sourceService != null) putString(buffer, sourceService);
+        if (details != null) putString(buffer, details);
+        return buffer.array();
+    }
+
+    public static InventoryEventMessage decode(byte[] data) {
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        if (!isBinary(data)) {
+            throw new SerializationException("Not a binary inventory event");
+        }
+        buffer.get();
+        byte version = buffer.get();
+        if (version != SCHEMA_V1) {
+            throw new SerializationException("Unsupported inventory event schema version " + version);
+        }
+
+        try {
+            int presence = buffer.getShort() & 0xFFFF;
+            InventoryEventMessage event = new InventoryEventMessage();
+            if ((presence & EVENT_ID) != 0) event.setEventId(getUuid(buffer));
+            if ((presence & EVENT_TYPE) != 0) event.setEventType(EVENT_TYPES[buffer.get()]);
+            if ((presence & REASON) != 0) event.setReason(REASONS[buffer.get()]);
+            if ((presence & INSTALLATION_ID) != 0) event.setInstallationId(getUuid(buffer));
+            if ((presence & PRODUCT_ID) != 0) event.setProductId(buffer.getLong());
+            if ((presence & PRODUCT_NAME) != 0) event.setProductName(getString(buffer));
+            if ((presence & QUANTITY) != 0) event.setQuantity(buffer.getInt());
+            if ((presence & OCCURRED_AT) != 0) event.setOccurredAt(Instant.ofEpochSecond(buffer.getLong(), buffer.getInt()));
+            if ((presence & SOURCE_SERVICE) != 0) event.setSourceService(getString(buffer));
+            if ((presence & DETAILS) != 0) event.setDetails(getString(buffer));
+            return event;
+        } catch (RuntimeException e) {
+            throw new SerializationException("Malformed binary inventory event", e);
+        }
+    }
+
+    private static <E extends Enum<E>> Map<E, Byte> codes(Class<E> type, E[] table) {
+        Map<E, Byte> codes = new EnumMap<>(type);
+        for (byte code = 0; code < table.length; code++) {
+            codes.put(table[code], code);
+        }
+        if (codes.size() != type.getEnumConstants().length) {
+            throw new IllegalStateException("Missing wire code for a constant of " + type.getSimpleName());
+        }
+        return codes;
+    }
+
+    private static byte[] utf8(String value) {
+        return value != null ? value.getBytes(StandardCharsets.UTF_8) : null;
+    }
+
+    private static int stringSize(byte[] bytes) {
+        int length = bytes.length;
+        int varintSize = 1;
+        while ((length >>>= 7) != 0) {
+            varintSize++;
+        }
+        return varintSize + bytes.length;
+    }
+
+    private static void putString(ByteBuffer buffer, byte[] bytes) {
+        int length = bytes.length;
+        while ((length & ~0x7F) != 0) {
+            buffer.put((byte) ((length & 0x7F) | 0x80));
+            length >>>= 7;
+        }
+        buffer.put((byte) length);
+        buffer.put(bytes);
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        int length = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = buffer.get();
+            length |= (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        String value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length, StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + length);
+        return value;
+    }
+
+    private static void putUuid(ByteBuffer buffer, UUID uuid) {
+        buffer.putLong(uuid.getMostSignificantBits()).putLong(uuid.getLeastSignificantBits());
+    }
+
+    private static UUID getUuid(ByteBuffer buffer) {
+        return new UUID(buffer.getLong(), buffer.getLong());
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.inventoryeventcontract;
+
+import org.apache.kafka.common.serialization.Deserializer;
+
+/**
+ * Kafka value deserializer for inventory events. Binary frames are recognised by their magic byte;
+ * anything else is read as the JSON records written before the binary format, so no type headers
+ * or {@code spring.json.*} mapping properties are needed.
+ */
+public class InventoryEventDeserializer implements Deserializer<InventoryEventMessage> {
+
+    @Override
+    public InventoryEventMessage deserialize(String topic, byte[] data) {
+        if (data == null) {
+            return null;
+        }
+        return InventoryEventBinaryCodec.isBinary(data)
+                ? InventoryEventBinaryCodec.decode(data)
+                : InventoryEventJsonReader.read(data);
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.inventoryeventcontract;
+
+import org.apache.kafka.common.errors.SerializationException;
+import tools.jackson.core.JacksonException;
+import tools.jackson.core.JsonParser;
+import tools.jackson.core.JsonToken;
+import tools.jackson.core.ObjectReadContext;
+import tools.jackson.core.json.JsonFactory;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Reads JSON inventory events with the streaming parser, field by field, instead of going through
+ * data binding. Unknown fields are skipped; timestamps may be ISO strings or epoch seconds.
+ */
+final class InventoryEventJsonReader {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private InventoryEventJsonReader() {
+    }
+
+    static InventoryEventMessage read(byte[] data) {
+        try (JsonParser parser = JSON_FACTORY.createParser(ObjectReadContext.empty(), data)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new SerializationException("Inventory event JSON must be an object");
+            }
+            InventoryEventMessage event = new InventoryEventMessage();
+            while (parser.nextToken() == JsonToken.PROPERTY_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if (value == JsonToken.VALUE_NULL) {
+                    continue;
+                }
+                switch (field) {
+                    case "eventId" -> event.setEventId(UUID.fromString(parser.getString()));
+                    case "eventType" -> event.setEventType(InventoryEventType.valueOf(parser.getString()));
+                    case "reason" -> event.setReason(InventoryEventReason.valueOf(parser.getString()));
+                    case "installationId" -> event.setInstallationId(UUID.fromString(parser.getString()));
+                    case "productId" -> event.setProductId(parser.getLongValue());
+                    case "productName" -> event.setProductName(parser.getString());
+                    case "quantity" -> event.setQuantity(parser.getIntValue());
+                    case "occurredAt" -> event.setOccurredAt(readInstant(parser, value));
+                    case "sourceService" -> event.setSourceService(parser.getString());
+                    case "details" -> event.setDetails(parser.getString());
+                    default -> parser.skipChildren();
+                }
+            }
+            return event;
+        } catch (JacksonException | IllegalArgumentException e) {
+            throw new SerializationException("Malformed JSON inventory event", e);
+        }
+    }
+
+    private static Instant readInstant(JsonParser parser, JsonToken value) {
+        if (value == JsonToken.VALUE_STRING) {
+            return Instant.parse(parser.getString());
+        }
+        BigDecimal seconds = parser.getDecimalValue();
+        return Instant.ofEpochSecond(seconds.longValue(),
+                seconds.remainder(BigDecimal.ONE).movePointRight(9).intValue());
+    }
+}
@@ -1,4 +1,4 @@
-package com.example.inventoryservice.event;
+package com.example.inventoryeventcontract;
 
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -8,11 +8,17 @@ import lombok.NoArgsConstructor;
 import java.time.Instant;
 import java.util.UUID;
 
+/**
+ * An inventory change published by inventory-service on {@code inventory.events}. Adding a field
+ * means extending {@link InventoryEventBinaryCodec} under a new schema version.
+ */
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class InventoryEventMessage {
+
+    /** Unique per event; consumers de-duplicate on it. */
     private UUID eventId;
     private InventoryEventType eventType;
     private InventoryEventReason reason;
@@ -20,9 +26,10 @@ public class InventoryEventMessage {
     private UUID installationId;
     private Long productId;
     private String productName;
+    /** The amount moved by this event, not the resulting stock level. */
     private Integer quantity;
 
     private Instant occurredAt;
     private String sourceService;
     private String details;
-}
\ No newline at end of file
+}
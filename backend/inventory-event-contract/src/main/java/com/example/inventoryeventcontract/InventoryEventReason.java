@@ -1,4 +1,4 @@
-package com.example.inventoryservice.event;
+package com.example.inventoryeventcontract;
 
 public enum InventoryEventReason {
     PURCHASE,
@@ -8,4 +8,4 @@ public enum InventoryEventReason {
     DAMAGED,
     MANUAL_UPDATE,
     OTHER
-}
\ No newline at end of file
+}
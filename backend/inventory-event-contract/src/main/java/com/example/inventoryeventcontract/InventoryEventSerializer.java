@@ -0,0 +1,14 @@
+package com.example.inventoryeventcontract;
+
+import org.apache.kafka.common.serialization.Serializer;
+
+/**
+ * Kafka value serializer writing {@link InventoryEventBinaryCodec} frames.
+ */
+public class InventoryEventSerializer implements Serializer<InventoryEventMessage> {
+
+    @Override
+    public byte[] serialize(String topic, InventoryEventMessage data) {
+        return data != null ? InventoryEventBinaryCodec.encode(data) : null;
+    }
+}
@@ -1,4 +1,4 @@
-package com.example.inventoryservice.event;
+package com.example.inventoryeventcontract;
 
 public enum InventoryEventType {
     ITEM_ADDED,
@@ -6,4 +6,4 @@ public enum InventoryEventType {
     ITEM_DELETED,
     ITEM_DEPLETED,
     ITEM_EXPIRED_DISCARDED
-}
\ No newline at end of file
+}
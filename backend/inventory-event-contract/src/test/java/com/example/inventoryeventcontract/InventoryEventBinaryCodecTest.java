@@ -0,0 +1,85 @@
+package com.example.inventoryeventcontract;
+
+import org.apache.kafka.common.errors.SerializationException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InventoryEventBinaryCodecTest {
+
+    @Test
+    void roundTripsEveryField() {
+        InventoryEventMessage event = InventoryEventMessage.builder()
+                .eventId(UUID.randomUUID())
+                .eventType(InventoryEventType.ITEM_EXPIRED_DISCARDED)
+                .reason(InventoryEventReason.EXPIRED)
+                .installationId(UUID.randomUUID())
+                .productId(Long.MAX_VALUE)
+                .productName("Crème fraîche " + "x".repeat(300))
+                .quantity(-3)
+                .occurredAt(Instant.parse("2025-03-01T10:15:30.123456789Z"))
+                .sourceService("inventory-service")
+                .details("")
+                .build();
+
+        byte[] encoded = InventoryEventBinaryCodec.encode(event);
+
+        assertTrue(InventoryEventBinaryCodec.isBinary(encoded));
+        assertEquals(event, InventoryEventBinaryCodec.decode(encoded));
+    }
+
+    @Test
+    void keepsAbsentFieldsNull() {
+        InventoryEventMessage event = InventoryEventMessage.builder()
+                .eventId(UUID.randomUUID())
+                .eventType(InventoryEventType.ITEM_ADDED)
+                .build();
+
+        assertEquals(event, InventoryEventBinaryCodec.decode(InventoryEventBinaryCodec.encode(event)));
+    }
+
+    @Test
+    void isSmallerThanJsonAndNeverMistakenForIt() {
+        InventoryEventMessage event = InventoryEventMessage.builder()
+                .eventId(UUID.randomUUID())
+                .eventType(InventoryEventType.ITEM_DEPLETED)
+                .reason(InventoryEventReason.CONSUMED)
+                .installationId(UUID.randomUUID())
+                .productId(1042L)
+                .productName("Semi-skimmed milk 1L")
+                .quantity(2)
+                .occurredAt(Instant.now())
+                .sourceService("inventory-service")
+                .details("Item consumed")
+                .build();
+        byte[] json = json(event).getBytes(StandardCharsets.UTF_8);
+
+        assertFalse(InventoryEventBinaryCodec.isBinary(json));
+        assertTrue(InventoryEventBinaryCodec.encode(event).length * 2 < json.length);
+    }
+
+    @Test
+    void rejectsUnknownSchemaVersion() {
+        byte[] encoded = InventoryEventBinaryCodec.encode(InventoryEventMessage.builder().quantity(1).build());
+        encoded[1] = 99;
+
+        assertThrows(SerializationException.class, () -> InventoryEventBinaryCodec.decode(encoded));
+    }
+
+    /** The JSON inventory-service produced before the binary format, for size comparison. */
+    private static String json(InventoryEventMessage event) {
+        return ("{\"eventId\":\"%s\",\"eventType\":\"%s\",\"reason\":\"%s\",\"installationId\":\"%s\","
+                + "\"productId\":%d,\"productName\":\"%s\",\"quantity\":%d,\"occurredAt\":\"%s\","
+                + "\"sourceService\":\"%s\",\"details\":\"%s\"}").formatted(
+                event.getEventId(), event.getEventType(), event.getReason(), event.getInstallationId(),
+                event.getProductId(), event.getProductName(), event.getQuantity(), event.getOccurredAt(),
+                event.getSourceService(), event.getDetails());
+    }
+}
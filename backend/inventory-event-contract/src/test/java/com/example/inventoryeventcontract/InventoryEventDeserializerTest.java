@@ -0,0 +1,75 @@
+package com.example.inventoryeventcontract;
+
+import org.apache.kafka.common.errors.SerializationException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class InventoryEventDeserializerTest {
+
+    private final InventoryEventDeserializer deserializer = new InventoryEventDeserializer();
+
+    @Test
+    void readsBinaryFrames() {
+        InventoryEventMessage event = InventoryEventMessage.builder()
+                .eventId(UUID.randomUUID())
+                .eventType(InventoryEventType.ITEM_ADDED)
+                .installationId(UUID.randomUUID())
+                .quantity(4)
+                .build();
+
+        assertEquals(event, deserializer.deserialize("inventory.events",
+                new InventoryEventSerializer().serialize("inventory.events", event)));
+    }
+
+    @Test
+    void readsLegacyJsonRecords() {
+        UUID eventId = UUID.randomUUID();
+        UUID installationId = UUID.randomUUID();
+        String json = """
+                {"eventId":"%s","eventType":"ITEM_DEPLETED","reason":"CONSUMED","installationId":"%s",
+                 "productId":101,"productName":"Test Product","quantity":5,
+                 "occurredAt":"2025-03-01T10:15:30.5Z","sourceService":"inventory-service","details":null,
+                 "addedLater":{"nested":[1,2,3]}}
+                """.formatted(eventId, installationId);
+
+        InventoryEventMessage event = deserializer.deserialize("inventory.events", json.getBytes(StandardCharsets.UTF_8));
+
+        assertEquals(InventoryEventMessage.builder()
+                .eventId(eventId)
+                .eventType(InventoryEventType.ITEM_DEPLETED)
+                .reason(InventoryEventReason.CONSUMED)
+                .installationId(installationId)
+                .productId(101L)
+                .productName("Test Product")
+                .quantity(5)
+                .occurredAt(Instant.parse("2025-03-01T10:15:30.5Z"))
+                .sourceService("inventory-service")
+                .build(), event);
+    }
+
+    @Test
+    void readsNumericJsonTimestamps() {
+        byte[] json = "{\"occurredAt\":1740824130.500000000}".getBytes(StandardCharsets.UTF_8);
+
+        assertEquals(Instant.parse("2025-03-01T10:15:30.5Z"), deserializer.deserialize("inventory.events", json).getOccurredAt());
+    }
+
+    @Test
+    void rejectsUnknownEnumConstants() {
+        byte[] json = "{\"eventType\":\"ITEM_TELEPORTED\"}".getBytes(StandardCharsets.UTF_8);
+
+        assertThrows(SerializationException.class, () -> deserializer.deserialize("inventory.events", json));
+    }
+
+    @Test
+    void passesTombstonesThrough() {
+        assertNull(deserializer.deserialize("inventory.events", null));
+    }
+}
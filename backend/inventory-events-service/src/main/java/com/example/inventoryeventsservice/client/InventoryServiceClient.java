@@ -0,0 +1,82 @@
+package com.example.inventoryeventsservice.client;
+
+import com.example.inventoryeventsservice.replay.LongLongHashMap;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientResponseException;
+import tools.jackson.databind.MappingIterator;
+import tools.jackson.databind.ObjectReader;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Reads the current items of an installation from inventory-service. Items are streamed as NDJSON
+ * and summed per generic product while reading, so large installations are never held as a list.
+ */
+@Component
+public class InventoryServiceClient {
+
+    private final RestClient restClient;
+    private final ObjectReader itemReader;
+
+    public InventoryServiceClient(
+            JsonMapper jsonMapper,
+            @Value("${services.inventory-service.base-url}") String inventoryServiceBaseUrl,
+            @Value("${app.http-client.connect-timeout:2s}") Duration connectTimeout,
+            @Value("${app.http-client.read-timeout:30s}") Duration readTimeout
+    ) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(connectTimeout);
+        requestFactory.setReadTimeout(readTimeout);
+        this.restClient = RestClient.builder()
+                .baseUrl(inventoryServiceBaseUrl)
+                .requestFactory(requestFactory)
+                .build();
+        this.itemReader = jsonMapper.readerFor(CurrentItem.class);
+    }
+
+    /**
+     * Quantity per generic product id currently in {@code inventory_items}. inventory-service only
+     * serves authenticated callers, so the caller's {@code Authorization} header is passed on.
+     */
+    public LongLongHashMap getStockByProduct(UUID installationId, String authorization) {
+        return restClient.get()
+                .uri("/inventory/items/stream")
+                .header("X-Installation-Id", installationId.toString())
+                .headers(headers -> {
+                    if (authorization != null) {
+                        headers.set(HttpHeaders.AUTHORIZATION, authorization);
+                    }
+                })
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange((request, response) -> {
+                    if (response.getStatusCode().isError()) {
+                        throw new RestClientResponseException(
+                                "inventory-service answered " + response.getStatusCode() + " for installation " + installationId,
+                                response.getStatusCode(), response.getStatusText(), response.getHeaders(),
+                                response.getBody().readAllBytes(), StandardCharsets.UTF_8);
+                    }
+                    LongLongHashMap stock = new LongLongHashMap();
+                    try (MappingIterator<CurrentItem> items = itemReader.readValues(response.getBody())) {
+                        while (items.hasNext()) {
+                            CurrentItem item = items.next();
+                            if (item.genericProductId() != null && item.quantity() != null) {
+                                stock.addTo(item.genericProductId(), item.quantity());
+                            }
+                        }
+                    }
+                    return stock;
+                });
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record CurrentItem(Long genericProductId, Integer quantity) {}
+}
@@ -1,22 +1,93 @@
 package com.example.inventoryeventsservice.config;
 
+import com.example.inventoryeventsservice.exception.InvalidInventoryEventException;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.kafka.autoconfigure.ConcurrentKafkaListenerContainerFactoryConfigurer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.config.TopicBuilder;
+import org.springframework.kafka.core.ConsumerFactory;
 import org.springframework.kafka.core.KafkaOperations;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
 import org.springframework.kafka.listener.CommonErrorHandler;
 import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
 import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.kafka.support.serializer.DeserializationException;
 import org.springframework.util.backoff.FixedBackOff;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 @Configuration
 public class KafkaConfig {
 
+    /** Suffix of the dead-letter topic; shared with the retry topics declared on the failed-events listener. */
+    public static final String DLT_SUFFIX = "-dlt";
+
+    /**
+     * Declares the events topic so it gets enough partitions for the listener concurrency; the broker
+     * would otherwise auto-create it with one. KafkaAdmin also raises the count of an existing topic.
+     */
+    @Bean
+    public NewTopic inventoryEventsTopic(
+            @Value("${app.kafka.topic.inventory-events}") String topic,
+            @Value("${app.kafka.topic.inventory-events-partitions:6}") int partitions
+    ) {
+        return TopicBuilder.name(topic).partitions(partitions).build();
+    }
+
+    /**
+     * Error handling for the main batch listener. A failing poll is retried in place a couple of
+     * times for short outages; after that its records move to the failed-events topic, where they
+     * are retried with backoff without holding up the partition. Invalid and undecodable records
+     * skip both and go straight to the dead-letter topic.
+     */
     @Bean
-    public CommonErrorHandler errorHandler(KafkaOperations<Object, Object> template) {
+    public CommonErrorHandler errorHandler(
+            KafkaOperations<Object, Object> template,
+            ProducerFactory<Object, Object> producerFactory,
+            @Value("${app.kafka.topic.inventory-events-failed}") String failedTopic
+    ) {
+        // an undecodable record is forwarded as the raw bytes it arrived with, which the event serializer cannot write
+        Map<Class<?>, KafkaOperations<?, ?>> templates = new LinkedHashMap<>();
+        templates.put(byte[].class, new KafkaTemplate<>(producerFactory,
+                Map.of(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class)));
+        templates.put(Object.class, template);
+        // a negative partition lets the producer pick one from the key, so installations stay together
+        DeadLetterPublishingRecoverer recoverer = new DeadLetterPublishingRecoverer(templates, (record, exception) ->
+                isInvalidEvent(exception)
+                        ? new TopicPartition(failedTopic + DLT_SUFFIX, -1)
+                        : new TopicPartition(failedTopic, -1));
         // retries twice (overall 3 tries) with 1 sec interval between
-        return new DefaultErrorHandler(
-                new DeadLetterPublishingRecoverer(template),
-                new FixedBackOff(1000L, 2L)
-        );
+        DefaultErrorHandler errorHandler = new DefaultErrorHandler(recoverer, new FixedBackOff(1000L, 2L));
+        errorHandler.addNotRetryableExceptions(InvalidInventoryEventException.class, DeserializationException.class);
+        return errorHandler;
+    }
+
+    /** Same settings as the default factory but one record per call, which retry topics require. */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<Object, Object> recordListenerContainerFactory(
+            ConcurrentKafkaListenerContainerFactoryConfigurer configurer,
+            ConsumerFactory<Object, Object> consumerFactory
+    ) {
+        ConcurrentKafkaListenerContainerFactory<Object, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        configurer.configure(factory, consumerFactory);
+        factory.setBatchListener(false);
+        return factory;
+    }
+
+    private static boolean isInvalidEvent(Exception exception) {
+        for (Throwable cause = exception; cause != null; cause = cause.getCause()) {
+            if (cause instanceof InvalidInventoryEventException || cause instanceof DeserializationException) {
+                return true;
+            }
+        }
+        return false;
     }
-}
\ No newline at end of file
+}
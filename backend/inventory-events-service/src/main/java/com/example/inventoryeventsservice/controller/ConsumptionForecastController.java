@@ -0,0 +1,27 @@
+package com.example.inventoryeventsservice.controller;
+
+import com.example.inventoryeventsservice.dto.ConsumptionForecastResponse;
+import com.example.inventoryeventsservice.service.ConsumptionForecastService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/forecast")
+@RequiredArgsConstructor
+public class ConsumptionForecastController {
+
+    private final ConsumptionForecastService forecastService;
+
+    @GetMapping("/{installationId}")
+    public ConsumptionForecastResponse getForecast(@PathVariable UUID installationId) {
+        return forecastService.getForecast(installationId);
+    }
+
+    @PostMapping("/{installationId}/rebuild")
+    public ConsumptionForecastResponse rebuild(@PathVariable UUID installationId) {
+        forecastService.rebuild(installationId);
+        return forecastService.getForecast(installationId);
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.inventoryeventsservice.controller;
+
+import com.example.inventoryeventsservice.dto.DeadLetterReplayStatus;
+import com.example.inventoryeventsservice.service.DeadLetterReplayService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/admin/dlt")
+@RequiredArgsConstructor
+public class DeadLetterReplayController {
+
+    private final DeadLetterReplayService replayService;
+
+    @PostMapping("/replay")
+    public ResponseEntity<DeadLetterReplayStatus> startReplay(
+            @RequestParam(required = false) Integer batchSize,
+            @RequestParam(required = false) Integer maxRecordsPerSecond,
+            @RequestParam(required = false) Long maxRecords
+    ) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(replayService.startReplay(batchSize, maxRecordsPerSecond, maxRecords));
+    }
+
+    @PostMapping("/replay/stop")
+    public DeadLetterReplayStatus stopReplay() {
+        return replayService.stopReplay();
+    }
+
+    @GetMapping("/replay")
+    public DeadLetterReplayStatus getStatus() {
+        return replayService.getStatus();
+    }
+}
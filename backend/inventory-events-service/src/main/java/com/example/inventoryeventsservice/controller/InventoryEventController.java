@@ -0,0 +1,33 @@
+package com.example.inventoryeventsservice.controller;
+
+import com.example.inventoryeventcontract.InventoryEventReason;
+import com.example.inventoryeventcontract.InventoryEventType;
+import com.example.inventoryeventsservice.dto.InventoryEventPageResponse;
+import com.example.inventoryeventsservice.service.InventoryEventHistoryService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/events")
+@RequiredArgsConstructor
+public class InventoryEventController {
+
+    private final InventoryEventHistoryService historyService;
+
+    @GetMapping("/{installationId}")
+    public InventoryEventPageResponse getHistory(
+            @PathVariable UUID installationId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant beforeOccurredAt,
+            @RequestParam(required = false) Long beforeId,
+            @RequestParam(defaultValue = "100") int limit,
+            @RequestParam(required = false) InventoryEventType eventType,
+            @RequestParam(required = false) InventoryEventReason reason,
+            @RequestParam(required = false) Long productId
+    ) {
+        return historyService.getHistory(installationId, beforeOccurredAt, beforeId, limit, eventType, reason, productId);
+    }
+}
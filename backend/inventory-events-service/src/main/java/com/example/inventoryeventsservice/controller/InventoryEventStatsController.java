@@ -1,10 +1,16 @@
 package com.example.inventoryeventsservice.controller;
 
-import com.example.inventoryeventsservice.enums.InventoryEventType;
-import com.example.inventoryeventsservice.repository.InventoryEventRepository;
+import com.example.inventoryeventcontract.InventoryEventType;
+import com.example.inventoryeventsservice.dto.EventTimeseriesResponse;
+import com.example.inventoryeventsservice.enums.TimeseriesGranularity;
+import com.example.inventoryeventsservice.service.EventTimeseriesService;
+import com.example.inventoryeventsservice.service.InstallationEventCounterService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Instant;
+import java.util.Map;
 import java.util.UUID;
 
 @RestController
@@ -12,16 +18,41 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class InventoryEventStatsController {
 
-    private final InventoryEventRepository repository;
+    private final InstallationEventCounterService counterService;
+    private final EventTimeseriesService timeseriesService;
 
     @GetMapping("/{installationId}/summary")
     public EventSummaryResponse getSummary(@PathVariable UUID installationId) {
-        long added = repository.countByInstallationIdAndEventType(installationId, InventoryEventType.ITEM_ADDED);
-        long deleted = repository.countByInstallationIdAndEventType(installationId, InventoryEventType.ITEM_DELETED);
-        long depleted = repository.countByInstallationIdAndEventType(installationId, InventoryEventType.ITEM_DEPLETED);
-        long expired = repository.countByInstallationIdAndEventType(installationId, InventoryEventType.ITEM_EXPIRED_DISCARDED);
+        Map<InventoryEventType, Long> counts = counterService.getCounts(installationId);
 
-        return new EventSummaryResponse(added, deleted, depleted, expired);
+        return new EventSummaryResponse(
+                counts.getOrDefault(InventoryEventType.ITEM_ADDED, 0L),
+                counts.getOrDefault(InventoryEventType.ITEM_DELETED, 0L),
+                counts.getOrDefault(InventoryEventType.ITEM_DEPLETED, 0L),
+                counts.getOrDefault(InventoryEventType.ITEM_EXPIRED_DISCARDED, 0L)
+        );
+    }
+
+    @GetMapping("/{installationId}/timeseries")
+    public EventTimeseriesResponse getTimeseries(
+            @PathVariable UUID installationId,
+            @RequestParam(defaultValue = "DAY") TimeseriesGranularity granularity,
+            @RequestParam(required = false) Long productId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to
+    ) {
+        return timeseriesService.getTimeseries(installationId, productId, granularity, from, to);
+    }
+
+    @PostMapping("/{installationId}/counters/rebuild")
+    public CounterRebuildResponse rebuildCounters(@PathVariable UUID installationId) {
+        counterService.rebuild(installationId);
+        return new CounterRebuildResponse(1);
+    }
+
+    @PostMapping("/counters/rebuild")
+    public CounterRebuildResponse rebuildAllCounters() {
+        return new CounterRebuildResponse(counterService.rebuildAll());
     }
 
     public record EventSummaryResponse(
@@ -30,4 +61,6 @@ public class InventoryEventStatsController {
             long itemsDepleted,
             long itemsExpiredDiscarded
     ) {}
-}
\ No newline at end of file
+
+    public record CounterRebuildResponse(int installationsRebuilt) {}
+}
@@ -0,0 +1,40 @@
+package com.example.inventoryeventsservice.controller;
+
+import com.example.inventoryeventsservice.dto.InventoryStateRebuildStatus;
+import com.example.inventoryeventsservice.service.InventoryStateRebuildService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/admin/state-rebuild")
+@RequiredArgsConstructor
+public class InventoryStateRebuildController {
+
+    private final InventoryStateRebuildService rebuildService;
+
+    @PostMapping
+    public ResponseEntity<InventoryStateRebuildStatus> startRebuild(
+            @RequestParam(required = false) UUID installationId,
+            @RequestParam(defaultValue = "true") boolean compare,
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization
+    ) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(rebuildService.startRebuild(installationId, compare, authorization));
+    }
+
+    @GetMapping
+    public InventoryStateRebuildStatus getStatus() {
+        return rebuildService.getStatus();
+    }
+
+    @GetMapping("/{installationId}")
+    public Map<Long, Long> getRebuiltStock(@PathVariable UUID installationId) {
+        return rebuildService.getRebuiltStock(installationId);
+    }
+}
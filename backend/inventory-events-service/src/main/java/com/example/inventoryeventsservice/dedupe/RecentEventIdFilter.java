@@ -0,0 +1,78 @@
+package com.example.inventoryeventsservice.dedupe;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Remembers the event ids this instance stored most recently, so a redelivered poll is dropped
+ * before it reaches the database. Redeliveries are usually close together, which a small exact
+ * LRU answers well; anything older is left to {@code uk_inventory_event_event_id}.
+ * <p>
+ * Ids must only be recorded once their insert committed, otherwise a rolled-back event would be
+ * skipped as a duplicate when it is redelivered.
+ */
+@Component
+public class RecentEventIdFilter {
+
+    private static final String METRIC_PREFIX = "inventory.events.dedupe";
+
+    public enum Result {
+        /** Stored recently by this instance. */
+        DUPLICATE,
+        /** Not among the recently stored ids; the database still has the final say. */
+        NEW
+    }
+
+    private final Map<UUID, Boolean> recent;
+
+    private final Counter duplicates;
+    private final Counter newIds;
+
+    public RecentEventIdFilter(
+            MeterRegistry meterRegistry,
+            @Value("${app.dedupe.recent-capacity:10000}") int recentCapacity
+    ) {
+        this.recent = new LinkedHashMap<>(recentCapacity * 4 / 3 + 1, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, Boolean> eldest) {
+                return size() > recentCapacity;
+            }
+        };
+        this.duplicates = checkCounter(meterRegistry, "duplicate");
+        this.newIds = checkCounter(meterRegistry, "new");
+    }
+
+    public Result check(UUID eventId) {
+        synchronized (recent) {
+            if (recent.get(eventId) != null) {
+                duplicates.increment();
+                return Result.DUPLICATE;
+            }
+        }
+        newIds.increment();
+        return Result.NEW;
+    }
+
+    /** Records ids whose events are now stored. Call only after the storing transaction committed. */
+    public void recordAll(Collection<UUID> eventIds) {
+        synchronized (recent) {
+            for (UUID eventId : eventIds) {
+                recent.put(eventId, Boolean.TRUE);
+            }
+        }
+    }
+
+    private Counter checkCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder(METRIC_PREFIX)
+                .description("Event id checks by outcome")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
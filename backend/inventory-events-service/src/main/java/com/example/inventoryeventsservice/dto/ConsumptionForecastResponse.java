@@ -0,0 +1,13 @@
+package com.example.inventoryeventsservice.dto;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/** Products ordered by how soon they run out; products without recent consumption come last. */
+public record ConsumptionForecastResponse(
+        UUID installationId,
+        Instant generatedAt,
+        List<ProductForecast> products
+) {
+}
@@ -0,0 +1,19 @@
+package com.example.inventoryeventsservice.dto;
+
+import java.time.Instant;
+
+/**
+ * Progress of the current or last DLT replay. {@code remaining} is the replay consumer's lag on the
+ * dead-letter topic as of its last batch; {@code lastError} is set when the replay stopped on a failure.
+ */
+public record DeadLetterReplayStatus(
+        boolean running,
+        Instant startedAt,
+        Instant finishedAt,
+        long stored,
+        long duplicates,
+        long invalid,
+        long remaining,
+        String lastError
+) {
+}
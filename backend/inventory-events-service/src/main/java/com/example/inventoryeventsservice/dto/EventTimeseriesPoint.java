@@ -0,0 +1,12 @@
+package com.example.inventoryeventsservice.dto;
+
+import java.time.Instant;
+
+public record EventTimeseriesPoint(
+        Instant bucketStart,
+        long addedQuantity,
+        long consumedQuantity,
+        long expiredQuantity,
+        long eventCount
+) {
+}
@@ -0,0 +1,21 @@
+package com.example.inventoryeventsservice.dto;
+
+import com.example.inventoryeventsservice.enums.TimeseriesGranularity;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Quantities per bucket in {@code [from, to)}. {@code productId} is {@code null} when the series
+ * sums all products. Buckets without events are omitted.
+ */
+public record EventTimeseriesResponse(
+        UUID installationId,
+        Long productId,
+        TimeseriesGranularity granularity,
+        Instant from,
+        Instant to,
+        List<EventTimeseriesPoint> points
+) {
+}
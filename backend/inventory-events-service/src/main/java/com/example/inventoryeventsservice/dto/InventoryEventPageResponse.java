@@ -0,0 +1,17 @@
+package com.example.inventoryeventsservice.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * One keyset page of event history, newest first. Pass the fields of {@code nextCursor} as
+ * {@code beforeOccurredAt} and {@code beforeId} to fetch the following page; it is {@code null} on
+ * the last page.
+ */
+public record InventoryEventPageResponse(
+        List<InventoryEventResponse> events,
+        Cursor nextCursor
+) {
+
+    public record Cursor(Instant beforeOccurredAt, long beforeId) {}
+}
@@ -0,0 +1,21 @@
+package com.example.inventoryeventsservice.dto;
+
+import com.example.inventoryeventcontract.InventoryEventReason;
+import com.example.inventoryeventcontract.InventoryEventType;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record InventoryEventResponse(
+        long id,
+        UUID eventId,
+        InventoryEventType eventType,
+        InventoryEventReason reason,
+        Long productId,
+        String productName,
+        Integer quantity,
+        Instant occurredAt,
+        String sourceService,
+        String details
+) {
+}
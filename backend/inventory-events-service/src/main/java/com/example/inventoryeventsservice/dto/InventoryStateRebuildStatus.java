@@ -0,0 +1,29 @@
+package com.example.inventoryeventsservice.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Progress and report of the current or last state rebuild. {@code eventsPerSecond} covers reading
+ * and folding the log; {@code peakHeapBytes} is the sum of the heap pools' peaks while the rebuild ran,
+ * an upper bound since the pools need not peak at the same moment. {@code drift} lists at most the
+ * configured number of mismatches, {@code driftedProducts} counts all of them.
+ */
+public record InventoryStateRebuildStatus(
+        boolean running,
+        Instant startedAt,
+        Instant finishedAt,
+        long eventsRead,
+        long eventsApplied,
+        long eventsSkipped,
+        long replayMillis,
+        long eventsPerSecond,
+        long peakHeapBytes,
+        int installations,
+        long products,
+        int installationsCompared,
+        long driftedProducts,
+        List<StockDrift> drift,
+        String lastError
+) {
+}
@@ -0,0 +1,17 @@
+package com.example.inventoryeventsservice.dto;
+
+import java.time.Instant;
+
+/**
+ * Run-out forecast of one product. {@code daysUntilRunOut} and {@code predictedRunOutAt} are
+ * {@code null} when nothing has been consumed recently, and zero / now when the stock is used up.
+ */
+public record ProductForecast(
+        long productId,
+        String productName,
+        long estimatedQuantity,
+        double dailyConsumption,
+        Double daysUntilRunOut,
+        Instant predictedRunOutAt
+) {
+}
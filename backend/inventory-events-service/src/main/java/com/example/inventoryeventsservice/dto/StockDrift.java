@@ -0,0 +1,16 @@
+package com.example.inventoryeventsservice.dto;
+
+import java.util.UUID;
+
+/**
+ * A product whose stock folded from the event log differs from the sum of its items in
+ * inventory-service. {@code difference} is {@code replayedQuantity - currentQuantity}.
+ */
+public record StockDrift(
+        UUID installationId,
+        long productId,
+        long replayedQuantity,
+        long currentQuantity,
+        long difference
+) {
+}
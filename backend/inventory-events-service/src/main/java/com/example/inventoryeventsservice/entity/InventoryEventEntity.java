@@ -1,7 +1,7 @@
 package com.example.inventoryeventsservice.entity;
 
-import com.example.inventoryeventsservice.enums.InventoryEventReason;
-import com.example.inventoryeventsservice.enums.InventoryEventType;
+import com.example.inventoryeventcontract.InventoryEventReason;
+import com.example.inventoryeventcontract.InventoryEventType;
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -12,7 +12,7 @@ import java.util.UUID;
 @Table(
         name = "inventory_event",
         uniqueConstraints = {
-                @UniqueConstraint(name = "uk_inventory_event_event_id", columnNames = "event_id")
+                @UniqueConstraint(name = "uk_inventory_event_event_id", columnNames = {"event_id", "occurred_at"})
         }
 )
 @Getter
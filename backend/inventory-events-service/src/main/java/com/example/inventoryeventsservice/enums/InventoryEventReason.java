@@ -1,11 +0,0 @@
-package com.example.inventoryeventsservice.enums;
-
-public enum InventoryEventReason {
-    PURCHASE,
-    CONSUMED,
-    EXPIRED,
-    USER_ERROR,
-    DAMAGED,
-    MANUAL_UPDATE,
-    OTHER
-}
\ No newline at end of file
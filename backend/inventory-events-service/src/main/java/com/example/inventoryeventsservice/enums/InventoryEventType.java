@@ -1,9 +0,0 @@
-package com.example.inventoryeventsservice.enums;
-
-public enum InventoryEventType {
-    ITEM_ADDED,
-    ITEM_UPDATED,
-    ITEM_DELETED,
-    ITEM_DEPLETED,
-    ITEM_EXPIRED_DISCARDED
-}
\ No newline at end of file
@@ -0,0 +1,9 @@
+package com.example.inventoryeventsservice.enums;
+
+/** What happens to a monthly {@code inventory_event} partition once it is past retention. */
+public enum PartitionRetentionAction {
+    /** Detach it from inventory_event and keep the table for archiving. */
+    DETACH,
+    /** Drop the table and its events. */
+    DROP
+}
@@ -0,0 +1,23 @@
+package com.example.inventoryeventsservice.enums;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+
+/** Bucket sizes stored in {@code inventory_event_rollups}. Buckets are aligned to UTC. */
+public enum RollupGranularity {
+    HOUR,
+    DAY,
+    MONTH;
+
+    public Instant bucketStart(Instant occurredAt) {
+        return switch (this) {
+            case HOUR -> occurredAt.truncatedTo(ChronoUnit.HOURS);
+            case DAY -> occurredAt.truncatedTo(ChronoUnit.DAYS);
+            case MONTH -> occurredAt.atOffset(ZoneOffset.UTC)
+                    .withDayOfMonth(1)
+                    .truncatedTo(ChronoUnit.DAYS)
+                    .toInstant();
+        };
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.inventoryeventsservice.enums;
+
+/**
+ * Bucket sizes the timeseries API serves. Each one is read from a stored rollup granularity and
+ * re-bucketed with {@code date_trunc}; weeks start on Monday (UTC) and are summed from daily rollups.
+ */
+public enum TimeseriesGranularity {
+    HOUR(RollupGranularity.HOUR, "hour"),
+    DAY(RollupGranularity.DAY, "day"),
+    WEEK(RollupGranularity.DAY, "week"),
+    MONTH(RollupGranularity.MONTH, "month");
+
+    private final RollupGranularity source;
+    private final String truncateUnit;
+
+    TimeseriesGranularity(RollupGranularity source, String truncateUnit) {
+        this.source = source;
+        this.truncateUnit = truncateUnit;
+    }
+
+    public RollupGranularity source() {
+        return source;
+    }
+
+    public String truncateUnit() {
+        return truncateUnit;
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.inventoryeventsservice.event;
+
+import com.example.inventoryeventcontract.InventoryEventMessage;
+
+import java.util.List;
+
+/** Published inside the ingest transaction with the events that were newly stored, each once. */
+public record InventoryEventsStoredEvent(List<InventoryEventMessage> events) {
+}
@@ -0,0 +1,11 @@
+package com.example.inventoryeventsservice.exception;
+
+/** The record can never be stored as it is, so retrying it is pointless. */
+public class InvalidInventoryEventException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public InvalidInventoryEventException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,204 @@
+package com.example.inventoryeventsservice.forecast;
+
+import com.example.inventoryeventcontract.InventoryEventMessage;
+import com.example.inventoryeventcontract.InventoryEventType;
+import com.example.inventoryeventsservice.event.InventoryEventsStoredEvent;
+import com.example.inventoryeventsservice.repository.ConsumptionForecastRepository;
+import com.example.inventoryeventsservice.repository.ConsumptionForecastRepository.ProductState;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps a {@link ConsumptionState} per installation and product in memory, updated from every
+ * stored event once its transaction committed, so a forecast never reads the event history.
+ * Changed states are written to {@code consumption_forecast_state} every snapshot interval; a
+ * crash loses at most that interval, which {@link #rebuild} recovers.
+ * <p>
+ * The states are per instance: an installation is held in memory only by the instance consuming
+ * its events, which loads its snapshot on the first event after startup, or builds it from history
+ * if it has none. Any other instance answers from the snapshot, at most one interval behind. When
+ * the installation's partition moves away, {@link #evict} writes its states back and forgets them.
+ */
+@Slf4j
+@Component
+public class ConsumptionForecastEngine {
+
+    private final ConsumptionForecastRepository repository;
+    private final TransactionTemplate transactionTemplate;
+    private final double tauDays;
+    private final double minWindowDays;
+
+    private final Map<UUID, Map<Long, ConsumptionState>> states = new ConcurrentHashMap<>();
+    private final Set<ProductKey> dirty = ConcurrentHashMap.newKeySet();
+
+    public ConsumptionForecastEngine(
+            ConsumptionForecastRepository repository,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.forecast.half-life:14d}") Duration halfLife,
+            @Value("${app.forecast.min-window:3d}") Duration minWindow
+    ) {
+        this.repository = repository;
+        // a build runs after the ingest transaction committed, whose resources are still bound and would
+        // be joined without ever committing again
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        // a half-life h corresponds to a time constant of h / ln 2
+        this.tauDays = days(halfLife) / Math.log(2);
+        this.minWindowDays = days(minWindow);
+    }
+
+    private record ProductKey(UUID installationId, long productId) {}
+
+    @TransactionalEventListener
+    public void onEventsStored(InventoryEventsStoredEvent stored) {
+        // an installation built from history here already holds this batch, which must not be applied again
+        Set<UUID> builtFromHistory = new HashSet<>();
+        for (InventoryEventMessage event : stored.events()) {
+            if (event.getProductId() == null || event.getEventType() == InventoryEventType.ITEM_UPDATED) {
+                continue;
+            }
+            UUID installationId = event.getInstallationId();
+            if (!states.containsKey(installationId)) {
+                Map<Long, ConsumptionState> loaded = findSnapshot(installationId);
+                if (loaded.isEmpty()) {
+                    loaded = buildFromHistory(installationId);
+                    builtFromHistory.add(installationId);
+                }
+                states.putIfAbsent(installationId, new ConcurrentHashMap<>(loaded));
+            }
+            if (builtFromHistory.contains(installationId)) {
+                continue;
+            }
+            int quantity = event.getQuantity() != null ? event.getQuantity() : 0;
+            apply(states.get(installationId), event.getProductId(), event.getProductName(), event.getEventType(),
+                    quantity, event.getOccurredAt());
+            dirty.add(new ProductKey(installationId, event.getProductId()));
+        }
+    }
+
+    /** The current states of one installation's products, keyed by product id. */
+    public Map<Long, ConsumptionState> getStates(UUID installationId) {
+        Map<Long, ConsumptionState> products = states.get(installationId);
+        if (products != null) {
+            return Map.copyOf(products);
+        }
+        Map<Long, ConsumptionState> snapshot = findSnapshot(installationId);
+        return Map.copyOf(snapshot.isEmpty() ? buildFromHistory(installationId) : snapshot);
+    }
+
+    public double dailyRate(ConsumptionState state, Instant now) {
+        return state.dailyRate(now, tauDays, minWindowDays);
+    }
+
+    /**
+     * Recomputes one installation from its stored events and replaces its snapshot. Events stored
+     * while the rebuild runs may be missed; a later rebuild picks them up.
+     */
+    public void rebuild(UUID installationId) {
+        Map<Long, ConsumptionState> rebuilt = buildFromHistory(installationId);
+        // an instance not consuming this installation keeps reading the snapshot just written
+        states.replace(installationId, new ConcurrentHashMap<>(rebuilt));
+    }
+
+    /**
+     * Writes the changed states of these installations and drops them from memory, so whichever
+     * instance consumes them next, this one included, starts again from the snapshot.
+     */
+    public void evict(Collection<UUID> installationIds) {
+        Set<UUID> evicted = Set.copyOf(installationIds);
+        List<ProductKey> keys = dirty.stream().filter(key -> evicted.contains(key.installationId())).toList();
+        keys.forEach(dirty::remove);
+        try {
+            repository.upsertAll(rows(keys));
+        } catch (RuntimeException e) {
+            // the snapshot is at most one interval behind, as after a crash; a rebuild recovers it
+            log.warn("Consumption forecast snapshot of evicted installations failed: {}", e.getMessage());
+        }
+        evicted.forEach(states::remove);
+    }
+
+    /** Folds one installation's stored events into fresh states and writes them as its snapshot. */
+    private Map<Long, ConsumptionState> buildFromHistory(UUID installationId) {
+        Map<Long, ConsumptionState> rebuilt = new HashMap<>();
+        transactionTemplate.executeWithoutResult(status -> {
+            repository.streamHistory(installationId, event -> {
+                if (event.eventType() != InventoryEventType.ITEM_UPDATED) {
+                    apply(rebuilt, event.productId(), event.productName(), event.eventType(), event.quantity(),
+                            event.occurredAt());
+                }
+            });
+            repository.deleteByInstallationId(installationId);
+            List<ProductState> rows = new ArrayList<>(rebuilt.size());
+            rebuilt.forEach((productId, state) -> rows.add(new ProductState(installationId, productId, state)));
+            repository.upsertAll(rows);
+        });
+        return rebuilt;
+    }
+
+    private Map<Long, ConsumptionState> findSnapshot(UUID installationId) {
+        Map<Long, ConsumptionState> snapshot = new HashMap<>();
+        repository.findByInstallationId(installationId, row -> snapshot.put(row.productId(), row.state()));
+        return snapshot;
+    }
+
+    /** Writes the states changed since the last snapshot. */
+    @Scheduled(fixedDelayString = "${app.forecast.snapshot-interval:PT1M}")
+    @PreDestroy
+    public void snapshot() {
+        List<ProductKey> keys = new ArrayList<>(dirty);
+        if (keys.isEmpty()) {
+            return;
+        }
+        // cleared before reading, so a concurrent update marks its key again rather than being lost
+        keys.forEach(dirty::remove);
+        try {
+            repository.upsertAll(rows(keys));
+        } catch (RuntimeException e) {
+            dirty.addAll(keys);
+            log.warn("Consumption forecast snapshot failed, will retry: {}", e.getMessage());
+        }
+    }
+
+    private List<ProductState> rows(List<ProductKey> keys) {
+        List<ProductState> rows = new ArrayList<>(keys.size());
+        for (ProductKey key : keys) {
+            ConsumptionState state = states.getOrDefault(key.installationId(), Map.of()).get(key.productId());
+            if (state != null) {
+                rows.add(new ProductState(key.installationId(), key.productId(), state));
+            }
+        }
+        return rows;
+    }
+
+    private void apply(Map<Long, ConsumptionState> products, long productId, String productName,
+                       InventoryEventType eventType, int quantity, Instant occurredAt) {
+        long stockDelta = eventType == InventoryEventType.ITEM_ADDED ? quantity : -quantity;
+        long consumed = eventType == InventoryEventType.ITEM_DEPLETED ? quantity : 0;
+        products.compute(productId, (id, state) ->
+                (state != null ? state : ConsumptionState.empty(productName, occurredAt))
+                        .apply(productName, stockDelta, consumed, occurredAt, tauDays));
+    }
+
+    private static double days(Duration duration) {
+        return duration.toMillis() / (double) Duration.ofDays(1).toMillis();
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.inventoryeventsservice.forecast;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Forecast state of one product in one installation. Consumption is kept as an exponentially
+ * decayed sum: every consumed quantity is weighted by {@code exp(-age / tau)}, so one multiply per
+ * event keeps the sum current however irregular the events are, and dividing by the decayed length
+ * of the observed period gives a rate that favours recent weeks.
+ *
+ * @param onHand             estimated stock: additions minus consumption, discards and deletions. It is
+ *                           a plain sum so that retried events arriving late give the same result, and
+ *                           can be negative when the additions predate the stored history
+ * @param decayedConsumption decayed sum of consumed quantities as of {@code decayedAt}
+ * @param firstSeenAt        the earliest event, which bounds how much history the rate is based on
+ */
+public record ConsumptionState(
+        String productName,
+        long onHand,
+        double decayedConsumption,
+        Instant decayedAt,
+        Instant firstSeenAt
+) {
+
+    private static final double NANOS_PER_DAY = Duration.ofDays(1).toNanos();
+
+    public static ConsumptionState empty(String productName, Instant at) {
+        return new ConsumptionState(productName, 0, 0, at, at);
+    }
+
+    /**
+     * Applies one event. {@code stockDelta} changes the estimated stock and {@code consumed} is the
+     * quantity to add to the consumption rate (zero for anything but depletion). Late events are
+     * decayed back to their own time, so arrival order does not matter.
+     */
+    public ConsumptionState apply(String name, long stockDelta, long consumed, Instant occurredAt, double tauDays) {
+        double consumption = decayedConsumption;
+        Instant at = decayedAt;
+        if (occurredAt.isAfter(decayedAt)) {
+            consumption = consumption * decay(decayedAt, occurredAt, tauDays) + consumed;
+            at = occurredAt;
+        } else {
+            consumption += consumed * decay(occurredAt, decayedAt, tauDays);
+        }
+        return new ConsumptionState(
+                name != null ? name : productName,
+                onHand + stockDelta,
+                consumption,
+                at,
+                occurredAt.isBefore(firstSeenAt) ? occurredAt : firstSeenAt
+        );
+    }
+
+    /**
+     * Consumed units per day as of {@code now}. While the history is shorter than the decay window
+     * the sum is divided by the decayed length of that shorter period, which avoids the low bias of
+     * a young average; {@code minWindowDays} keeps a single early event from looking like a burst.
+     */
+    public double dailyRate(Instant now, double tauDays, double minWindowDays) {
+        double current = decayedConsumption * decay(decayedAt, now, tauDays);
+        double observedDays = Math.max(minWindowDays, days(firstSeenAt, now));
+        return current / (tauDays * -Math.expm1(-observedDays / tauDays));
+    }
+
+    private static double decay(Instant from, Instant to, double tauDays) {
+        return Math.exp(-Math.max(0, days(from, to)) / tauDays);
+    }
+
+    private static double days(Instant from, Instant to) {
+        return Duration.between(from, to).toNanos() / NANOS_PER_DAY;
+    }
+}
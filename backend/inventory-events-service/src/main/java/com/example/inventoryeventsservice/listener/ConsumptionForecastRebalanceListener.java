@@ -0,0 +1,69 @@
+package com.example.inventoryeventsservice.listener;
+
+import com.example.inventoryeventcontract.InventoryEventMessage;
+import com.example.inventoryeventsservice.forecast.ConsumptionForecastEngine;
+import lombok.RequiredArgsConstructor;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.kafka.listener.ConsumerAwareRebalanceListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Evicts the forecast states of the installations on a partition this instance stops consuming.
+ * The next owner loads them from the snapshot written on eviction, and if the partition comes back
+ * here, so does this instance, instead of continuing from states that missed the other's events.
+ * Spring Boot registers it on the listener container factories.
+ */
+@Component
+@RequiredArgsConstructor
+public class ConsumptionForecastRebalanceListener implements ConsumerAwareRebalanceListener {
+
+    private final ConsumptionForecastEngine forecastEngine;
+
+    private final Map<TopicPartition, Set<UUID>> installationsByPartition = new ConcurrentHashMap<>();
+
+    /** Remembers the partition each installation's events arrive on. */
+    public void record(List<ConsumerRecord<String, InventoryEventMessage>> records) {
+        for (ConsumerRecord<String, InventoryEventMessage> record : records) {
+            if (record.value() != null && record.value().getInstallationId() != null) {
+                installationsByPartition
+                        .computeIfAbsent(new TopicPartition(record.topic(), record.partition()),
+                                partition -> ConcurrentHashMap.newKeySet())
+                        .add(record.value().getInstallationId());
+            }
+        }
+    }
+
+    /** Runs between polls, so no batch of these partitions is being applied meanwhile. */
+    @Override
+    public void onPartitionsRevokedAfterCommit(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        evict(partitions);
+    }
+
+    @Override
+    public void onPartitionsLost(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        evict(partitions);
+    }
+
+    private void evict(Collection<TopicPartition> partitions) {
+        Set<UUID> installationIds = new HashSet<>();
+        for (TopicPartition partition : partitions) {
+            Set<UUID> installations = installationsByPartition.remove(partition);
+            if (installations != null) {
+                installationIds.addAll(installations);
+            }
+        }
+        if (!installationIds.isEmpty()) {
+            forecastEngine.evict(installationIds);
+        }
+    }
+}
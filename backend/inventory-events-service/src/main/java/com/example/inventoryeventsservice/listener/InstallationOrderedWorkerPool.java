@@ -0,0 +1,87 @@
+package com.example.inventoryeventsservice.listener;
+
+import com.example.inventoryeventcontract.InventoryEventMessage;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Stores one poll on several threads while keeping every installation's events in order. The poll
+ * is split into lanes by installation id, so all events of an installation go to the same lane in
+ * the order they were received, and each lane is stored in its own transaction. The call returns
+ * only once every lane finished, so offsets are still committed for whole polls and the next poll
+ * cannot overtake this one.
+ * <p>
+ * With one worker (the default) polls are stored on the listener thread as before.
+ */
+@Component
+public class InstallationOrderedWorkerPool {
+
+    private final int workers;
+    private final ExecutorService executor;
+
+    public InstallationOrderedWorkerPool(@Value("${app.ingest.workers.count:1}") int workers) {
+        this.workers = Math.max(1, workers);
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = this.workers > 1
+                ? Executors.newFixedThreadPool(this.workers, runnable -> {
+                    Thread thread = new Thread(runnable, "inventory-events-worker-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                })
+                : null;
+    }
+
+    /**
+     * Runs {@code store} once per non-empty lane and waits for all of them. If a lane fails the
+     * first failure is rethrown after the other lanes finished, so the whole poll is redelivered;
+     * lanes that already committed are skipped as duplicates then.
+     */
+    public void storeInOrder(List<InventoryEventMessage> messages, Consumer<List<InventoryEventMessage>> store) {
+        if (executor == null || messages.size() < 2) {
+            store.accept(messages);
+            return;
+        }
+
+        List<List<InventoryEventMessage>> lanes = new ArrayList<>(workers);
+        for (int i = 0; i < workers; i++) {
+            lanes.add(new ArrayList<>());
+        }
+        for (InventoryEventMessage message : messages) {
+            lanes.get(Math.floorMod(message.getInstallationId().hashCode(), workers)).add(message);
+        }
+        List<List<InventoryEventMessage>> busy = lanes.stream().filter(lane -> !lane.isEmpty()).toList();
+        if (busy.size() == 1) {
+            store.accept(busy.get(0));
+            return;
+        }
+
+        CompletableFuture<?>[] stored = busy.stream()
+                .map(lane -> CompletableFuture.runAsync(() -> store.accept(lane), executor))
+                .toArray(CompletableFuture[]::new);
+        try {
+            CompletableFuture.allOf(stored).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+}
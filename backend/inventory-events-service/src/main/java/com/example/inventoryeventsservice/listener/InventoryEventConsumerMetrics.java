@@ -0,0 +1,61 @@
+package com.example.inventoryeventsservice.listener;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-partition consumer metrics: records received ({@code inventory.events.consumer.records}, whose
+ * rate is the partition's throughput) and the lag behind the log end as of the last poll
+ * ({@code inventory.events.consumer.lag}). Lag comes from the client's fetch state, so recording it
+ * costs no broker round trip.
+ */
+@Component
+@RequiredArgsConstructor
+public class InventoryEventConsumerMetrics {
+
+    private static final String METRIC_PREFIX = "inventory.events.consumer";
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<TopicPartition, AtomicLong> lag = new ConcurrentHashMap<>();
+    private final Map<TopicPartition, Counter> records = new ConcurrentHashMap<>();
+
+    /** {@code partitions} and {@code topics} hold the partition and topic of each record in the poll. */
+    public void recordPoll(Consumer<?, ?> consumer, List<String> topics, List<Integer> partitions) {
+        for (int i = 0; i < partitions.size(); i++) {
+            records.computeIfAbsent(new TopicPartition(topics.get(i), partitions.get(i)), this::recordsCounter).increment();
+        }
+        for (TopicPartition partition : consumer.assignment()) {
+            consumer.currentLag(partition).ifPresent(current ->
+                    lag.computeIfAbsent(partition, this::lagGauge).set(current));
+        }
+    }
+
+    private Counter recordsCounter(TopicPartition partition) {
+        return Counter.builder(METRIC_PREFIX + ".records")
+                .description("Inventory event records received")
+                .tag("topic", partition.topic())
+                .tag("partition", String.valueOf(partition.partition()))
+                .register(meterRegistry);
+    }
+
+    private AtomicLong lagGauge(TopicPartition partition) {
+        AtomicLong value = new AtomicLong();
+        Gauge.builder(METRIC_PREFIX + ".lag", value, AtomicLong::get)
+                .description("Records between the consumer position and the end of the partition")
+                .tag("topic", partition.topic())
+                .tag("partition", String.valueOf(partition.partition()))
+                .register(meterRegistry);
+        return value;
+    }
+}
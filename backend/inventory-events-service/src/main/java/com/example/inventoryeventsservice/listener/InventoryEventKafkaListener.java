@@ -1,32 +1,149 @@
 package com.example.inventoryeventsservice.listener;
 
-import com.example.inventoryeventsservice.dto.InventoryEventMessage;
+import com.example.inventoryeventcontract.InventoryEventMessage;
+import com.example.inventoryeventsservice.config.KafkaConfig;
+import com.example.inventoryeventsservice.exception.InvalidInventoryEventException;
 import com.example.inventoryeventsservice.service.InventoryEventService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.core.log.LogAccessor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.annotation.BackOff;
 import org.springframework.kafka.annotation.DltHandler;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.annotation.RetryableTopic;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.kafka.retrytopic.TopicSuffixingStrategy;
 import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.kafka.support.serializer.DeserializationException;
+import org.springframework.kafka.support.serializer.SerializationUtils;
 import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class InventoryEventKafkaListener {
 
+    private static final LogAccessor LOG_ACCESSOR = new LogAccessor(InventoryEventKafkaListener.class);
+
     private final InventoryEventService inventoryEventService;
+    private final InstallationOrderedWorkerPool workerPool;
+    private final InventoryEventConsumerMetrics consumerMetrics;
+    private final ConsumptionForecastRebalanceListener forecastRebalanceListener;
 
+    @Value("${app.ingest.bulk-load.lag-threshold:50000}")
+    private long bulkLoadLagThreshold;
+
+    /**
+     * Receives a whole poll at once (spring.kafka.listener.type=batch). Offsets are committed
+     * after this method returns, so a batch is either stored and acknowledged or redelivered.
+     * Each container thread owns a share of the partitions (spring.kafka.listener.concurrency).
+     * Takes the records rather than their values, so an undecodable record can be told apart by the
+     * error ErrorHandlingDeserializer left in its headers.
+     */
     @KafkaListener(topics = "${app.kafka.topic.inventory-events}", groupId = "${spring.kafka.consumer.group-id}")
-    public void consume(InventoryEventMessage message) {
-        log.info("Received inventory event: {}", message);
-        inventoryEventService.saveEvent(message);
+    public void consume(List<ConsumerRecord<String, InventoryEventMessage>> records, Consumer<?, ?> consumer) {
+        consumerMetrics.recordPoll(consumer,
+                records.stream().map(ConsumerRecord::topic).toList(),
+                records.stream().map(ConsumerRecord::partition).toList());
+        forecastRebalanceListener.record(records);
+        List<InventoryEventMessage> messages = records.stream().map(ConsumerRecord::value).toList();
+        long lag = lag(consumer);
+        log.info("Received {} inventory events (lag {})", messages.size(), lag);
+
+        int invalidIndex = firstInvalidIndex(messages);
+        if (invalidIndex < 0) {
+            store(messages, lag);
+            return;
+        }
+
+        // keep the valid prefix, then let the error handler commit up to it and send the bad record to the DLT
+        if (invalidIndex > 0) {
+            store(messages.subList(0, invalidIndex), lag);
+        }
+        DeserializationException decodingError = SerializationUtils.getExceptionFromHeader(records.get(invalidIndex),
+                SerializationUtils.VALUE_DESERIALIZER_EXCEPTION_HEADER, LOG_ACCESSOR);
+        if (decodingError != null) {
+            throw new BatchListenerFailedException("Inventory event could not be decoded", decodingError, invalidIndex);
+        }
+        throw new BatchListenerFailedException("Inventory event is missing mandatory fields",
+                new InvalidInventoryEventException("Inventory event is missing mandatory fields"), invalidIndex);
     }
 
+    /**
+     * Records the main listener gave up on. Each failure moves the record to the next retry topic,
+     * whose consumer waits out an exponentially growing delay before trying again, so other
+     * records keep flowing meanwhile. After the last attempt it lands in the DLT, from where it can
+     * be replayed through the admin endpoint.
+     */
+    @RetryableTopic(
+            attempts = "${app.kafka.retry.attempts:4}",
+            backOff = @BackOff(
+                    delayString = "${app.kafka.retry.initial-delay-ms:1000}",
+                    multiplierString = "${app.kafka.retry.multiplier:4}",
+                    maxDelayString = "${app.kafka.retry.max-delay-ms:60000}"
+            ),
+            exclude = InvalidInventoryEventException.class,
+            topicSuffixingStrategy = TopicSuffixingStrategy.SUFFIX_WITH_INDEX_VALUE,
+            dltTopicSuffix = KafkaConfig.DLT_SUFFIX,
+            numPartitions = "${app.kafka.topic.inventory-events-partitions:6}",
+            listenerContainerFactory = "recordListenerContainerFactory"
+    )
+    @KafkaListener(
+            topics = "${app.kafka.topic.inventory-events-failed}",
+            groupId = "${spring.kafka.consumer.group-id}",
+            containerFactory = "recordListenerContainerFactory",
+            concurrency = "1"
+    )
+    public void consumeFailed(InventoryEventMessage message) {
+        if (!isValid(message)) {
+            throw new InvalidInventoryEventException("Inventory event is missing mandatory fields");
+        }
+        inventoryEventService.saveEvents(List.of(message));
+    }
 
     @DltHandler
     public void handleDlt(InventoryEventMessage message, @Header(KafkaHeaders.RECEIVED_TOPIC) String topic) {
         log.error("Event sent to DLT! Topic: {}, EventId: {}. Need manual intervention!",
-                topic, message.getEventId());
+                topic, message != null ? message.getEventId() : null);
+    }
+
+    private void store(List<InventoryEventMessage> messages, long lag) {
+        // far behind means a replay or backfill, where COPY is worth its staging-table overhead
+        if (lag > bulkLoadLagThreshold) {
+            workerPool.storeInOrder(messages, inventoryEventService::bulkLoadEvents);
+        } else {
+            workerPool.storeInOrder(messages, inventoryEventService::saveEvents);
+        }
+    }
+
+    /** Uses the lag the client tracked from its last fetch, so no extra broker round trip is made. */
+    private long lag(Consumer<?, ?> consumer) {
+        return consumer.assignment().stream()
+                .mapToLong(partition -> consumer.currentLag(partition).orElse(0L))
+                .sum();
+    }
+
+    private int firstInvalidIndex(List<InventoryEventMessage> messages) {
+        for (int i = 0; i < messages.size(); i++) {
+            if (!isValid(messages.get(i))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public static boolean isValid(InventoryEventMessage message) {
+        return message != null
+                && message.getEventId() != null
+                && message.getEventType() != null
+                && message.getInstallationId() != null
+                && message.getOccurredAt() != null
+                && message.getSourceService() != null;
     }
-}
\ No newline at end of file
+}
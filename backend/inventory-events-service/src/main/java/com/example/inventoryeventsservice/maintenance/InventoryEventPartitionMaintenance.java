@@ -0,0 +1,104 @@
+package com.example.inventoryeventsservice.maintenance;
+
+import com.example.inventoryeventsservice.enums.PartitionRetentionAction;
+import com.example.inventoryeventsservice.repository.InventoryEventPartitionRepository;
+import com.example.inventoryeventsservice.repository.InventoryEventPartitionRepository.MonthPartition;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps {@code inventory_event} partitioned ahead of time and applies the retention policy. Runs at
+ * startup and daily; creating partitions months in advance means a missed run never sends live events
+ * to the default partition. Counters and rollups are not touched, so they keep lifetime totals even
+ * after old events are detached or dropped, until a counter rebuild recounts them from the events
+ * still attached. Retention is therefore off unless {@code retention-months} is set.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.events.partitions.maintenance.enabled", havingValue = "true", matchIfMissing = true)
+public class InventoryEventPartitionMaintenance {
+
+    private final InventoryEventPartitionRepository partitionRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int monthsAhead;
+    private final int retentionMonths;
+    private final PartitionRetentionAction retentionAction;
+    private final Clock clock = Clock.systemUTC();
+
+    public InventoryEventPartitionMaintenance(
+            InventoryEventPartitionRepository partitionRepository,
+            TransactionTemplate transactionTemplate,
+            @Value("${app.events.partitions.months-ahead:3}") int monthsAhead,
+            @Value("${app.events.partitions.retention-months:0}") int retentionMonths,
+            @Value("${app.events.partitions.retention-action:DETACH}") PartitionRetentionAction retentionAction
+    ) {
+        this.partitionRepository = partitionRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.monthsAhead = monthsAhead;
+        this.retentionMonths = retentionMonths;
+        this.retentionAction = retentionAction;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        run();
+    }
+
+    @Scheduled(cron = "${app.events.partitions.maintenance.cron:0 15 3 * * *}", zone = "UTC")
+    public void run() {
+        YearMonth currentMonth = YearMonth.now(clock.withZone(ZoneOffset.UTC));
+        try {
+            transactionTemplate.executeWithoutResult(status -> maintain(currentMonth));
+        } catch (RuntimeException e) {
+            log.warn("Inventory event partition maintenance failed, will retry on the next run: {}", e.getMessage());
+        }
+    }
+
+    private void maintain(YearMonth currentMonth) {
+        if (!partitionRepository.tryLockMaintenance()) {
+            return;
+        }
+        List<MonthPartition> partitions = partitionRepository.findAttachedPartitions();
+        Set<YearMonth> attached = partitions.stream().map(MonthPartition::month).collect(Collectors.toSet());
+
+        for (int ahead = 0; ahead <= monthsAhead; ahead++) {
+            YearMonth month = currentMonth.plusMonths(ahead);
+            if (!attached.contains(month)) {
+                partitionRepository.createPartition(month);
+                log.info("Created inventory_event partition for {}", month);
+            }
+        }
+
+        // retention-months=0 keeps every partition
+        if (retentionMonths <= 0) {
+            return;
+        }
+        YearMonth oldestKept = currentMonth.minusMonths(retentionMonths);
+        for (MonthPartition partition : partitions) {
+            if (!partition.month().isBefore(oldestKept)) {
+                break;
+            }
+            if (retentionAction == PartitionRetentionAction.DROP) {
+                partitionRepository.dropPartition(partition);
+            } else {
+                partitionRepository.detachPartition(partition);
+            }
+            log.info("{} inventory_event partition {} past {} months of retention",
+                    retentionAction == PartitionRetentionAction.DROP ? "Dropped" : "Detached",
+                    partition.name(), retentionMonths);
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.inventoryeventsservice.replay;
+
+import com.example.inventoryeventcontract.InventoryEventMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.RecordDeserializationException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongConsumer;
+
+/**
+ * Reads the inventory events topic from the beginning up to the end offsets seen at the start and
+ * folds it into an {@link InventoryStateSnapshot}. Each partition gets its own consumer and thread
+ * and folds into its own snapshot; the producer keys by installation, so partitions share no state
+ * and are merged once at the end. Offsets are never committed, the live listener is not affected.
+ */
+@Slf4j
+@Component
+public class InventoryLogReplayer {
+
+    private static final Duration POLL_TIMEOUT = Duration.ofSeconds(2);
+
+    private final ConsumerFactory<Object, Object> consumerFactory;
+    private final String topic;
+    private final String groupId;
+    private final int maxParallelism;
+    private final int maxPollRecords;
+
+    public InventoryLogReplayer(
+            ConsumerFactory<Object, Object> consumerFactory,
+            @Value("${app.kafka.topic.inventory-events}") String topic,
+            @Value("${spring.kafka.consumer.group-id}") String groupId,
+            @Value("${app.state-rebuild.max-parallelism:${app.kafka.topic.inventory-events-partitions}}") int maxParallelism,
+            @Value("${app.state-rebuild.max-poll-records:10000}") int maxPollRecords
+    ) {
+        this.consumerFactory = consumerFactory;
+        this.topic = topic;
+        this.groupId = groupId + "-state-rebuild";
+        this.maxParallelism = Math.max(1, maxParallelism);
+        this.maxPollRecords = maxPollRecords;
+    }
+
+    /**
+     * Folds the whole topic, or only the events of {@code installationId} when it is set, reporting the
+     * number of records read after every poll.
+     */
+    public InventoryStateSnapshot replay(UUID installationId, LongConsumer onRecordsRead) throws InterruptedException {
+        Map<TopicPartition, Long> endOffsets;
+        try (Consumer<Object, Object> consumer = createConsumer("-metadata")) {
+            List<PartitionInfo> infos = consumer.partitionsFor(topic);
+            List<TopicPartition> partitions = infos == null ? List.of()
+                    : infos.stream().map(info -> new TopicPartition(info.topic(), info.partition())).toList();
+            endOffsets = consumer.endOffsets(partitions);
+        }
+        log.info("Replaying {} partitions of {} with up to {} threads", endOffsets.size(), topic, maxParallelism);
+
+        AtomicInteger threadIndex = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(maxParallelism, Math.max(1, endOffsets.size())),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "inventory-state-replay-" + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        try {
+            List<Future<InventoryStateSnapshot>> folds = new ArrayList<>();
+            endOffsets.forEach((partition, endOffset) ->
+                    folds.add(executor.submit(() -> fold(partition, endOffset, installationId, onRecordsRead))));
+
+            InventoryStateSnapshot snapshot = new InventoryStateSnapshot();
+            for (Future<InventoryStateSnapshot> fold : folds) {
+                snapshot.merge(fold.get());
+            }
+            return snapshot;
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException runtime ? runtime : new IllegalStateException(e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private InventoryStateSnapshot fold(TopicPartition partition, long endOffset, UUID installationId,
+                                        LongConsumer onRecordsRead) {
+        InventoryStateSnapshot snapshot = new InventoryStateSnapshot();
+        try (Consumer<Object, Object> consumer = createConsumer("-" + partition.partition())) {
+            consumer.assign(List.of(partition));
+            consumer.seekToBeginning(List.of(partition));
+            while (consumer.position(partition) < endOffset) {
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new IllegalStateException("Replay of " + partition + " was interrupted");
+                }
+                ConsumerRecords<Object, Object> records;
+                try {
+                    records = consumer.poll(POLL_TIMEOUT);
+                } catch (RecordDeserializationException e) {
+                    // an unreadable record carries no movement to fold, so it is counted and stepped over
+                    log.warn("Skipping undecodable record at {}@{}", partition, e.offset());
+                    snapshot.skip();
+                    consumer.seek(partition, e.offset() + 1);
+                    onRecordsRead.accept(1);
+                    continue;
+                }
+                long read = 0;
+                for (ConsumerRecord<Object, Object> record : records) {
+                    // records appended after the start belong to the next replay
+                    if (record.offset() >= endOffset) {
+                        break;
+                    }
+                    read++;
+                    if (!(record.value() instanceof InventoryEventMessage event)) {
+                        snapshot.skip();
+                    } else if (installationId == null || installationId.equals(event.getInstallationId())) {
+                        snapshot.apply(event);
+                    }
+                }
+                onRecordsRead.accept(read);
+            }
+        }
+        return snapshot;
+    }
+
+    private Consumer<Object, Object> createConsumer(String clientIdSuffix) {
+        Properties overrides = new Properties();
+        overrides.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, String.valueOf(maxPollRecords));
+        overrides.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, "false");
+        return consumerFactory.createConsumer(groupId, null, clientIdSuffix, overrides);
+    }
+}
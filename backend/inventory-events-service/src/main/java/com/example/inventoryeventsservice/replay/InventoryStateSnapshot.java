@@ -0,0 +1,69 @@
+package com.example.inventoryeventsservice.replay;
+
+import com.example.inventoryeventcontract.InventoryEventMessage;
+import com.example.inventoryeventcontract.InventoryEventType;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Stock per installation and product folded from inventory events: additions minus depletions,
+ * discards and deletions, the same movements inventory-service applies to {@code inventory_items}.
+ * Every event is a plain addition, so partitions can be folded apart and merged in any order.
+ */
+public final class InventoryStateSnapshot {
+
+    private final Map<UUID, LongLongHashMap> stockByInstallation = new HashMap<>();
+    private long applied;
+    private long skipped;
+
+    /**
+     * Folds one event in. Events without a product or quantity, and item updates, which never
+     * change a quantity, are counted as skipped.
+     */
+    public void apply(InventoryEventMessage event) {
+        if (event.getProductId() == null || event.getQuantity() == null
+                || event.getEventType() == null || event.getEventType() == InventoryEventType.ITEM_UPDATED) {
+            skipped++;
+            return;
+        }
+        long quantity = event.getQuantity();
+        stockByInstallation.computeIfAbsent(event.getInstallationId(), id -> new LongLongHashMap())
+                .addTo(event.getProductId(), event.getEventType() == InventoryEventType.ITEM_ADDED ? quantity : -quantity);
+        applied++;
+    }
+
+    public void skip() {
+        skipped++;
+    }
+
+    public void merge(InventoryStateSnapshot other) {
+        other.stockByInstallation.forEach((installationId, stock) ->
+                stockByInstallation.computeIfAbsent(installationId, id -> new LongLongHashMap(stock.size())).addAll(stock));
+        applied += other.applied;
+        skipped += other.skipped;
+    }
+
+    public Set<UUID> installations() {
+        return stockByInstallation.keySet();
+    }
+
+    /** Stock by product id; empty for an installation without events. */
+    public LongLongHashMap stockOf(UUID installationId) {
+        return stockByInstallation.getOrDefault(installationId, new LongLongHashMap(1));
+    }
+
+    public long productCount() {
+        return stockByInstallation.values().stream().mapToLong(LongLongHashMap::size).sum();
+    }
+
+    public long applied() {
+        return applied;
+    }
+
+    public long skipped() {
+        return skipped;
+    }
+}
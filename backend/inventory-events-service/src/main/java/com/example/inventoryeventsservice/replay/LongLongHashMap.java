@@ -0,0 +1,139 @@
+package com.example.inventoryeventsservice.replay;
+
+/**
+ * Open-addressing map from {@code long} to {@code long} with linear probing. A log replay folds
+ * millions of events into a few thousand product totals, so keys and values are kept in parallel
+ * primitive arrays instead of boxed {@code HashMap<Long, Long>} entries. Not thread-safe.
+ */
+public final class LongLongHashMap {
+
+    private static final long EMPTY = 0L;
+    private static final double MAX_LOAD = 0.6;
+
+    private long[] keys;
+    private long[] values;
+    private int mask;
+    private int size;
+    // key 0 marks a free slot, so its entry is kept aside
+    private boolean hasZeroKey;
+    private long zeroValue;
+
+    public LongLongHashMap() {
+        this(16);
+    }
+
+    public LongLongHashMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(2, (int) (expectedSize / MAX_LOAD)) - 1) << 1;
+        keys = new long[capacity];
+        values = new long[capacity];
+        mask = capacity - 1;
+    }
+
+    /** Adds {@code delta} to the value of {@code key}, inserting it at 0 first if absent. */
+    public void addTo(long key, long delta) {
+        if (key == EMPTY) {
+            size += hasZeroKey ? 0 : 1;
+            hasZeroKey = true;
+            zeroValue += delta;
+            return;
+        }
+        int slot = slot(key);
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == key) {
+                values[slot] += delta;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = delta;
+        if (++size > (mask + 1) * MAX_LOAD) {
+            resize();
+        }
+    }
+
+    /** The value of {@code key}, or 0 when absent. */
+    public long get(long key) {
+        if (key == EMPTY) {
+            return hasZeroKey ? zeroValue : 0;
+        }
+        int slot = slot(key);
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == key) {
+                return values[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return 0;
+    }
+
+    public boolean containsKey(long key) {
+        if (key == EMPTY) {
+            return hasZeroKey;
+        }
+        int slot = slot(key);
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == key) {
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /** Adds every entry of {@code other} to this map. */
+    public void addAll(LongLongHashMap other) {
+        other.forEach(this::addTo);
+    }
+
+    public void forEach(EntryConsumer consumer) {
+        if (hasZeroKey) {
+            consumer.accept(EMPTY, zeroValue);
+        }
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (keys[slot] != EMPTY) {
+                consumer.accept(keys[slot], values[slot]);
+            }
+        }
+    }
+
+    private int slot(long key) {
+        // Fibonacci hashing spreads sequential database ids across the table
+        return (int) ((key * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+    }
+
+    private void resize() {
+        long[] oldKeys = keys;
+        long[] oldValues = values;
+        keys = new long[oldKeys.length << 1];
+        values = new long[oldKeys.length << 1];
+        mask = keys.length - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            long key = oldKeys[i];
+            if (key != EMPTY) {
+                int slot = slot(key);
+                while (keys[slot] != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = key;
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder("{");
+        forEach((key, value) -> text.append(text.length() > 1 ? ", " : "").append(key).append('=').append(value));
+        return text.append('}').toString();
+    }
+
+    @FunctionalInterface
+    public interface EntryConsumer {
+        void accept(long key, long value);
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.inventoryeventsservice.repository;
+
+import com.example.inventoryeventcontract.InventoryEventType;
+import com.example.inventoryeventsservice.forecast.ConsumptionState;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/** Snapshots of the consumption forecast state, and the event history it can be rebuilt from. */
+@Repository
+@RequiredArgsConstructor
+public class ConsumptionForecastRepository {
+
+    private static final String UPSERT = """
+            insert into consumption_forecast_state (installation_id, product_id, product_name, on_hand,
+                                                    decayed_consumption, decayed_at, first_seen_at)
+            values (?, ?, ?, ?, ?, ?, ?)
+            on conflict (installation_id, product_id)
+            do update set product_name = excluded.product_name,
+                          on_hand = excluded.on_hand,
+                          decayed_consumption = excluded.decayed_consumption,
+                          decayed_at = excluded.decayed_at,
+                          first_seen_at = excluded.first_seen_at
+            """;
+
+    private static final String FIND_BY_INSTALLATION = """
+            select product_id, product_name, on_hand, decayed_consumption, decayed_at, first_seen_at
+            from consumption_forecast_state
+            where installation_id = ?
+            """;
+
+    // walks idx_inventory_event_history, so one installation's history is read in time order without a sort
+    private static final String HISTORY = """
+            select product_id, product_name, event_type, quantity, occurred_at
+            from inventory_event
+            where installation_id = ? and product_id is not null
+            order by occurred_at, id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public record ProductState(UUID installationId, long productId, ConsumptionState state) {}
+
+    public record HistoryEvent(long productId, String productName, InventoryEventType eventType, int quantity,
+                               Instant occurredAt) {}
+
+    /** Writes the given states, in key order so concurrent snapshots cannot deadlock. */
+    public void upsertAll(List<ProductState> states) {
+        if (states.isEmpty()) {
+            return;
+        }
+        List<ProductState> ordered = states.stream()
+                .sorted(Comparator.comparing(ProductState::installationId).thenComparingLong(ProductState::productId))
+                .toList();
+        jdbcTemplate.batchUpdate(UPSERT, ordered, ordered.size(), (ps, row) -> {
+            ps.setObject(1, row.installationId());
+            ps.setLong(2, row.productId());
+            ps.setString(3, row.state().productName());
+            ps.setLong(4, row.state().onHand());
+            ps.setDouble(5, row.state().decayedConsumption());
+            ps.setTimestamp(6, Timestamp.from(row.state().decayedAt()));
+            ps.setTimestamp(7, Timestamp.from(row.state().firstSeenAt()));
+        });
+    }
+
+    public void findByInstallationId(UUID installationId, Consumer<ProductState> consumer) {
+        jdbcTemplate.query(FIND_BY_INSTALLATION, rs -> {
+            consumer.accept(new ProductState(
+                    installationId,
+                    rs.getLong("product_id"),
+                    new ConsumptionState(
+                            rs.getString("product_name"),
+                            rs.getLong("on_hand"),
+                            rs.getDouble("decayed_consumption"),
+                            rs.getTimestamp("decayed_at").toInstant(),
+                            rs.getTimestamp("first_seen_at").toInstant()
+                    )
+            ));
+        }, installationId);
+    }
+
+    public void deleteByInstallationId(UUID installationId) {
+        jdbcTemplate.update("delete from consumption_forecast_state where installation_id = ?", installationId);
+    }
+
+    /** Streams one installation's product events, oldest first. */
+    public void streamHistory(UUID installationId, Consumer<HistoryEvent> consumer) {
+        jdbcTemplate.query(HISTORY, rs -> {
+            consumer.accept(new HistoryEvent(
+                    rs.getLong("product_id"),
+                    rs.getString("product_name"),
+                    InventoryEventType.valueOf(rs.getString("event_type")),
+                    rs.getInt("quantity"),
+                    rs.getTimestamp("occurred_at").toInstant()
+            ));
+        }, installationId);
+    }
+}
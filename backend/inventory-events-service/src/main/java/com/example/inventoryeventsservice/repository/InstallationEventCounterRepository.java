@@ -0,0 +1,86 @@
+package com.example.inventoryeventsservice.repository;
+
+import com.example.inventoryeventcontract.InventoryEventType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Per-installation event totals. Ingest adds to them in the same transaction that stores the
+ * events, so reading a summary is a primary key lookup instead of a count over the history.
+ */
+@Repository
+@RequiredArgsConstructor
+public class InstallationEventCounterRepository {
+
+    private static final String INCREMENT = """
+            insert into installation_event_counters (installation_id, event_type, event_count)
+            values (?, ?, ?)
+            on conflict (installation_id, event_type)
+            do update set event_count = installation_event_counters.event_count + excluded.event_count
+            """;
+
+    private static final String FIND_BY_INSTALLATION = """
+            select event_type, event_count from installation_event_counters where installation_id = ?
+            """;
+
+    // blocks concurrent increments (row exclusive) until the rebuild commits, so none are lost or counted twice
+    private static final String LOCK_FOR_REBUILD = "lock table installation_event_counters in share row exclusive mode";
+
+    private static final String DELETE_FOR_INSTALLATION = "delete from installation_event_counters where installation_id = ?";
+
+    private static final String RECOUNT_FOR_INSTALLATION = """
+            insert into installation_event_counters (installation_id, event_type, event_count)
+            select installation_id, event_type, count(*)
+            from inventory_event
+            where installation_id = ?
+            group by installation_id, event_type
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public record CounterDelta(UUID installationId, InventoryEventType eventType, long count) {}
+
+    /**
+     * Adds the deltas to the stored totals. Rows are updated in key order so two transactions
+     * touching the same installations cannot deadlock.
+     */
+    public void incrementAll(List<CounterDelta> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        List<CounterDelta> ordered = deltas.stream()
+                .sorted(Comparator.comparing(CounterDelta::installationId).thenComparing(CounterDelta::eventType))
+                .toList();
+        jdbcTemplate.batchUpdate(INCREMENT, ordered, ordered.size(), (ps, delta) -> {
+            ps.setObject(1, delta.installationId());
+            ps.setString(2, delta.eventType().name());
+            ps.setLong(3, delta.count());
+        });
+    }
+
+    public Map<InventoryEventType, Long> findByInstallationId(UUID installationId) {
+        Map<InventoryEventType, Long> counts = new EnumMap<>(InventoryEventType.class);
+        jdbcTemplate.query(FIND_BY_INSTALLATION, rs -> {
+            counts.put(InventoryEventType.valueOf(rs.getString("event_type")), rs.getLong("event_count"));
+        }, installationId);
+        return counts;
+    }
+
+    /** Recounts one installation from its stored events. Must run in a transaction. */
+    public int rebuild(UUID installationId) {
+        jdbcTemplate.execute(LOCK_FOR_REBUILD);
+        jdbcTemplate.update(DELETE_FOR_INSTALLATION, installationId);
+        return jdbcTemplate.update(RECOUNT_FOR_INSTALLATION, installationId);
+    }
+
+    public List<UUID> findAllInstallationIds() {
+        return jdbcTemplate.queryForList("select distinct installation_id from inventory_event", UUID.class);
+    }
+}
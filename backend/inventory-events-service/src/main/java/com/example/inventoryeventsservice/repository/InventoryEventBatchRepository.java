@@ -0,0 +1,92 @@
+package com.example.inventoryeventsservice.repository;
+
+import com.example.inventoryeventcontract.InventoryEventMessage;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Multi-row inserts for consumed events. Rows whose event_id is already stored are skipped by
+ * the unique constraint, so redelivered records are dropped without a lookup per event.
+ */
+@Repository
+@RequiredArgsConstructor
+public class InventoryEventBatchRepository {
+
+    // 10 bind parameters per row keeps a full chunk well under the 65535 parameter limit
+    private static final int ROWS_PER_STATEMENT = 1000;
+
+    private static final String INSERT_COLUMNS = """
+            insert into inventory_event (event_id, event_type, reason, installation_id, product_id,
+                                         product_name, quantity, occurred_at, source_service, details)
+            values\s""";
+
+    private static final String ROW_PLACEHOLDERS = "(?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String ON_CONFLICT = " on conflict (event_id, occurred_at) do nothing returning event_id";
+
+    // explicit types let the driver bind nulls without asking the server for parameter metadata
+    private static final int[] ROW_TYPES = {
+            Types.OTHER, Types.VARCHAR, Types.VARCHAR, Types.OTHER, Types.BIGINT,
+            Types.VARCHAR, Types.INTEGER, Types.TIMESTAMP, Types.VARCHAR, Types.VARCHAR
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Inserts the given events and returns the ids of the rows that were new. Callers should drop
+     * repeated event ids first so the statement does not carry them twice.
+     */
+    public List<UUID> insertAllIgnoringDuplicates(List<InventoryEventMessage> messages) {
+        List<UUID> inserted = new ArrayList<>(messages.size());
+        for (int from = 0; from < messages.size(); from += ROWS_PER_STATEMENT) {
+            List<InventoryEventMessage> chunk = messages.subList(from, Math.min(from + ROWS_PER_STATEMENT, messages.size()));
+            inserted.addAll(jdbcTemplate.query(insertSql(chunk.size()), bindArgs(chunk), argTypes(chunk.size()),
+                    (rs, rowNum) -> rs.getObject(1, UUID.class)));
+        }
+        return inserted;
+    }
+
+    private String insertSql(int rows) {
+        StringBuilder sql = new StringBuilder(INSERT_COLUMNS.length() + rows * (ROW_PLACEHOLDERS.length() + 2) + ON_CONFLICT.length());
+        sql.append(INSERT_COLUMNS);
+        for (int i = 0; i < rows; i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(ROW_PLACEHOLDERS);
+        }
+        return sql.append(ON_CONFLICT).toString();
+    }
+
+    private int[] argTypes(int rows) {
+        int[] types = new int[rows * ROW_TYPES.length];
+        for (int i = 0; i < rows; i++) {
+            System.arraycopy(ROW_TYPES, 0, types, i * ROW_TYPES.length, ROW_TYPES.length);
+        }
+        return types;
+    }
+
+    private Object[] bindArgs(List<InventoryEventMessage> messages) {
+        List<Object> args = new ArrayList<>(messages.size() * ROW_TYPES.length);
+        for (InventoryEventMessage message : messages) {
+            args.add(message.getEventId());
+            args.add(message.getEventType().name());
+            args.add(message.getReason() != null ? message.getReason().name() : null);
+            args.add(message.getInstallationId());
+            args.add(message.getProductId());
+            args.add(message.getProductName());
+            args.add(message.getQuantity());
+            args.add(Timestamp.from(message.getOccurredAt()));
+            args.add(message.getSourceService());
+            args.add(message.getDetails());
+        }
+        return args.toArray();
+    }
+}
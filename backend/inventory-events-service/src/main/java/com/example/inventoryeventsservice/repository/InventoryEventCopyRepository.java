@@ -0,0 +1,129 @@
+package com.example.inventoryeventsservice.repository;
+
+import com.example.inventoryeventcontract.InventoryEventMessage;
+import lombok.RequiredArgsConstructor;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * COPY-based loading for replays and backfills. Events are streamed into a transaction-local
+ * staging table and merged into inventory_event with one statement, which skips event ids that
+ * are already stored or repeated in the load.
+ */
+@Repository
+@RequiredArgsConstructor
+public class InventoryEventCopyRepository {
+
+    private static final String COLUMNS = "event_id, event_type, reason, installation_id, product_id, "
+            + "product_name, quantity, occurred_at, source_service, details";
+
+    // dropping the table at commit is cheaper than truncating a kept one (on commit delete rows)
+    private static final String CREATE_STAGING = """
+            create temp table if not exists inventory_event_staging (
+                event_id UUID, event_type VARCHAR(100), reason VARCHAR(100), installation_id UUID,
+                product_id BIGINT, product_name VARCHAR(255), quantity INTEGER,
+                occurred_at TIMESTAMP WITH TIME ZONE, source_service VARCHAR(100), details TEXT
+            ) on commit drop
+            """;
+
+    private static final String COPY_INTO_STAGING =
+            "copy inventory_event_staging (" + COLUMNS + ") from stdin with (format csv)";
+
+    // do nothing (unlike do update) also tolerates an event id repeated within the staged rows
+    private static final String MERGE_STAGING = "insert into inventory_event (" + COLUMNS + ") "
+            + "select " + COLUMNS + " from inventory_event_staging "
+            + "on conflict (event_id, occurred_at) do nothing returning event_id";
+
+    // flush to the server in chunks instead of building the whole load in memory
+    private static final int FLUSH_BYTES = 64 * 1024;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Loads the given events and returns the ids of the rows that were new. Must run inside the
+     * caller's transaction, since the staging table only lives until it commits.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public List<UUID> copyAllIgnoringDuplicates(List<InventoryEventMessage> messages) {
+        jdbcTemplate.execute(CREATE_STAGING);
+        jdbcTemplate.execute((Connection connection) -> {
+            copyIn(connection.unwrap(PGConnection.class), messages);
+            return null;
+        });
+        return jdbcTemplate.queryForList(MERGE_STAGING, UUID.class);
+    }
+
+    private void copyIn(PGConnection connection, List<InventoryEventMessage> messages) throws SQLException {
+        CopyIn copy = connection.getCopyAPI().copyIn(COPY_INTO_STAGING);
+        try {
+            StringBuilder rows = new StringBuilder(FLUSH_BYTES + 1024);
+            for (InventoryEventMessage message : messages) {
+                appendRow(rows, message);
+                if (rows.length() >= FLUSH_BYTES) {
+                    write(copy, rows);
+                }
+            }
+            write(copy, rows);
+            copy.endCopy();
+        } finally {
+            if (copy.isActive()) {
+                copy.cancelCopy();
+            }
+        }
+    }
+
+    private void write(CopyIn copy, StringBuilder rows) throws SQLException {
+        byte[] bytes = rows.toString().getBytes(StandardCharsets.UTF_8);
+        copy.writeToCopy(bytes, 0, bytes.length);
+        rows.setLength(0);
+    }
+
+    private void appendRow(StringBuilder rows, InventoryEventMessage message) {
+        rows.append(message.getEventId()).append(',')
+                .append(message.getEventType().name()).append(',');
+        if (message.getReason() != null) {
+            rows.append(message.getReason().name());
+        }
+        rows.append(',').append(message.getInstallationId()).append(',');
+        if (message.getProductId() != null) {
+            rows.append(message.getProductId());
+        }
+        rows.append(',');
+        appendText(rows, message.getProductName());
+        rows.append(',');
+        if (message.getQuantity() != null) {
+            rows.append(message.getQuantity());
+        }
+        rows.append(',').append(message.getOccurredAt()).append(',');
+        appendText(rows, message.getSourceService());
+        rows.append(',');
+        appendText(rows, message.getDetails());
+        rows.append('\n');
+    }
+
+    /** In CSV format an unquoted empty field is NULL, so every present string is quoted. */
+    private void appendText(StringBuilder rows, String value) {
+        if (value == null) {
+            return;
+        }
+        rows.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                rows.append('"');
+            }
+            rows.append(c);
+        }
+        rows.append('"');
+    }
+}
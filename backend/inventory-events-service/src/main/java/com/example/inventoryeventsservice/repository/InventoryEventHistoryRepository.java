@@ -0,0 +1,94 @@
+package com.example.inventoryeventsservice.repository;
+
+import com.example.inventoryeventcontract.InventoryEventReason;
+import com.example.inventoryeventcontract.InventoryEventType;
+import com.example.inventoryeventsservice.dto.InventoryEventResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Keyset pages of one installation's events, newest first, read straight into response records.
+ * The page is chosen from {@code idx_inventory_event_history} alone and only its rows are then
+ * fetched, so the cost of a page does not grow with the installation's history.
+ */
+@Repository
+@RequiredArgsConstructor
+public class InventoryEventHistoryRepository {
+
+    private static final String PAGE_KEYS = """
+            select id, occurred_at
+            from inventory_event
+            where installation_id = ?
+            """;
+
+    // the plain occurred_at bound is implied by the row comparison, but only it lets partitions be pruned
+    private static final String BEFORE_CURSOR = " and occurred_at <= ? and (occurred_at, id) < (?, ?)";
+    private static final String FOR_EVENT_TYPE = " and event_type = ?";
+    private static final String FOR_REASON = " and reason = ?";
+    private static final String FOR_PRODUCT = " and product_id = ?";
+
+    private static final String NEWEST_FIRST = " order by occurred_at desc, id desc limit ?";
+
+    private static final String PAGE_ROWS = """
+            select e.id, e.event_id, e.event_type, e.reason, e.product_id, e.product_name, e.quantity,
+                   e.occurred_at, e.source_service, e.details
+            from page
+            join inventory_event e on e.id = page.id and e.occurred_at = page.occurred_at
+            where e.installation_id = ?
+            order by e.occurred_at desc, e.id desc
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public record HistoryFilter(InventoryEventType eventType, InventoryEventReason reason, Long productId) {}
+
+    /**
+     * Up to {@code limit} events strictly older than the cursor {@code (beforeOccurredAt, beforeId)},
+     * or the newest events when {@code beforeOccurredAt} is null.
+     */
+    public List<InventoryEventResponse> findPage(UUID installationId, Instant beforeOccurredAt, long beforeId,
+                                                 HistoryFilter filter, int limit) {
+        StringBuilder keys = new StringBuilder(PAGE_KEYS);
+        List<Object> args = new ArrayList<>(List.of(installationId));
+        if (beforeOccurredAt != null) {
+            Timestamp before = Timestamp.from(beforeOccurredAt);
+            keys.append(BEFORE_CURSOR);
+            args.addAll(List.of(before, before, beforeId));
+        }
+        if (filter.eventType() != null) {
+            keys.append(FOR_EVENT_TYPE);
+            args.add(filter.eventType().name());
+        }
+        if (filter.reason() != null) {
+            keys.append(FOR_REASON);
+            args.add(filter.reason().name());
+        }
+        if (filter.productId() != null) {
+            keys.append(FOR_PRODUCT);
+            args.add(filter.productId());
+        }
+        keys.append(NEWEST_FIRST);
+        args.add(limit);
+        args.add(installationId);
+
+        return jdbcTemplate.query("with page as (" + keys + ") " + PAGE_ROWS, (rs, rowNum) -> new InventoryEventResponse(
+                rs.getLong("id"),
+                rs.getObject("event_id", UUID.class),
+                InventoryEventType.valueOf(rs.getString("event_type")),
+                rs.getString("reason") != null ? InventoryEventReason.valueOf(rs.getString("reason")) : null,
+                rs.getObject("product_id", Long.class),
+                rs.getString("product_name"),
+                rs.getObject("quantity", Integer.class),
+                rs.getTimestamp("occurred_at").toInstant(),
+                rs.getString("source_service"),
+                rs.getString("details")
+        ), args.toArray());
+    }
+}
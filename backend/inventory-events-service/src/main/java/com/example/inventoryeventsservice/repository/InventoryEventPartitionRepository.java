@@ -0,0 +1,94 @@
+package com.example.inventoryeventsservice.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * DDL for the monthly partitions of {@code inventory_event} (see V4). Partitions are named
+ * {@code inventory_event_pYYYY_MM} and cover that UTC month; the name is the only place the month
+ * is read back from.
+ */
+@Repository
+@RequiredArgsConstructor
+public class InventoryEventPartitionRepository {
+
+    /** Keeps two instances from creating or detaching the same partition at once. */
+    private static final long MAINTENANCE_LOCK_KEY = 0x7061727469746eL;
+
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+    private static final Pattern PARTITION_NAME = Pattern.compile("inventory_event_p(\\d{4})_(\\d{2})");
+
+    private static final String DEFAULT_PARTITION = "inventory_event_default";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public record MonthPartition(String name, YearMonth month) {}
+
+    public boolean tryLockMaintenance() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "select pg_try_advisory_xact_lock(?)", Boolean.class, MAINTENANCE_LOCK_KEY));
+    }
+
+    /** Monthly partitions currently attached, oldest first. */
+    public List<MonthPartition> findAttachedPartitions() {
+        return jdbcTemplate.queryForList("""
+                        select c.relname
+                        from pg_inherits i
+                        join pg_class c on c.oid = i.inhrelid
+                        where i.inhparent = 'inventory_event'::regclass
+                        """, String.class).stream()
+                .map(InventoryEventPartitionRepository::parse)
+                .filter(Objects::nonNull)
+                .sorted(Comparator.comparing(MonthPartition::month))
+                .toList();
+    }
+
+    /**
+     * Creates and attaches the partition for {@code month}. Rows that already landed in the default
+     * partition for that month are moved over first, since attaching would fail with them still there.
+     * Must run in a transaction.
+     */
+    public void createPartition(YearMonth month) {
+        String name = partitionName(month);
+        String from = month.atDay(1).atStartOfDay().atOffset(ZoneOffset.UTC).toString();
+        String to = month.plusMonths(1).atDay(1).atStartOfDay().atOffset(ZoneOffset.UTC).toString();
+
+        jdbcTemplate.execute("create table " + name + " (like inventory_event including defaults including constraints)");
+        jdbcTemplate.update("with moved as (delete from " + DEFAULT_PARTITION
+                + " where occurred_at >= ?::timestamptz and occurred_at < ?::timestamptz returning *) "
+                + "insert into " + name + " select * from moved", from, to);
+        jdbcTemplate.execute("alter table inventory_event attach partition " + name
+                + " for values from ('" + from + "') to ('" + to + "')");
+    }
+
+    /** Detaches the partition but keeps its table, e.g. for archiving before it is dropped by hand. */
+    public void detachPartition(MonthPartition partition) {
+        jdbcTemplate.execute("alter table inventory_event detach partition " + partition.name());
+    }
+
+    public void dropPartition(MonthPartition partition) {
+        jdbcTemplate.execute("drop table " + partition.name());
+    }
+
+    public static String partitionName(YearMonth month) {
+        return "inventory_event_p" + month.format(PARTITION_SUFFIX);
+    }
+
+    private static MonthPartition parse(String name) {
+        Matcher matcher = PARTITION_NAME.matcher(name);
+        if (!matcher.matches()) {
+            return null;
+        }
+        return new MonthPartition(name, YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2))));
+    }
+}
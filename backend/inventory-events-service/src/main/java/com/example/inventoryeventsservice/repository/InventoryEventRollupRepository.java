@@ -0,0 +1,103 @@
+package com.example.inventoryeventsservice.repository;
+
+import com.example.inventoryeventsservice.dto.EventTimeseriesPoint;
+import com.example.inventoryeventsservice.enums.RollupGranularity;
+import com.example.inventoryeventsservice.enums.TimeseriesGranularity;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Per-installation, per-product quantities in hour / day / month buckets. Ingest adds to them in the
+ * same transaction that stores the events, so dashboards never have to scan {@code inventory_event}.
+ */
+@Repository
+@RequiredArgsConstructor
+public class InventoryEventRollupRepository {
+
+    private static final String INCREMENT = """
+            insert into inventory_event_rollups (installation_id, granularity, bucket_start, product_id,
+                                                 added_quantity, consumed_quantity, expired_quantity, event_count)
+            values (?, ?, ?, ?, ?, ?, ?, ?)
+            on conflict (installation_id, granularity, bucket_start, product_id)
+            do update set added_quantity = inventory_event_rollups.added_quantity + excluded.added_quantity,
+                          consumed_quantity = inventory_event_rollups.consumed_quantity + excluded.consumed_quantity,
+                          expired_quantity = inventory_event_rollups.expired_quantity + excluded.expired_quantity,
+                          event_count = inventory_event_rollups.event_count + excluded.event_count
+            """;
+
+    // the truncate unit is bound as a parameter, so weeks can be summed from daily rows in the same query
+    private static final String SERIES = """
+            select date_trunc(?, bucket_start at time zone 'UTC') at time zone 'UTC' as bucket,
+                   sum(added_quantity) as added, sum(consumed_quantity) as consumed,
+                   sum(expired_quantity) as expired, sum(event_count) as events
+            from inventory_event_rollups
+            where installation_id = ? and granularity = ? and bucket_start >= ? and bucket_start < ?
+            """;
+
+    private static final String FOR_PRODUCT = " and product_id = ?";
+
+    private static final String GROUP_BY_BUCKET = " group by bucket order by bucket";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public record RollupDelta(
+            UUID installationId,
+            RollupGranularity granularity,
+            Instant bucketStart,
+            long productId,
+            long addedQuantity,
+            long consumedQuantity,
+            long expiredQuantity,
+            long eventCount
+    ) {}
+
+    /** Adds the deltas to the stored buckets, in key order so concurrent ingests cannot deadlock. */
+    public void incrementAll(List<RollupDelta> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        List<RollupDelta> ordered = deltas.stream()
+                .sorted(Comparator.comparing(RollupDelta::installationId)
+                        .thenComparing(RollupDelta::granularity)
+                        .thenComparing(RollupDelta::bucketStart)
+                        .thenComparingLong(RollupDelta::productId))
+                .toList();
+        jdbcTemplate.batchUpdate(INCREMENT, ordered, ordered.size(), (ps, delta) -> {
+            ps.setObject(1, delta.installationId());
+            ps.setString(2, delta.granularity().name());
+            ps.setTimestamp(3, Timestamp.from(delta.bucketStart()));
+            ps.setLong(4, delta.productId());
+            ps.setLong(5, delta.addedQuantity());
+            ps.setLong(6, delta.consumedQuantity());
+            ps.setLong(7, delta.expiredQuantity());
+            ps.setLong(8, delta.eventCount());
+        });
+    }
+
+    /** Buckets in {@code [from, to)}, summed over all products when {@code productId} is null. */
+    public List<EventTimeseriesPoint> findSeries(UUID installationId, Long productId, TimeseriesGranularity granularity,
+                                                 Instant from, Instant to) {
+        List<Object> args = new ArrayList<>(List.of(granularity.truncateUnit(), installationId,
+                granularity.source().name(), Timestamp.from(from), Timestamp.from(to)));
+        String sql = SERIES;
+        if (productId != null) {
+            sql += FOR_PRODUCT;
+            args.add(productId);
+        }
+        return jdbcTemplate.query(sql + GROUP_BY_BUCKET, (rs, rowNum) -> new EventTimeseriesPoint(
+                rs.getTimestamp("bucket").toInstant(),
+                rs.getLong("added"),
+                rs.getLong("consumed"),
+                rs.getLong("expired"),
+                rs.getLong("events")
+        ), args.toArray());
+    }
+}
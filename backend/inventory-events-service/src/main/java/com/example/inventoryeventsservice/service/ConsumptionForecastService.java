@@ -0,0 +1,14 @@
+package com.example.inventoryeventsservice.service;
+
+import com.example.inventoryeventsservice.dto.ConsumptionForecastResponse;
+
+import java.util.UUID;
+
+public interface ConsumptionForecastService {
+
+    /** Reads the in-memory consumption state only; the cost is constant per product. */
+    ConsumptionForecastResponse getForecast(UUID installationId);
+
+    /** Recomputes the installation's forecast state from its stored events. */
+    void rebuild(UUID installationId);
+}
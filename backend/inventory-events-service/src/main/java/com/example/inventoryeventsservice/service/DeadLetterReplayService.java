@@ -0,0 +1,19 @@
+package com.example.inventoryeventsservice.service;
+
+import com.example.inventoryeventsservice.dto.DeadLetterReplayStatus;
+
+public interface DeadLetterReplayService {
+
+    /**
+     * Starts replaying the dead-letter topic through {@link InventoryEventService#saveEvents} in the
+     * background, unless a replay is already running. Returns the status right after starting.
+     *
+     * @param maxRecords stop after this many records, or {@code null} to drain the topic
+     */
+    DeadLetterReplayStatus startReplay(Integer batchSize, Integer maxRecordsPerSecond, Long maxRecords);
+
+    /** Asks a running replay to stop after its current batch. */
+    DeadLetterReplayStatus stopReplay();
+
+    DeadLetterReplayStatus getStatus();
+}
@@ -0,0 +1,17 @@
+package com.example.inventoryeventsservice.service;
+
+import com.example.inventoryeventsservice.dto.EventTimeseriesResponse;
+import com.example.inventoryeventsservice.enums.TimeseriesGranularity;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public interface EventTimeseriesService {
+
+    /**
+     * Reads quantities per bucket from the rollups only. Missing bounds default to the last 30 days,
+     * and the range is capped per granularity so one request cannot pull years of hourly buckets.
+     */
+    EventTimeseriesResponse getTimeseries(UUID installationId, Long productId, TimeseriesGranularity granularity,
+                                          Instant from, Instant to);
+}
@@ -0,0 +1,26 @@
+package com.example.inventoryeventsservice.service;
+
+import com.example.inventoryeventcontract.InventoryEventType;
+
+import java.util.Map;
+import java.util.UUID;
+
+public interface InstallationEventCounterService {
+
+    Map<InventoryEventType, Long> getCounts(UUID installationId);
+
+    /**
+     * Recounts one installation's totals from its stored events. Events in partitions detached or
+     * dropped by retention are no longer stored, so they drop out of the totals.
+     *
+     * @return the number of event types the installation has
+     */
+    int rebuild(UUID installationId);
+
+    /**
+     * Recounts every installation, one transaction each, so ingest is only held up briefly.
+     *
+     * @return the number of installations rebuilt
+     */
+    int rebuildAll();
+}
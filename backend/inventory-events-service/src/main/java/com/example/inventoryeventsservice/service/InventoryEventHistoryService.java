@@ -0,0 +1,18 @@
+package com.example.inventoryeventsservice.service;
+
+import com.example.inventoryeventcontract.InventoryEventReason;
+import com.example.inventoryeventcontract.InventoryEventType;
+import com.example.inventoryeventsservice.dto.InventoryEventPageResponse;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public interface InventoryEventHistoryService {
+
+    /**
+     * One page of an installation's events, newest first. Without a cursor the newest events are
+     * returned; a cursor with only {@code beforeOccurredAt} starts at that instant, inclusive.
+     */
+    InventoryEventPageResponse getHistory(UUID installationId, Instant beforeOccurredAt, Long beforeId, int limit,
+                                          InventoryEventType eventType, InventoryEventReason reason, Long productId);
+}
@@ -1,7 +1,22 @@
 package com.example.inventoryeventsservice.service;
 
-import com.example.inventoryeventsservice.dto.InventoryEventMessage;
+import com.example.inventoryeventcontract.InventoryEventMessage;
+
+import java.util.List;
 
 public interface InventoryEventService {
-    void saveEvent(InventoryEventMessage message);
-}
\ No newline at end of file
+
+    /**
+     * Stores a polled batch in one transaction, skipping events whose id was already stored or
+     * repeats earlier in the batch.
+     *
+     * @return the number of events that were new
+     */
+    int saveEvents(List<InventoryEventMessage> messages);
+
+    /**
+     * Same contract as {@link #saveEvents(List)}, but loads the batch with COPY. Meant for
+     * replays and backfills, where the per-statement overhead of inserts dominates.
+     */
+    int bulkLoadEvents(List<InventoryEventMessage> messages);
+}
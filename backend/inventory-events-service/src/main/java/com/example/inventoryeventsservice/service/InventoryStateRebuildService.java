@@ -0,0 +1,24 @@
+package com.example.inventoryeventsservice.service;
+
+import com.example.inventoryeventsservice.dto.InventoryStateRebuildStatus;
+
+import java.util.Map;
+import java.util.UUID;
+
+public interface InventoryStateRebuildService {
+
+    /**
+     * Starts folding the inventory events topic into per-product stock in the background, unless a
+     * rebuild is already running. Returns the status right after starting.
+     *
+     * @param installationId only fold this installation, or {@code null} for all of them
+     * @param compare        diff the result against inventory-service's current items
+     * @param authorization  passed on to inventory-service when comparing
+     */
+    InventoryStateRebuildStatus startRebuild(UUID installationId, boolean compare, String authorization);
+
+    InventoryStateRebuildStatus getStatus();
+
+    /** Stock per product id of one installation from the last finished rebuild; empty if it had no events. */
+    Map<Long, Long> getRebuiltStock(UUID installationId);
+}
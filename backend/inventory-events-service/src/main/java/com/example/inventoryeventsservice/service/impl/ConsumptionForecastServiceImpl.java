@@ -0,0 +1,54 @@
+package com.example.inventoryeventsservice.service.impl;
+
+import com.example.inventoryeventsservice.dto.ConsumptionForecastResponse;
+import com.example.inventoryeventsservice.dto.ProductForecast;
+import com.example.inventoryeventsservice.forecast.ConsumptionForecastEngine;
+import com.example.inventoryeventsservice.forecast.ConsumptionState;
+import com.example.inventoryeventsservice.service.ConsumptionForecastService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+public class ConsumptionForecastServiceImpl implements ConsumptionForecastService {
+
+    private static final long MILLIS_PER_DAY = Duration.ofDays(1).toMillis();
+
+    private final ConsumptionForecastEngine engine;
+
+    @Override
+    public ConsumptionForecastResponse getForecast(UUID installationId) {
+        Instant now = Instant.now();
+        List<ProductForecast> products = engine.getStates(installationId).entrySet().stream()
+                .map(entry -> forecast(entry.getKey(), entry.getValue(), now))
+                .sorted(Comparator.comparing(ProductForecast::daysUntilRunOut, Comparator.nullsLast(Comparator.naturalOrder()))
+                        .thenComparingLong(ProductForecast::productId))
+                .toList();
+        return new ConsumptionForecastResponse(installationId, now, products);
+    }
+
+    @Override
+    public void rebuild(UUID installationId) {
+        engine.rebuild(installationId);
+    }
+
+    private ProductForecast forecast(long productId, ConsumptionState state, Instant now) {
+        double rate = engine.dailyRate(state, now);
+        long quantity = Math.max(0, state.onHand());
+        Double daysLeft = null;
+        if (quantity == 0) {
+            daysLeft = 0.0;
+        } else if (rate > 0) {
+            daysLeft = quantity / rate;
+        }
+        Instant runOutAt = daysLeft != null ? now.plusMillis((long) (daysLeft * MILLIS_PER_DAY)) : null;
+        return new ProductForecast(productId, state.productName(), quantity, rate, daysLeft, runOutAt);
+    }
+}
@@ -0,0 +1,255 @@
+package com.example.inventoryeventsservice.service.impl;
+
+import com.example.inventoryeventcontract.InventoryEventMessage;
+import com.example.inventoryeventsservice.config.KafkaConfig;
+import com.example.inventoryeventsservice.dto.DeadLetterReplayStatus;
+import com.example.inventoryeventsservice.listener.InventoryEventKafkaListener;
+import com.example.inventoryeventsservice.service.DeadLetterReplayService;
+import com.example.inventoryeventsservice.service.InventoryEventService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drains the dead-letter topic with its own consumer group, so the DLT handler's offsets are left
+ * alone and a replay resumes where the previous one stopped. Offsets are committed after every
+ * stored batch; since storing skips known event ids, a replay interrupted between the two only
+ * repeats work. Records that still fail validation are counted and skipped, they stay in the topic.
+ */
+@Slf4j
+@Service
+public class DeadLetterReplayServiceImpl implements DeadLetterReplayService {
+
+    private static final String METRIC_PREFIX = "inventory.events.dlt.replay";
+    private static final Duration POLL_TIMEOUT = Duration.ofSeconds(2);
+
+    private final ConsumerFactory<Object, Object> consumerFactory;
+    private final InventoryEventService inventoryEventService;
+    private final String deadLetterTopic;
+    private final String replayGroupId;
+    private final int defaultBatchSize;
+    private final int defaultMaxRecordsPerSecond;
+    private final Clock clock = Clock.systemUTC();
+
+    private final ExecutorService replayExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "inventory-events-dlt-replay");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicBoolean stopRequested = new AtomicBoolean();
+    private final AtomicLong stored = new AtomicLong();
+    private final AtomicLong duplicates = new AtomicLong();
+    private final AtomicLong invalid = new AtomicLong();
+    private final AtomicLong remaining = new AtomicLong();
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+    private volatile String lastError;
+
+    private final Counter storedCounter;
+    private final Counter duplicateCounter;
+    private final Counter invalidCounter;
+
+    public DeadLetterReplayServiceImpl(
+            ConsumerFactory<Object, Object> consumerFactory,
+            InventoryEventService inventoryEventService,
+            MeterRegistry meterRegistry,
+            @Value("${app.kafka.topic.inventory-events-failed}") String failedTopic,
+            @Value("${spring.kafka.consumer.group-id}") String groupId,
+            @Value("${app.dlt.replay.batch-size:500}") int defaultBatchSize,
+            @Value("${app.dlt.replay.max-records-per-second:1000}") int defaultMaxRecordsPerSecond
+    ) {
+        this.consumerFactory = consumerFactory;
+        this.inventoryEventService = inventoryEventService;
+        this.deadLetterTopic = failedTopic + KafkaConfig.DLT_SUFFIX;
+        this.replayGroupId = groupId + "-dlt-replay";
+        this.defaultBatchSize = defaultBatchSize;
+        this.defaultMaxRecordsPerSecond = defaultMaxRecordsPerSecond;
+
+        this.storedCounter = recordCounter(meterRegistry, "stored");
+        this.duplicateCounter = recordCounter(meterRegistry, "duplicate");
+        this.invalidCounter = recordCounter(meterRegistry, "invalid");
+        Gauge.builder(METRIC_PREFIX + ".remaining", remaining, AtomicLong::get)
+                .description("Dead-letter records not replayed yet, as of the last replay batch")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".running", running, flag -> flag.get() ? 1 : 0)
+                .description("1 while a DLT replay is in progress")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public DeadLetterReplayStatus startReplay(Integer batchSize, Integer maxRecordsPerSecond, Long maxRecords) {
+        if (!running.compareAndSet(false, true)) {
+            return getStatus();
+        }
+        int size = Math.max(1, batchSize != null ? batchSize : defaultBatchSize);
+        int rate = Math.max(1, maxRecordsPerSecond != null ? maxRecordsPerSecond : defaultMaxRecordsPerSecond);
+        long limit = maxRecords != null ? maxRecords : Long.MAX_VALUE;
+
+        stopRequested.set(false);
+        stored.set(0);
+        duplicates.set(0);
+        invalid.set(0);
+        startedAt = clock.instant();
+        finishedAt = null;
+        lastError = null;
+        replayExecutor.execute(() -> replay(size, rate, limit));
+        return getStatus();
+    }
+
+    @Override
+    public DeadLetterReplayStatus stopReplay() {
+        stopRequested.set(true);
+        return getStatus();
+    }
+
+    @Override
+    public DeadLetterReplayStatus getStatus() {
+        return new DeadLetterReplayStatus(running.get(), startedAt, finishedAt, stored.get(), duplicates.get(),
+                invalid.get(), remaining.get(), lastError);
+    }
+
+    private void replay(int batchSize, int maxRecordsPerSecond, long maxRecords) {
+        Properties overrides = new Properties();
+        overrides.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, String.valueOf(batchSize));
+        overrides.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        overrides.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, "false");
+
+        try (Consumer<Object, Object> consumer = consumerFactory.createConsumer(replayGroupId, null, null, overrides)) {
+            List<TopicPartition> partitions = partitionsOf(consumer);
+            consumer.assign(partitions);
+            updateRemaining(consumer, partitions);
+            log.info("Replaying {} records from {} (batch {}, at most {} records/s)",
+                    remaining.get(), deadLetterTopic, batchSize, maxRecordsPerSecond);
+
+            long replayed = 0;
+            long nanosPerRecord = 1_000_000_000L / maxRecordsPerSecond;
+            while (!stopRequested.get() && replayed < maxRecords && remaining.get() > 0) {
+                long batchStart = System.nanoTime();
+                ConsumerRecords<Object, Object> records = consumer.poll(POLL_TIMEOUT);
+                if (records.isEmpty()) {
+                    updateRemaining(consumer, partitions);
+                    continue;
+                }
+
+                // the poll may run past the cap; only records up to it are stored and committed
+                List<ConsumerRecord<Object, Object>> batch = take(records, maxRecords - replayed);
+                replayBatch(batch);
+                consumer.commitSync(nextOffsets(batch));
+                replayed += batch.size();
+                updateRemaining(consumer, partitions);
+                remaining.addAndGet(records.count() - batch.size());
+
+                // throttle so a large replay does not starve live ingest of database capacity
+                long pause = batch.size() * nanosPerRecord - (System.nanoTime() - batchStart);
+                if (pause > 0) {
+                    TimeUnit.NANOSECONDS.sleep(pause);
+                }
+            }
+            log.info("DLT replay finished: {} stored, {} duplicates, {} invalid, {} remaining",
+                    stored.get(), duplicates.get(), invalid.get(), remaining.get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            lastError = "interrupted";
+        } catch (RuntimeException e) {
+            log.error("DLT replay failed, offsets are committed up to the last stored batch", e);
+            lastError = e.getMessage();
+        } finally {
+            finishedAt = clock.instant();
+            running.set(false);
+        }
+    }
+
+    private static List<ConsumerRecord<Object, Object>> take(ConsumerRecords<Object, Object> records, long limit) {
+        List<ConsumerRecord<Object, Object>> taken = new ArrayList<>((int) Math.min(records.count(), limit));
+        for (ConsumerRecord<Object, Object> record : records) {
+            if (taken.size() == limit) {
+                break;
+            }
+            taken.add(record);
+        }
+        return taken;
+    }
+
+    private static Map<TopicPartition, OffsetAndMetadata> nextOffsets(List<ConsumerRecord<Object, Object>> records) {
+        Map<TopicPartition, OffsetAndMetadata> offsets = new HashMap<>();
+        for (ConsumerRecord<Object, Object> record : records) {
+            offsets.put(new TopicPartition(record.topic(), record.partition()), new OffsetAndMetadata(record.offset() + 1));
+        }
+        return offsets;
+    }
+
+    private void replayBatch(List<ConsumerRecord<Object, Object>> records) {
+        List<InventoryEventMessage> messages = new ArrayList<>(records.size());
+        for (ConsumerRecord<Object, Object> record : records) {
+            if (record.value() instanceof InventoryEventMessage message && InventoryEventKafkaListener.isValid(message)) {
+                messages.add(message);
+            } else {
+                log.warn("Skipping invalid DLT record at {}-{}@{}", record.topic(), record.partition(), record.offset());
+                invalid.incrementAndGet();
+                invalidCounter.increment();
+            }
+        }
+        int storedCount = messages.isEmpty() ? 0 : inventoryEventService.saveEvents(messages);
+        stored.addAndGet(storedCount);
+        storedCounter.increment(storedCount);
+        duplicates.addAndGet(messages.size() - storedCount);
+        duplicateCounter.increment(messages.size() - storedCount);
+    }
+
+    private List<TopicPartition> partitionsOf(Consumer<Object, Object> consumer) {
+        List<PartitionInfo> infos = consumer.partitionsFor(deadLetterTopic);
+        if (infos == null) {
+            return List.of();
+        }
+        return infos.stream().map(info -> new TopicPartition(info.topic(), info.partition())).toList();
+    }
+
+    private void updateRemaining(Consumer<Object, Object> consumer, List<TopicPartition> partitions) {
+        long lag = 0;
+        for (Map.Entry<TopicPartition, Long> end : consumer.endOffsets(partitions).entrySet()) {
+            lag += Math.max(0, end.getValue() - consumer.position(end.getKey()));
+        }
+        remaining.set(lag);
+    }
+
+    private static Counter recordCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder(METRIC_PREFIX + ".records")
+                .description("Dead-letter records replayed by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        stopRequested.set(true);
+        replayExecutor.shutdown();
+    }
+}
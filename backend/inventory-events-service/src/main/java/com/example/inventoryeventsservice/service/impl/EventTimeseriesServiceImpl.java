@@ -0,0 +1,49 @@
+package com.example.inventoryeventsservice.service.impl;
+
+import com.example.inventoryeventsservice.dto.EventTimeseriesPoint;
+import com.example.inventoryeventsservice.dto.EventTimeseriesResponse;
+import com.example.inventoryeventsservice.enums.TimeseriesGranularity;
+import com.example.inventoryeventsservice.repository.InventoryEventRollupRepository;
+import com.example.inventoryeventsservice.service.EventTimeseriesService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+public class EventTimeseriesServiceImpl implements EventTimeseriesService {
+
+    private static final Duration DEFAULT_RANGE = Duration.ofDays(30);
+
+    private final InventoryEventRollupRepository rollupRepository;
+
+    @Override
+    @Transactional(readOnly = true)
+    public EventTimeseriesResponse getTimeseries(UUID installationId, Long productId, TimeseriesGranularity granularity,
+                                                 Instant from, Instant to) {
+        Instant end = to != null ? to : Instant.now();
+        Instant start = from != null ? from : end.minus(DEFAULT_RANGE);
+        Instant earliest = end.minus(maxRange(granularity));
+        if (start.isBefore(earliest)) {
+            start = earliest;
+        }
+
+        List<EventTimeseriesPoint> points = start.isBefore(end)
+                ? rollupRepository.findSeries(installationId, productId, granularity, start, end)
+                : List.of();
+        return new EventTimeseriesResponse(installationId, productId, granularity, start, end, points);
+    }
+
+    private Duration maxRange(TimeseriesGranularity granularity) {
+        return switch (granularity) {
+            case HOUR -> Duration.ofDays(31);
+            case DAY, WEEK -> Duration.ofDays(3 * 366);
+            case MONTH -> Duration.ofDays(20 * 366);
+        };
+    }
+}
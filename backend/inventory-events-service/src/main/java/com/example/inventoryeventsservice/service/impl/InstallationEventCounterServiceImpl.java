@@ -0,0 +1,46 @@
+package com.example.inventoryeventsservice.service.impl;
+
+import com.example.inventoryeventcontract.InventoryEventType;
+import com.example.inventoryeventsservice.repository.InstallationEventCounterRepository;
+import com.example.inventoryeventsservice.service.InstallationEventCounterService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class InstallationEventCounterServiceImpl implements InstallationEventCounterService {
+
+    private final InstallationEventCounterRepository counterRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<InventoryEventType, Long> getCounts(UUID installationId) {
+        return counterRepository.findByInstallationId(installationId);
+    }
+
+    @Override
+    public int rebuild(UUID installationId) {
+        int eventTypes = transactionTemplate.execute(status -> counterRepository.rebuild(installationId));
+        log.info("Rebuilt event counters for installation {} ({} event types)", installationId, eventTypes);
+        return eventTypes;
+    }
+
+    @Override
+    public int rebuildAll() {
+        List<UUID> installationIds = counterRepository.findAllInstallationIds();
+        for (UUID installationId : installationIds) {
+            transactionTemplate.executeWithoutResult(status -> counterRepository.rebuild(installationId));
+        }
+        log.info("Rebuilt event counters for {} installations", installationIds.size());
+        return installationIds.size();
+    }
+}
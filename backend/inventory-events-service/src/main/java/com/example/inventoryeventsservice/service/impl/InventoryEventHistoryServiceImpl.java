@@ -0,0 +1,48 @@
+package com.example.inventoryeventsservice.service.impl;
+
+import com.example.inventoryeventcontract.InventoryEventReason;
+import com.example.inventoryeventcontract.InventoryEventType;
+import com.example.inventoryeventsservice.dto.InventoryEventPageResponse;
+import com.example.inventoryeventsservice.dto.InventoryEventResponse;
+import com.example.inventoryeventsservice.repository.InventoryEventHistoryRepository;
+import com.example.inventoryeventsservice.repository.InventoryEventHistoryRepository.HistoryFilter;
+import com.example.inventoryeventsservice.service.InventoryEventHistoryService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+public class InventoryEventHistoryServiceImpl implements InventoryEventHistoryService {
+
+    private static final int MAX_PAGE_SIZE = 500;
+
+    private final InventoryEventHistoryRepository historyRepository;
+
+    @Override
+    @Transactional(readOnly = true)
+    public InventoryEventPageResponse getHistory(UUID installationId, Instant beforeOccurredAt, Long beforeId, int limit,
+                                                 InventoryEventType eventType, InventoryEventReason reason, Long productId) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        // one extra row tells us whether another page exists without a count query
+        List<InventoryEventResponse> rows = historyRepository.findPage(
+                installationId,
+                beforeOccurredAt,
+                beforeId != null ? beforeId : Long.MAX_VALUE,
+                new HistoryFilter(eventType, reason, productId),
+                pageSize + 1
+        );
+
+        boolean hasMore = rows.size() > pageSize;
+        List<InventoryEventResponse> events = hasMore ? rows.subList(0, pageSize) : rows;
+        InventoryEventResponse last = hasMore ? events.get(events.size() - 1) : null;
+        InventoryEventPageResponse.Cursor nextCursor = last != null
+                ? new InventoryEventPageResponse.Cursor(last.occurredAt(), last.id())
+                : null;
+        return new InventoryEventPageResponse(events, nextCursor);
+    }
+}
@@ -1,48 +1,159 @@
 package com.example.inventoryeventsservice.service.impl;
 
-import com.example.inventoryeventsservice.dto.InventoryEventMessage;
-import com.example.inventoryeventsservice.entity.InventoryEventEntity;
-import com.example.inventoryeventsservice.repository.InventoryEventRepository;
+import com.example.inventoryeventcontract.InventoryEventMessage;
+import com.example.inventoryeventcontract.InventoryEventType;
+import com.example.inventoryeventsservice.dedupe.RecentEventIdFilter;
+import com.example.inventoryeventsservice.event.InventoryEventsStoredEvent;
+import com.example.inventoryeventsservice.enums.RollupGranularity;
+import com.example.inventoryeventsservice.repository.InstallationEventCounterRepository;
+import com.example.inventoryeventsservice.repository.InstallationEventCounterRepository.CounterDelta;
+import com.example.inventoryeventsservice.repository.InventoryEventBatchRepository;
+import com.example.inventoryeventsservice.repository.InventoryEventCopyRepository;
+import com.example.inventoryeventsservice.repository.InventoryEventRollupRepository;
+import com.example.inventoryeventsservice.repository.InventoryEventRollupRepository.RollupDelta;
 import com.example.inventoryeventsservice.service.InventoryEventService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class InventoryEventServiceImpl implements InventoryEventService {
 
-    private final InventoryEventRepository repository;
+    private final InventoryEventBatchRepository batchRepository;
+    private final InventoryEventCopyRepository copyRepository;
+    private final InstallationEventCounterRepository counterRepository;
+    private final InventoryEventRollupRepository rollupRepository;
+    private final RecentEventIdFilter recentEventIdFilter;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional
-    public void saveEvent(InventoryEventMessage message) {
-        if (repository.existsByEventId(message.getEventId())) {
-            log.info("Skipping duplicate event with eventId={}", message.getEventId());
-            return;
+    public int saveEvents(List<InventoryEventMessage> messages) {
+        // producers retry, so the same event can show up twice in one poll
+        Map<UUID, InventoryEventMessage> unique = new LinkedHashMap<>();
+        for (InventoryEventMessage message : messages) {
+            unique.putIfAbsent(message.getEventId(), message);
+        }
+
+        // ids missing from the filter may still be stored (by another instance, or longer ago), so every
+        // candidate goes through the same conflict-tolerant insert
+        List<InventoryEventMessage> candidates = unique.values().stream()
+                .filter(message -> recentEventIdFilter.check(message.getEventId()) != RecentEventIdFilter.Result.DUPLICATE)
+                .toList();
+        if (candidates.isEmpty()) {
+            log.info("Skipped {} inventory events already stored recently", messages.size());
+            return 0;
+        }
+
+        List<UUID> inserted = batchRepository.insertAllIgnoringDuplicates(candidates);
+        recordAggregates(candidates, inserted);
+        rememberAfterCommit(unique.keySet());
+
+        log.info("Stored {} of {} inventory events ({} duplicates skipped)",
+                inserted.size(), messages.size(), messages.size() - inserted.size());
+        return inserted.size();
+    }
+
+    @Override
+    @Transactional
+    public int bulkLoadEvents(List<InventoryEventMessage> messages) {
+        // the merge statement drops repeats itself, so only recently stored ids are filtered here
+        List<InventoryEventMessage> candidates = messages.stream()
+                .filter(message -> recentEventIdFilter.check(message.getEventId()) != RecentEventIdFilter.Result.DUPLICATE)
+                .toList();
+
+        List<UUID> inserted = candidates.isEmpty() ? List.of() : copyRepository.copyAllIgnoringDuplicates(candidates);
+        recordAggregates(candidates, inserted);
+        rememberAfterCommit(candidates.stream().map(InventoryEventMessage::getEventId).toList());
+
+        log.info("Bulk loaded {} of {} inventory events ({} duplicates skipped)",
+                inserted.size(), messages.size(), messages.size() - inserted.size());
+        return inserted.size();
+    }
+
+    /**
+     * Adds the events that were actually inserted, each once, to the counters and rollups, and
+     * announces them to in-memory consumers such as the forecast engine once the transaction commits.
+     */
+    private void recordAggregates(List<InventoryEventMessage> messages, Collection<UUID> inserted) {
+        Set<UUID> uncounted = new HashSet<>(inserted);
+        List<InventoryEventMessage> stored = messages.stream()
+                .filter(message -> uncounted.remove(message.getEventId()))
+                .toList();
+
+        counterRepository.incrementAll(countsByType(stored));
+        rollupRepository.incrementAll(rollups(stored));
+        if (!stored.isEmpty()) {
+            eventPublisher.publishEvent(new InventoryEventsStoredEvent(stored));
         }
+    }
 
-        InventoryEventEntity entity = InventoryEventEntity.builder()
-                .eventId(message.getEventId())
-                .eventType(message.getEventType())
-                .reason(message.getReason())
-                .installationId(message.getInstallationId())
-                .productId(message.getProductId())
-                .productName(message.getProductName())
-                .quantity(message.getQuantity())
-                .occurredAt(message.getOccurredAt())
-                .sourceService(message.getSourceService())
-                .details(message.getDetails())
-                .build();
-
-        try {
-            repository.save(entity);
-            log.info("Saved inventory event eventId={} type={}", message.getEventId(), message.getEventType());
-        } catch (DataIntegrityViolationException e) {
-            log.warn("Duplicate event detected by DB constraint. eventId={}", message.getEventId());
+    private List<CounterDelta> countsByType(List<InventoryEventMessage> stored) {
+        Map<UUID, Map<InventoryEventType, Long>> counts = new HashMap<>();
+        for (InventoryEventMessage message : stored) {
+            counts.computeIfAbsent(message.getInstallationId(), id -> new EnumMap<>(InventoryEventType.class))
+                    .merge(message.getEventType(), 1L, Long::sum);
         }
+        List<CounterDelta> deltas = new ArrayList<>();
+        counts.forEach((installationId, byType) -> byType.forEach((eventType, count) ->
+                deltas.add(new CounterDelta(installationId, eventType, count))));
+        return deltas;
+    }
+
+    /** Quantities per bucket; events without a product have nothing to chart and are left out. */
+    private List<RollupDelta> rollups(List<InventoryEventMessage> stored) {
+        Map<RollupKey, long[]> sums = new HashMap<>();
+        for (InventoryEventMessage message : stored) {
+            if (message.getProductId() == null) {
+                continue;
+            }
+            long quantity = message.getQuantity() != null ? message.getQuantity() : 0;
+            for (RollupGranularity granularity : RollupGranularity.values()) {
+                long[] sum = sums.computeIfAbsent(new RollupKey(message.getInstallationId(), granularity,
+                        granularity.bucketStart(message.getOccurredAt()), message.getProductId()), key -> new long[4]);
+                switch (message.getEventType()) {
+                    case ITEM_ADDED -> sum[0] += quantity;
+                    case ITEM_DEPLETED -> sum[1] += quantity;
+                    case ITEM_EXPIRED_DISCARDED -> sum[2] += quantity;
+                    default -> { }
+                }
+                sum[3]++;
+            }
+        }
+        List<RollupDelta> deltas = new ArrayList<>(sums.size());
+        sums.forEach((key, sum) -> deltas.add(new RollupDelta(key.installationId(), key.granularity(),
+                key.bucketStart(), key.productId(), sum[0], sum[1], sum[2], sum[3])));
+        return deltas;
+    }
+
+    private record RollupKey(UUID installationId, RollupGranularity granularity, Instant bucketStart, long productId) {}
+
+    /** A rolled-back insert must not be remembered, or its redelivery would be skipped as a duplicate. */
+    private void rememberAfterCommit(Collection<UUID> eventIds) {
+        List<UUID> stored = List.copyOf(eventIds);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                recentEventIdFilter.recordAll(stored);
+            }
+        });
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,195 @@
+package com.example.inventoryeventsservice.service.impl;
+
+import com.example.inventoryeventsservice.client.InventoryServiceClient;
+import com.example.inventoryeventsservice.dto.InventoryStateRebuildStatus;
+import com.example.inventoryeventsservice.dto.StockDrift;
+import com.example.inventoryeventsservice.replay.InventoryLogReplayer;
+import com.example.inventoryeventsservice.replay.InventoryStateSnapshot;
+import com.example.inventoryeventsservice.replay.LongLongHashMap;
+import com.example.inventoryeventsservice.service.InventoryStateRebuildService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Rebuilds per-product stock from the event log and diffs it against inventory-service, to detect
+ * drift between {@code inventory_items} and the events it published. Only installations that have
+ * events are compared; items created without an event are not discovered.
+ */
+@Slf4j
+@Service
+public class InventoryStateRebuildServiceImpl implements InventoryStateRebuildService {
+
+    private final InventoryLogReplayer replayer;
+    private final InventoryServiceClient inventoryServiceClient;
+    private final int maxReportedDrift;
+    private final Clock clock = Clock.systemUTC();
+
+    private final ExecutorService rebuildExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "inventory-state-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicLong eventsRead = new AtomicLong();
+    private volatile InventoryStateRebuildStatus lastReport;
+    private volatile InventoryStateSnapshot lastSnapshot = new InventoryStateSnapshot();
+    private volatile Instant startedAt;
+
+    public InventoryStateRebuildServiceImpl(
+            InventoryLogReplayer replayer,
+            InventoryServiceClient inventoryServiceClient,
+            @Value("${app.state-rebuild.max-reported-drift:1000}") int maxReportedDrift
+    ) {
+        this.replayer = replayer;
+        this.inventoryServiceClient = inventoryServiceClient;
+        this.maxReportedDrift = maxReportedDrift;
+    }
+
+    @Override
+    public InventoryStateRebuildStatus startRebuild(UUID installationId, boolean compare, String authorization) {
+        if (!running.compareAndSet(false, true)) {
+            return getStatus();
+        }
+        eventsRead.set(0);
+        startedAt = clock.instant();
+        lastReport = null;
+        rebuildExecutor.execute(() -> rebuild(installationId, compare, authorization));
+        return getStatus();
+    }
+
+    @Override
+    public InventoryStateRebuildStatus getStatus() {
+        InventoryStateRebuildStatus report = lastReport;
+        if (report != null) {
+            return report;
+        }
+        return new InventoryStateRebuildStatus(running.get(), startedAt, null, eventsRead.get(), 0, 0, 0, 0, 0,
+                0, 0, 0, 0, List.of(), null);
+    }
+
+    @Override
+    public Map<Long, Long> getRebuiltStock(UUID installationId) {
+        Map<Long, Long> stock = new TreeMap<>();
+        lastSnapshot.stockOf(installationId).forEach(stock::put);
+        return stock;
+    }
+
+    private void rebuild(UUID installationId, boolean compare, String authorization) {
+        List<MemoryPoolMXBean> heapPools = ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP && pool.isValid())
+                .toList();
+        heapPools.forEach(MemoryPoolMXBean::resetPeakUsage);
+
+        InventoryStateSnapshot snapshot = new InventoryStateSnapshot();
+        long replayNanos = 0;
+        int compared = 0;
+        DriftReport drift = new DriftReport(maxReportedDrift);
+        String error = null;
+        try {
+            long replayStart = System.nanoTime();
+            snapshot = replayer.replay(installationId, eventsRead::addAndGet);
+            replayNanos = System.nanoTime() - replayStart;
+            lastSnapshot = snapshot;
+            log.info("Folded {} events into {} products of {} installations in {} ms",
+                    eventsRead.get(), snapshot.productCount(), snapshot.installations().size(),
+                    TimeUnit.NANOSECONDS.toMillis(replayNanos));
+
+            if (compare) {
+                Set<UUID> installations = new HashSet<>(snapshot.installations());
+                if (installationId != null) {
+                    installations.add(installationId);
+                }
+                for (UUID installation : installations) {
+                    LongLongHashMap current = inventoryServiceClient.getStockByProduct(installation, authorization);
+                    drift.compare(installation, snapshot.stockOf(installation), current);
+                    compared++;
+                }
+                log.info("Compared {} installations with inventory-service: {} products drifted",
+                        compared, drift.count());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            error = "interrupted";
+        } catch (RuntimeException e) {
+            log.error("Inventory state rebuild failed", e);
+            error = e.getMessage();
+        } finally {
+            long peakHeap = heapPools.stream().mapToLong(pool -> pool.getPeakUsage().getUsed()).sum();
+            long eventsPerSecond = replayNanos > 0 ? eventsRead.get() * TimeUnit.SECONDS.toNanos(1) / replayNanos : 0;
+            lastReport = new InventoryStateRebuildStatus(false, startedAt, clock.instant(), eventsRead.get(),
+                    snapshot.applied(), snapshot.skipped(), TimeUnit.NANOSECONDS.toMillis(replayNanos),
+                    eventsPerSecond, peakHeap,
+                    snapshot.installations().size(), snapshot.productCount(), compared, drift.count(),
+                    drift.reported(), error);
+            running.set(false);
+        }
+    }
+
+    /** Collects mismatching products, keeping the first {@code limit} of them for the report. */
+    private static final class DriftReport {
+
+        private final int limit;
+        private final List<StockDrift> reported = new ArrayList<>();
+        private long count;
+
+        private DriftReport(int limit) {
+            this.limit = limit;
+        }
+
+        void compare(UUID installationId, LongLongHashMap replayed, LongLongHashMap current) {
+            replayed.forEach((productId, quantity) -> {
+                long currentQuantity = current.get(productId);
+                if (quantity != currentQuantity) {
+                    add(new StockDrift(installationId, productId, quantity, currentQuantity, quantity - currentQuantity));
+                }
+            });
+            current.forEach((productId, quantity) -> {
+                if (!replayed.containsKey(productId) && quantity != 0) {
+                    add(new StockDrift(installationId, productId, 0, quantity, -quantity));
+                }
+            });
+        }
+
+        private void add(StockDrift stockDrift) {
+            count++;
+            if (reported.size() < limit) {
+                reported.add(stockDrift);
+            }
+        }
+
+        long count() {
+            return count;
+        }
+
+        List<StockDrift> reported() {
+            return Collections.unmodifiableList(reported);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        rebuildExecutor.shutdownNow();
+    }
+}
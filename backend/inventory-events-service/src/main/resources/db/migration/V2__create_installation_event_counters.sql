@@ -0,0 +1,12 @@
+-- per-installation event totals, kept up to date in the ingest transaction
+CREATE TABLE installation_event_counters (
+    installation_id UUID NOT NULL,
+    event_type VARCHAR(100) NOT NULL,
+    event_count BIGINT NOT NULL,
+    PRIMARY KEY (installation_id, event_type)
+);
+
+INSERT INTO installation_event_counters (installation_id, event_type, event_count)
+SELECT installation_id, event_type, count(*)
+FROM inventory_event
+GROUP BY installation_id, event_type;
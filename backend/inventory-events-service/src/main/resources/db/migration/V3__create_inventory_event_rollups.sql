@@ -0,0 +1,29 @@
+-- per-installation, per-product quantities in UTC hour / day / month buckets, kept up to date in the ingest transaction
+CREATE TABLE inventory_event_rollups (
+    installation_id UUID NOT NULL,
+    granularity VARCHAR(10) NOT NULL,
+    bucket_start TIMESTAMP WITH TIME ZONE NOT NULL,
+    product_id BIGINT NOT NULL,
+    added_quantity BIGINT NOT NULL,
+    consumed_quantity BIGINT NOT NULL,
+    expired_quantity BIGINT NOT NULL,
+    event_count BIGINT NOT NULL,
+    PRIMARY KEY (installation_id, granularity, bucket_start, product_id)
+);
+
+CREATE INDEX idx_inventory_event_rollups_product
+    ON inventory_event_rollups (installation_id, product_id, granularity, bucket_start);
+
+INSERT INTO inventory_event_rollups (installation_id, granularity, bucket_start, product_id,
+                                     added_quantity, consumed_quantity, expired_quantity, event_count)
+SELECT installation_id, granularity.name,
+       date_trunc(granularity.unit, occurred_at AT TIME ZONE 'UTC') AT TIME ZONE 'UTC',
+       product_id,
+       coalesce(sum(quantity) FILTER (WHERE event_type = 'ITEM_ADDED'), 0),
+       coalesce(sum(quantity) FILTER (WHERE event_type = 'ITEM_DEPLETED'), 0),
+       coalesce(sum(quantity) FILTER (WHERE event_type = 'ITEM_EXPIRED_DISCARDED'), 0),
+       count(*)
+FROM inventory_event
+CROSS JOIN (VALUES ('HOUR', 'hour'), ('DAY', 'day'), ('MONTH', 'month')) AS granularity (name, unit)
+WHERE product_id IS NOT NULL
+GROUP BY 1, 2, 3, 4;
@@ -0,0 +1,58 @@
+-- Moves inventory_event to monthly range partitions on occurred_at (UTC months). Unique constraints on a
+-- partitioned table must contain the partition key, so event ids are unique per (event_id, occurred_at);
+-- a redelivered event carries the same occurred_at, so ON CONFLICT still drops it.
+-- Future partitions and retention are handled by InventoryEventPartitionMaintenance.
+ALTER TABLE inventory_event RENAME TO inventory_event_legacy;
+ALTER TABLE inventory_event_legacy RENAME CONSTRAINT uk_inventory_event_event_id TO uk_inventory_event_legacy_event_id;
+ALTER SEQUENCE inventory_event_id_seq OWNED BY NONE;
+
+CREATE TABLE inventory_event (
+    id BIGINT NOT NULL DEFAULT nextval('inventory_event_id_seq'),
+    event_id UUID NOT NULL,
+    event_type VARCHAR(100) NOT NULL,
+    reason VARCHAR(100),
+    installation_id UUID NOT NULL,
+    product_id BIGINT,
+    product_name VARCHAR(255),
+    quantity INTEGER,
+    occurred_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    source_service VARCHAR(100) NOT NULL,
+    details TEXT,
+    CONSTRAINT pk_inventory_event PRIMARY KEY (id, occurred_at),
+    CONSTRAINT uk_inventory_event_event_id UNIQUE (event_id, occurred_at)
+) PARTITION BY RANGE (occurred_at);
+
+ALTER SEQUENCE inventory_event_id_seq OWNED BY inventory_event.id;
+
+-- replaces the single-column installation_id / event_type / occurred_at indexes; history queries
+-- filter by installation and time, so each partition gets one composite index
+CREATE INDEX idx_inventory_event_installation_occurred_at ON inventory_event (installation_id, occurred_at);
+
+-- catches events outside the created months so ingest never fails on an unusual timestamp
+CREATE TABLE inventory_event_default PARTITION OF inventory_event DEFAULT;
+
+DO $$
+DECLARE
+    month_start TIMESTAMP;
+    last_month TIMESTAMP := date_trunc('month', now() AT TIME ZONE 'UTC') + INTERVAL '3 months';
+BEGIN
+    SELECT date_trunc('month', coalesce(min(occurred_at), now()) AT TIME ZONE 'UTC')
+    INTO month_start
+    FROM inventory_event_legacy;
+
+    WHILE month_start <= last_month LOOP
+        EXECUTE format('CREATE TABLE %I PARTITION OF inventory_event FOR VALUES FROM (%L) TO (%L)',
+                       to_char(month_start, '"inventory_event_p"YYYY"_"MM'),
+                       month_start AT TIME ZONE 'UTC',
+                       (month_start + INTERVAL '1 month') AT TIME ZONE 'UTC');
+        month_start := month_start + INTERVAL '1 month';
+    END LOOP;
+END $$;
+
+INSERT INTO inventory_event (id, event_id, event_type, reason, installation_id, product_id, product_name,
+                             quantity, occurred_at, source_service, details)
+SELECT id, event_id, event_type, reason, installation_id, product_id, product_name,
+       quantity, occurred_at, source_service, details
+FROM inventory_event_legacy;
+
+DROP TABLE inventory_event_legacy;
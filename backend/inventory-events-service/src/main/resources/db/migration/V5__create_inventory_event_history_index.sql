@@ -0,0 +1,7 @@
+-- Keyset index for the event history API: pages walk (occurred_at, id) backwards within one
+-- installation, and the included filter columns let the page be picked by an index-only scan, so
+-- only the rows actually returned are read from the heap. It supersedes the V4 composite index.
+CREATE INDEX idx_inventory_event_history
+    ON inventory_event (installation_id, occurred_at, id) INCLUDE (event_type, reason, product_id);
+
+DROP INDEX idx_inventory_event_installation_occurred_at;
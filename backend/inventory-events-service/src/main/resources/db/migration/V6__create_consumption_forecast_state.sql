@@ -0,0 +1,13 @@
+-- Snapshots of the in-memory consumption forecast (ConsumptionForecastEngine), one row per
+-- installation and product. decayed_consumption is the exponentially decayed sum of consumed
+-- quantities as of decayed_at; it is reloaded at startup instead of rescanning inventory_event.
+CREATE TABLE consumption_forecast_state (
+    installation_id UUID NOT NULL,
+    product_id BIGINT NOT NULL,
+    product_name VARCHAR(255),
+    on_hand BIGINT NOT NULL,
+    decayed_consumption DOUBLE PRECISION NOT NULL,
+    decayed_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    first_seen_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    PRIMARY KEY (installation_id, product_id)
+);
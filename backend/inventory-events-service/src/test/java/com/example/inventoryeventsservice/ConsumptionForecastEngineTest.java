@@ -0,0 +1,112 @@
+package com.example.inventoryeventsservice;
+
+import com.example.inventoryeventcontract.InventoryEventMessage;
+import com.example.inventoryeventcontract.InventoryEventType;
+import com.example.inventoryeventsservice.forecast.ConsumptionForecastEngine;
+import com.example.inventoryeventsservice.repository.ConsumptionForecastRepository;
+import com.example.inventoryeventsservice.service.InventoryEventService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Stores events through the ingest service, so the application's engine receives them from its
+ * after-commit listener as the consuming instance does. A second engine stands in for another
+ * instance, which only reads the snapshot.
+ */
+@EventsServiceTest
+class ConsumptionForecastEngineTest {
+
+    @Autowired
+    private InventoryEventService inventoryEventService;
+
+    @Autowired
+    private ConsumptionForecastEngine consuming;
+
+    @Autowired
+    private ConsumptionForecastRepository forecastRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private TestInstallation installation;
+
+    @BeforeEach
+    void setUp() {
+        installation = new TestInstallation(jdbcTemplate);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        consuming.evict(List.of(installation.id));
+        installation.cleanUp();
+    }
+
+    @Test
+    void firstEventBuildsAnInstallationWithoutSnapshotFromHistoryOnce() {
+        store(event(InventoryEventType.ITEM_ADDED, 5));
+        // the build ran after the ingest transaction and committed the history as the snapshot
+        assertEquals(5, snapshotOnHand());
+
+        store(event(InventoryEventType.ITEM_DEPLETED, 2));
+        assertEquals(3, consuming.getStates(installation.id).get(1L).onHand());
+        consuming.snapshot();
+        assertEquals(3, snapshotOnHand());
+    }
+
+    @Test
+    void otherInstancesReadTheSnapshot() {
+        ConsumptionForecastEngine other = new ConsumptionForecastEngine(forecastRepository, transactionManager,
+                Duration.ofDays(14), Duration.ofDays(3));
+        store(event(InventoryEventType.ITEM_ADDED, 5));
+        store(event(InventoryEventType.ITEM_DEPLETED, 2));
+        consuming.snapshot();
+        assertEquals(3, other.getStates(installation.id).get(1L).onHand());
+
+        store(event(InventoryEventType.ITEM_DEPLETED, 1));
+        consuming.snapshot();
+        assertEquals(2, other.getStates(installation.id).get(1L).onHand());
+        assertEquals(2, consuming.getStates(installation.id).get(1L).onHand());
+    }
+
+    @Test
+    void evictedInstallationIsWrittenAndReloadedFromTheSnapshot() {
+        store(event(InventoryEventType.ITEM_ADDED, 5));
+        store(event(InventoryEventType.ITEM_DEPLETED, 2));
+
+        consuming.evict(List.of(installation.id));
+        assertEquals(3, snapshotOnHand());
+
+        // another owner moved the snapshot on meanwhile
+        jdbcTemplate.update("update consumption_forecast_state set on_hand = 10 where installation_id = ?",
+                installation.id);
+        store(event(InventoryEventType.ITEM_DEPLETED, 1));
+
+        assertEquals(9, consuming.getStates(installation.id).get(1L).onHand());
+    }
+
+    private void store(InventoryEventMessage event) {
+        inventoryEventService.saveEvents(List.of(event));
+    }
+
+    private long snapshotOnHand() {
+        return jdbcTemplate.queryForObject(
+                "select on_hand from consumption_forecast_state where installation_id = ? and product_id = 1",
+                Long.class, installation.id);
+    }
+
+    private InventoryEventMessage event(InventoryEventType eventType, int quantity) {
+        return installation.event(eventType).productId(1L).productName("Milk").quantity(quantity).build();
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.inventoryeventsservice;
+
+import com.example.inventoryeventsservice.forecast.ConsumptionState;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConsumptionStateTest {
+
+    private static final double TAU_DAYS = 14 / Math.log(2);
+    private static final double MIN_WINDOW_DAYS = 3;
+
+    private final Instant now = Instant.parse("2026-06-01T12:00:00Z");
+
+    @Test
+    void steadyConsumptionGivesItsDailyRate() {
+        // two a day for three weeks: shorter than the decay window, so the young-history correction matters
+        ConsumptionState state = ConsumptionState.empty("Milk", now.minus(Duration.ofDays(21)))
+                .apply("Milk", 100, 0, now.minus(Duration.ofDays(21)), TAU_DAYS);
+        for (int day = 20; day >= 0; day--) {
+            state = state.apply("Milk", -2, 2, now.minus(Duration.ofDays(day)), TAU_DAYS);
+        }
+
+        assertEquals(58, state.onHand());
+        assertEquals(2.0, state.dailyRate(now, TAU_DAYS, MIN_WINDOW_DAYS), 0.15);
+    }
+
+    @Test
+    void recentConsumptionOutweighsOlderConsumption() {
+        ConsumptionState state = ConsumptionState.empty("Coffee", now.minus(Duration.ofDays(60)));
+        for (int day = 59; day >= 0; day--) {
+            int used = day < 7 ? 5 : 1;
+            state = state.apply("Coffee", -used, used, now.minus(Duration.ofDays(day)), TAU_DAYS);
+        }
+
+        double rate = state.dailyRate(now, TAU_DAYS, MIN_WINDOW_DAYS);
+        double plainAverage = (53 + 7 * 5) / 60.0;
+        assertTrue(rate > plainAverage && rate < 5, "rate " + rate);
+    }
+
+    @Test
+    void arrivalOrderDoesNotChangeTheResult() {
+        Random random = new Random(7);
+        List<Instant> times = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            times.add(now.minus(Duration.ofHours(random.nextInt(24 * 40))));
+        }
+        Instant first = Collections.min(times);
+        ConsumptionState inOrder = replay(times.stream().sorted().toList(), first);
+        Collections.shuffle(times, random);
+        ConsumptionState shuffled = replay(times, first);
+
+        assertEquals(inOrder.onHand(), shuffled.onHand());
+        assertEquals(inOrder.dailyRate(now, TAU_DAYS, MIN_WINDOW_DAYS), shuffled.dailyRate(now, TAU_DAYS, MIN_WINDOW_DAYS), 1e-9);
+    }
+
+    @Test
+    void nothingConsumedMeansNoRate() {
+        ConsumptionState state = ConsumptionState.empty("Rice", now.minus(Duration.ofDays(1)))
+                .apply("Rice", 5, 0, now.minus(Duration.ofDays(1)), TAU_DAYS);
+
+        assertEquals(0.0, state.dailyRate(now, TAU_DAYS, MIN_WINDOW_DAYS));
+    }
+
+    private ConsumptionState replay(List<Instant> depletions, Instant first) {
+        ConsumptionState state = ConsumptionState.empty("Bread", first);
+        for (Instant at : depletions) {
+            state = state.apply("Bread", -1, 1, at, TAU_DAYS);
+        }
+        return state;
+    }
+}
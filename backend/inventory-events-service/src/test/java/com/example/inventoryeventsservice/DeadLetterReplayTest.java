@@ -0,0 +1,131 @@
+package com.example.inventoryeventsservice;
+
+import com.example.inventoryeventcontract.InventoryEventMessage;
+import com.example.inventoryeventcontract.InventoryEventType;
+import com.example.inventoryeventsservice.dto.DeadLetterReplayStatus;
+import com.example.inventoryeventsservice.service.InventoryEventService;
+import com.example.inventoryeventsservice.service.impl.DeadLetterReplayServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.core.ConsumerFactory;
+
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DeadLetterReplayTest {
+
+    private static final String DLT = "inventory.events-failed-dlt";
+
+    // left open by the replay, so a test can still read the committed offsets
+    private final MockConsumer<Object, Object> consumer = new MockConsumer<>("earliest") {
+        @Override
+        public void close() {
+        }
+    };
+    private final Set<UUID> storedIds = new HashSet<>();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void replaysEveryRecordAndSkipsInvalidOnes() {
+        TopicPartition partition = new TopicPartition(DLT, 0);
+        consumer.updatePartitions(DLT, List.of(new PartitionInfo(DLT, 0, null, null, null)));
+        consumer.updateBeginningOffsets(Map.of(partition, 0L));
+        consumer.updateEndOffsets(Map.of(partition, 100L));
+        UUID repeated = UUID.randomUUID();
+        consumer.schedulePollTask(() -> {
+            for (int offset = 0; offset < 100; offset++) {
+                Object value = offset == 50 ? null : event(offset % 10 == 0 ? repeated : UUID.randomUUID());
+                consumer.addRecord(new ConsumerRecord<>(DLT, 0, offset, null, value));
+            }
+        });
+        DeadLetterReplayServiceImpl replayService = new DeadLetterReplayServiceImpl(
+                consumerFactory(), inventoryEventService(), meterRegistry, "inventory.events-failed", "inventory-events-group", 500, 10_000);
+
+        assertTrue(replayService.startReplay(null, null, null).running());
+        await().until(() -> !replayService.getStatus().running());
+
+        DeadLetterReplayStatus status = replayService.getStatus();
+        assertNull(status.lastError());
+        // every tenth record carries the same id; offset 50 is empty instead, leaving 9 copies of it
+        assertEquals(new DeadLetterReplayStatus(false, status.startedAt(), status.finishedAt(), 91, 8, 1, 0, null), status);
+        assertEquals(91, meterRegistry.get("inventory.events.dlt.replay.records").tag("outcome", "stored").counter().count());
+    }
+
+    @Test
+    void stopsExactlyAtTheRequestedNumberOfRecords() {
+        TopicPartition partition = new TopicPartition(DLT, 0);
+        consumer.updatePartitions(DLT, List.of(new PartitionInfo(DLT, 0, null, null, null)));
+        consumer.updateBeginningOffsets(Map.of(partition, 0L));
+        consumer.updateEndOffsets(Map.of(partition, 100L));
+        consumer.schedulePollTask(() -> {
+            for (int offset = 0; offset < 100; offset++) {
+                consumer.addRecord(new ConsumerRecord<>(DLT, 0, offset, null, event(UUID.randomUUID())));
+            }
+        });
+        DeadLetterReplayServiceImpl replayService = new DeadLetterReplayServiceImpl(
+                consumerFactory(), inventoryEventService(), meterRegistry, "inventory.events-failed", "inventory-events-group", 500, 10_000);
+
+        // one poll returns all 100 records, past the cap
+        replayService.startReplay(null, null, 30L);
+        await().until(() -> !replayService.getStatus().running());
+
+        DeadLetterReplayStatus status = replayService.getStatus();
+        assertEquals(30, status.stored());
+        assertEquals(70, status.remaining());
+        assertEquals(30, consumer.committed(Set.of(partition)).get(partition).offset());
+    }
+
+    private ConsumerFactory<Object, Object> consumerFactory() {
+        return new ConsumerFactory<>() {
+            @Override
+            public Consumer<Object, Object> createConsumer(String groupId, String clientIdPrefix, String clientIdSuffix,
+                                                           Properties properties) {
+                return consumer;
+            }
+
+            @Override
+            public boolean isAutoCommit() {
+                return false;
+            }
+        };
+    }
+
+    private InventoryEventService inventoryEventService() {
+        return new InventoryEventService() {
+            @Override
+            public int saveEvents(List<InventoryEventMessage> messages) {
+                return (int) messages.stream().filter(message -> storedIds.add(message.getEventId())).count();
+            }
+
+            @Override
+            public int bulkLoadEvents(List<InventoryEventMessage> messages) {
+                return saveEvents(messages);
+            }
+        };
+    }
+
+    private InventoryEventMessage event(UUID eventId) {
+        return InventoryEventMessage.builder()
+                .eventId(eventId)
+                .eventType(InventoryEventType.ITEM_ADDED)
+                .installationId(UUID.randomUUID())
+                .occurredAt(Instant.now())
+                .sourceService("inventory-service")
+                .build();
+    }
+}
@@ -0,0 +1,185 @@
+package com.example.inventoryeventsservice;
+
+import com.example.inventoryeventcontract.InventoryEventMessage;
+import com.example.inventoryeventcontract.InventoryEventType;
+import com.example.inventoryeventsservice.dedupe.RecentEventIdFilter;
+import com.example.inventoryeventsservice.repository.InstallationEventCounterRepository;
+import com.example.inventoryeventsservice.repository.InventoryEventBatchRepository;
+import com.example.inventoryeventsservice.repository.InventoryEventCopyRepository;
+import com.example.inventoryeventsservice.repository.InventoryEventRollupRepository;
+import com.example.inventoryeventsservice.service.InventoryEventService;
+import com.example.inventoryeventsservice.service.impl.InventoryEventServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.BiFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Counts the rows and statements the batch and COPY paths send to the database with and without
+ * the recent event id filter, on a stream where every poll is redelivered once (as after a
+ * rebalance) and one event in ten is also retried within its poll.
+ */
+@Slf4j
+@EventsServiceTest
+class EventDedupeDatabaseCallsTest {
+
+    private static final int POLLS = 20;
+    private static final int POLL_SIZE = 250;
+
+    @Autowired
+    private InstallationEventCounterRepository counterRepository;
+
+    @Autowired
+    private InventoryEventRollupRepository rollupRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private TestInstallation installation;
+    private CountingBatchRepository batchRepository;
+    private CountingCopyRepository copyRepository;
+
+    @BeforeEach
+    void setUp() {
+        installation = new TestInstallation(jdbcTemplate);
+        batchRepository = new CountingBatchRepository(jdbcTemplate);
+        copyRepository = new CountingCopyRepository(jdbcTemplate);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        installation.cleanUp();
+    }
+
+    @Test
+    void filterKeepsRedeliveredPollsAwayFromTheBatchInsert() {
+        Sent unfiltered = ingest(0, InventoryEventService::saveEvents, batchRepository.sent);
+        Sent filtered = ingest(10_000, InventoryEventService::saveEvents, batchRepository.sent);
+
+        // both store every event once; only the first delivery of each poll reaches the database with the filter
+        assertEquals(POLLS * POLL_SIZE, unfiltered.stored());
+        assertEquals(POLLS * POLL_SIZE, filtered.stored());
+        assertEquals(2 * POLLS, unfiltered.statements());
+        assertEquals(2 * POLLS * POLL_SIZE, unfiltered.rows());
+        assertEquals(POLLS, filtered.statements());
+        assertEquals(POLLS * POLL_SIZE, filtered.rows());
+        log.info("Batch path, {} polls of {} each redelivered once: {} statements / {} rows without the filter, "
+                        + "{} / {} with it", POLLS, POLL_SIZE, unfiltered.statements(), unfiltered.rows(),
+                filtered.statements(), filtered.rows());
+    }
+
+    @Test
+    void filterKeepsRedeliveredPollsAwayFromTheCopyLoad() {
+        Sent unfiltered = ingest(0, InventoryEventService::bulkLoadEvents, copyRepository.sent);
+        Sent filtered = ingest(10_000, InventoryEventService::bulkLoadEvents, copyRepository.sent);
+
+        assertEquals(POLLS * POLL_SIZE, unfiltered.stored());
+        assertEquals(POLLS * POLL_SIZE, filtered.stored());
+        // COPY gets in-poll retries too and leaves them to the merge statement
+        assertEquals(2 * POLLS, unfiltered.statements());
+        assertEquals(2 * POLLS * (POLL_SIZE + POLL_SIZE / 10), unfiltered.rows());
+        assertEquals(POLLS, filtered.statements());
+        assertEquals(POLLS * (POLL_SIZE + POLL_SIZE / 10), filtered.rows());
+        log.info("COPY path, {} polls of {} each redelivered once: {} loads / {} rows without the filter, "
+                        + "{} / {} with it", POLLS, POLL_SIZE, unfiltered.statements(), unfiltered.rows(),
+                filtered.statements(), filtered.rows());
+    }
+
+    /**
+     * Feeds the stream through a service whose filter remembers {@code recentCapacity} ids (0
+     * disables it) and reports what the given repository was sent.
+     */
+    private Sent ingest(int recentCapacity, BiFunction<InventoryEventService, List<InventoryEventMessage>, Integer> path,
+                        Totals sent) {
+        InventoryEventService service = new InventoryEventServiceImpl(batchRepository, copyRepository, counterRepository,
+                rollupRepository, new RecentEventIdFilter(new SimpleMeterRegistry(), recentCapacity),
+                eventPublisher);
+        sent.reset();
+        int stored = 0;
+        for (int poll = 0; poll < POLLS; poll++) {
+            List<InventoryEventMessage> events = poll();
+            for (int delivery = 0; delivery < 2; delivery++) {
+                stored += transactionTemplate.execute(status -> path.apply(service, events));
+            }
+        }
+        return new Sent(sent.statements, sent.rows, stored);
+    }
+
+    private List<InventoryEventMessage> poll() {
+        List<InventoryEventMessage> events = new ArrayList<>(POLL_SIZE + POLL_SIZE / 10);
+        for (int i = 0; i < POLL_SIZE; i++) {
+            events.add(installation.event(InventoryEventType.ITEM_ADDED).productId((long) (i % 20)).quantity(1).build());
+            // a producer retry lands shortly after the original
+            if (i % 10 == 9) {
+                events.add(events.get(events.size() - 3));
+            }
+        }
+        return events;
+    }
+
+    private record Sent(long statements, long rows, int stored) {}
+
+    /** Mutable totals for one repository. */
+    private static final class Totals {
+        long statements;
+        long rows;
+
+        void add(int rowCount) {
+            statements++;
+            rows += rowCount;
+        }
+
+        void reset() {
+            statements = 0;
+            rows = 0;
+        }
+    }
+
+    private static final class CountingBatchRepository extends InventoryEventBatchRepository {
+
+        final Totals sent = new Totals();
+
+        CountingBatchRepository(JdbcTemplate jdbcTemplate) {
+            super(jdbcTemplate);
+        }
+
+        @Override
+        public List<UUID> insertAllIgnoringDuplicates(List<InventoryEventMessage> messages) {
+            sent.add(messages.size());
+            return super.insertAllIgnoringDuplicates(messages);
+        }
+    }
+
+    private static final class CountingCopyRepository extends InventoryEventCopyRepository {
+
+        final Totals sent = new Totals();
+
+        CountingCopyRepository(JdbcTemplate jdbcTemplate) {
+            super(jdbcTemplate);
+        }
+
+        @Override
+        public List<UUID> copyAllIgnoringDuplicates(List<InventoryEventMessage> messages) {
+            sent.add(messages.size());
+            return super.copyAllIgnoringDuplicates(messages);
+        }
+    }
+}
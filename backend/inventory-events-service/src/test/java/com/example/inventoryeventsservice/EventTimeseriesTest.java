@@ -0,0 +1,98 @@
+package com.example.inventoryeventsservice;
+
+import com.example.inventoryeventcontract.InventoryEventMessage;
+import com.example.inventoryeventcontract.InventoryEventType;
+import com.example.inventoryeventsservice.controller.InventoryEventStatsController;
+import com.example.inventoryeventsservice.dto.EventTimeseriesPoint;
+import com.example.inventoryeventsservice.dto.EventTimeseriesResponse;
+import com.example.inventoryeventsservice.enums.TimeseriesGranularity;
+import com.example.inventoryeventsservice.service.InventoryEventService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@EventsServiceTest
+class EventTimeseriesTest {
+
+    private static final long MILK = 7L;
+    private static final Instant MONDAY = Instant.parse("2026-03-02T00:00:00Z");
+
+    @Autowired
+    private InventoryEventService inventoryEventService;
+
+    @Autowired
+    private InventoryEventStatsController statsController;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private TestInstallation installation;
+
+    @BeforeEach
+    void setUp() {
+        installation = new TestInstallation(jdbcTemplate);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        installation.cleanUp();
+    }
+
+    @Test
+    void weeklyConsumptionIsSummedFromDailyRollups() {
+        List<InventoryEventMessage> events = new ArrayList<>();
+        for (int day = 0; day < 14; day++) {
+            Instant morning = MONDAY.plus(Duration.ofDays(day)).plus(Duration.ofHours(8));
+            events.add(event(InventoryEventType.ITEM_DEPLETED, MILK, 1, morning));
+            events.add(event(InventoryEventType.ITEM_DEPLETED, 8L, 5, morning));
+        }
+        events.add(event(InventoryEventType.ITEM_ADDED, MILK, 6, MONDAY.plus(Duration.ofHours(9))));
+        events.add(event(InventoryEventType.ITEM_EXPIRED_DISCARDED, MILK, 2, MONDAY.plus(Duration.ofDays(9))));
+        inventoryEventService.saveEvents(events.subList(0, 20));
+        inventoryEventService.bulkLoadEvents(events.subList(20, events.size()));
+
+        EventTimeseriesResponse weekly = statsController.getTimeseries(
+                installation.id, TimeseriesGranularity.WEEK, MILK, MONDAY, MONDAY.plus(Duration.ofDays(14)));
+
+        assertEquals(List.of(
+                new EventTimeseriesPoint(MONDAY, 6, 7, 0, 8),
+                new EventTimeseriesPoint(MONDAY.plus(Duration.ofDays(7)), 0, 7, 2, 8)
+        ), weekly.points());
+    }
+
+    @Test
+    void everyGranularityAgreesOnTotals() {
+        List<InventoryEventMessage> events = new ArrayList<>();
+        for (int hour = 0; hour < 24 * 40; hour += 7) {
+            events.add(event(InventoryEventType.ITEM_ADDED, MILK, 2, MONDAY.plus(Duration.ofHours(hour))));
+            events.add(event(InventoryEventType.ITEM_DEPLETED, 9L, 1, MONDAY.plus(Duration.ofHours(hour))));
+        }
+        inventoryEventService.saveEvents(events);
+
+        Instant from = MONDAY;
+        Instant to = MONDAY.plus(Duration.ofDays(30));
+        long expectedAdded = events.stream()
+                .filter(e -> e.getEventType() == InventoryEventType.ITEM_ADDED && e.getOccurredAt().isBefore(to))
+                .mapToLong(InventoryEventMessage::getQuantity)
+                .sum();
+        for (TimeseriesGranularity granularity : List.of(TimeseriesGranularity.HOUR, TimeseriesGranularity.DAY)) {
+            long added = statsController.getTimeseries(installation.id, granularity, null, from, to).points().stream()
+                    .mapToLong(EventTimeseriesPoint::addedQuantity)
+                    .sum();
+            assertEquals(expectedAdded, added, granularity.name());
+        }
+    }
+
+    private InventoryEventMessage event(InventoryEventType eventType, long productId, int quantity, Instant occurredAt) {
+        return installation.event(eventType).productId(productId).quantity(quantity).occurredAt(occurredAt).build();
+    }
+}
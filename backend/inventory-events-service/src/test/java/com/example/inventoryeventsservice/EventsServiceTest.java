@@ -0,0 +1,18 @@
+package com.example.inventoryeventsservice;
+
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * The full application without Kafka listeners, for tests that call the services directly. Every
+ * such test shares one cached context.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@SpringBootTest(properties = "spring.kafka.listener.auto-startup=false")
+@interface EventsServiceTest {
+}
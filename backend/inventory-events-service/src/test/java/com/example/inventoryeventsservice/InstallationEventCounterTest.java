@@ -0,0 +1,84 @@
+package com.example.inventoryeventsservice;
+
+import com.example.inventoryeventcontract.InventoryEventMessage;
+import com.example.inventoryeventcontract.InventoryEventType;
+import com.example.inventoryeventsservice.controller.InventoryEventStatsController;
+import com.example.inventoryeventsservice.controller.InventoryEventStatsController.EventSummaryResponse;
+import com.example.inventoryeventsservice.repository.InventoryEventRepository;
+import com.example.inventoryeventsservice.service.InventoryEventService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@EventsServiceTest
+class InstallationEventCounterTest {
+
+    @Autowired
+    private InventoryEventService inventoryEventService;
+
+    @Autowired
+    private InventoryEventStatsController statsController;
+
+    @Autowired
+    private InventoryEventRepository repository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private TestInstallation installation;
+
+    @BeforeEach
+    void setUp() {
+        installation = new TestInstallation(jdbcTemplate);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        installation.cleanUp();
+    }
+
+    @Test
+    void everyIngestPathKeepsCountersInStepWithEvents() {
+        List<InventoryEventMessage> batch = installation.events(30, InventoryEventType.ITEM_ADDED);
+        batch.addAll(installation.events(10, InventoryEventType.ITEM_DELETED));
+        inventoryEventService.saveEvents(batch);
+        inventoryEventService.saveEvents(batch.subList(0, 5)); // redelivery adds nothing
+
+        List<InventoryEventMessage> bulk = installation.events(20, InventoryEventType.ITEM_DEPLETED);
+        bulk.add(bulk.get(0));
+        inventoryEventService.bulkLoadEvents(bulk);
+
+        // polls of a single record, as when the topic is quiet
+        installation.events(3, InventoryEventType.ITEM_EXPIRED_DISCARDED)
+                .forEach(event -> inventoryEventService.saveEvents(List.of(event)));
+
+        assertEquals(countedFromEvents(), statsController.getSummary(installation.id));
+        assertEquals(new EventSummaryResponse(30, 10, 20, 3), statsController.getSummary(installation.id));
+    }
+
+    @Test
+    void rebuildRestoresCountersFromEvents() {
+        inventoryEventService.saveEvents(installation.events(12, InventoryEventType.ITEM_ADDED));
+        jdbcTemplate.update("update installation_event_counters set event_count = 999 where installation_id = ?", installation.id);
+
+        statsController.rebuildCounters(installation.id);
+
+        assertEquals(countedFromEvents(), statsController.getSummary(installation.id));
+    }
+
+    /** The previous summary: one count over the installation's history per type. */
+    private EventSummaryResponse countedFromEvents() {
+        return new EventSummaryResponse(
+                repository.countByInstallationIdAndEventType(installation.id, InventoryEventType.ITEM_ADDED),
+                repository.countByInstallationIdAndEventType(installation.id, InventoryEventType.ITEM_DELETED),
+                repository.countByInstallationIdAndEventType(installation.id, InventoryEventType.ITEM_DEPLETED),
+                repository.countByInstallationIdAndEventType(installation.id, InventoryEventType.ITEM_EXPIRED_DISCARDED)
+        );
+    }
+}
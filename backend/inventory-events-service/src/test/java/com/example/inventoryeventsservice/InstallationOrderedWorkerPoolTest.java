@@ -0,0 +1,85 @@
+package com.example.inventoryeventsservice;
+
+import com.example.inventoryeventcontract.InventoryEventMessage;
+import com.example.inventoryeventcontract.InventoryEventType;
+import com.example.inventoryeventsservice.listener.InstallationOrderedWorkerPool;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InstallationOrderedWorkerPoolTest {
+
+    private final InstallationOrderedWorkerPool workerPool = new InstallationOrderedWorkerPool(4);
+
+    @Test
+    void keepsEveryInstallationInOrderWhileSpreadingThemOverThreads() {
+        List<UUID> installations = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            installations.add(UUID.randomUUID());
+        }
+        List<InventoryEventMessage> poll = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            poll.add(event(installations.get(i % installations.size()), i));
+        }
+
+        Map<UUID, List<Integer>> stored = new ConcurrentHashMap<>();
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        workerPool.storeInOrder(poll, lane -> {
+            threads.add(Thread.currentThread().getName());
+            lane.forEach(message -> stored.computeIfAbsent(message.getInstallationId(), id -> new ArrayList<>())
+                    .add(message.getQuantity()));
+        });
+
+        Map<UUID, List<Integer>> expected = poll.stream().collect(Collectors.groupingBy(
+                InventoryEventMessage::getInstallationId, Collectors.mapping(InventoryEventMessage::getQuantity, Collectors.toList())));
+        assertEquals(expected, stored);
+        assertTrue(threads.size() > 1, "expected several worker threads but saw " + threads);
+    }
+
+    @Test
+    void rethrowsALaneFailureOnlyAfterEveryLaneFinished() {
+        List<InventoryEventMessage> poll = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            poll.add(event(UUID.randomUUID(), i));
+        }
+        IllegalStateException failure = new IllegalStateException("lane failed");
+        AtomicInteger finishedLanes = new AtomicInteger();
+        AtomicInteger lanes = new AtomicInteger();
+
+        IllegalStateException thrown = assertThrows(IllegalStateException.class, () ->
+                workerPool.storeInOrder(poll, lane -> {
+                    if (lanes.incrementAndGet() == 1) {
+                        throw failure;
+                    }
+                    sleep();
+                    finishedLanes.incrementAndGet();
+                }));
+
+        assertSame(failure, thrown);
+        assertEquals(lanes.get() - 1, finishedLanes.get());
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(50);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private InventoryEventMessage event(UUID installationId, int sequence) {
+        return TestInstallation.event(installationId, InventoryEventType.ITEM_ADDED).quantity(sequence).build();
+    }
+}
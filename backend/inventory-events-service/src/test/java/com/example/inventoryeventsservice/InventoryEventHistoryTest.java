@@ -0,0 +1,98 @@
+package com.example.inventoryeventsservice;
+
+import com.example.inventoryeventcontract.InventoryEventMessage;
+import com.example.inventoryeventcontract.InventoryEventType;
+import com.example.inventoryeventsservice.dto.InventoryEventPageResponse;
+import com.example.inventoryeventsservice.dto.InventoryEventResponse;
+import com.example.inventoryeventsservice.service.InventoryEventHistoryService;
+import com.example.inventoryeventsservice.service.InventoryEventService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@EventsServiceTest
+class InventoryEventHistoryTest {
+
+    @Autowired
+    private InventoryEventService inventoryEventService;
+
+    @Autowired
+    private InventoryEventHistoryService historyService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private TestInstallation installation;
+
+    @BeforeEach
+    void setUp() {
+        installation = new TestInstallation(jdbcTemplate);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        installation.cleanUp();
+    }
+
+    @Test
+    void pagesWalkTheWholeHistoryNewestFirstWithoutGapsOrRepeats() {
+        // three events per second, so pages regularly end in the middle of a tied timestamp
+        Instant start = Instant.now().truncatedTo(ChronoUnit.SECONDS).minusSeconds(100);
+        List<InventoryEventMessage> events = new ArrayList<>();
+        for (int i = 0; i < 250; i++) {
+            events.add(event(i % 2 == 0 ? InventoryEventType.ITEM_ADDED : InventoryEventType.ITEM_DEPLETED,
+                    start.plusSeconds(i / 3)));
+        }
+        inventoryEventService.saveEvents(events);
+
+        List<InventoryEventResponse> all = readAll(null);
+        assertEquals(250, all.size());
+        assertEquals(250, all.stream().map(InventoryEventResponse::eventId).distinct().count());
+        for (int i = 1; i < all.size(); i++) {
+            InventoryEventResponse newer = all.get(i - 1);
+            InventoryEventResponse older = all.get(i);
+            assertTrue(older.occurredAt().isBefore(newer.occurredAt())
+                    || older.occurredAt().equals(newer.occurredAt()) && older.id() < newer.id());
+        }
+
+        List<InventoryEventResponse> added = readAll(InventoryEventType.ITEM_ADDED);
+        assertEquals(125, added.size());
+        assertTrue(added.stream().allMatch(event -> event.eventType() == InventoryEventType.ITEM_ADDED));
+    }
+
+    @Test
+    void emptyHistoryHasNoCursor() {
+        InventoryEventPageResponse page = historyService.getHistory(installation.id, null, null, 100, null, null, null);
+
+        assertTrue(page.events().isEmpty());
+        assertNull(page.nextCursor());
+    }
+
+    private List<InventoryEventResponse> readAll(InventoryEventType eventType) {
+        List<InventoryEventResponse> all = new ArrayList<>();
+        InventoryEventPageResponse.Cursor cursor = null;
+        do {
+            InventoryEventPageResponse page = historyService.getHistory(installation.id,
+                    cursor != null ? cursor.beforeOccurredAt() : null, cursor != null ? cursor.beforeId() : null,
+                    40, eventType, null, null);
+            all.addAll(page.events());
+            cursor = page.nextCursor();
+        } while (cursor != null);
+        return all;
+    }
+
+    private InventoryEventMessage event(InventoryEventType eventType, Instant occurredAt) {
+        return installation.event(eventType).productId(1L).quantity(1).occurredAt(occurredAt).build();
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.inventoryeventsservice;
+
+import com.example.inventoryeventcontract.InventoryEventMessage;
+import com.example.inventoryeventcontract.InventoryEventType;
+import com.example.inventoryeventsservice.repository.InventoryEventRepository;
+import com.example.inventoryeventsservice.service.InventoryEventService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares the batch insert and COPY ingest paths against storing every event in its own
+ * transaction (a poll of one record) and reports events/sec for each.
+ */
+@Slf4j
+@EventsServiceTest
+class InventoryEventIngestBenchmarkTest {
+
+    private static final int EVENTS = 5_000;
+    private static final int POLL_SIZE = 500;
+
+    @Autowired
+    private InventoryEventService inventoryEventService;
+
+    @Autowired
+    private InventoryEventRepository repository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private TestInstallation installation;
+
+    @BeforeEach
+    void setUp() {
+        installation = new TestInstallation(jdbcTemplate);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        installation.cleanUp();
+    }
+
+    @Test
+    void batchIngestStoresEachEventOnce() {
+        List<InventoryEventMessage> events = events(POLL_SIZE);
+        List<InventoryEventMessage> poll = new ArrayList<>(events);
+        poll.addAll(events.subList(0, 50)); // producer retries inside the same poll
+
+        assertEquals(POLL_SIZE, inventoryEventService.saveEvents(poll));
+        assertEquals(0, inventoryEventService.saveEvents(events.subList(0, 100))); // redelivered poll
+        assertEquals(POLL_SIZE, repository.countByInstallationIdAndEventType(installation.id, InventoryEventType.ITEM_ADDED));
+    }
+
+    @Test
+    void bulkLoadStoresEachEventOnce() {
+        List<InventoryEventMessage> events = events(POLL_SIZE);
+        events.add(installation.event(InventoryEventType.ITEM_ADDED)
+                .productName("Quoted \"name\", with comma\nand newline")
+                .build());
+        List<InventoryEventMessage> poll = new ArrayList<>(events);
+        poll.addAll(events.subList(0, 50));
+
+        assertEquals(POLL_SIZE + 1, inventoryEventService.bulkLoadEvents(poll));
+        assertEquals(0, inventoryEventService.bulkLoadEvents(events.subList(0, 100)));
+        assertEquals(POLL_SIZE + 1, repository.countByInstallationIdAndEventType(installation.id, InventoryEventType.ITEM_ADDED));
+        assertEquals(events.get(POLL_SIZE).getProductName(), jdbcTemplate.queryForObject(
+                "select product_name from inventory_event where event_id = ?", String.class, events.get(POLL_SIZE).getEventId()));
+    }
+
+    @Test
+    void batchIngestOutpacesPerEventPath() {
+        List<InventoryEventMessage> perEvent = events(EVENTS);
+        long start = System.nanoTime();
+        perEvent.forEach(event -> inventoryEventService.saveEvents(List.of(event)));
+        long perEventNanos = System.nanoTime() - start;
+
+        List<InventoryEventMessage> batched = events(EVENTS);
+        start = System.nanoTime();
+        for (int from = 0; from < EVENTS; from += POLL_SIZE) {
+            inventoryEventService.saveEvents(batched.subList(from, Math.min(from + POLL_SIZE, EVENTS)));
+        }
+        long batchNanos = System.nanoTime() - start;
+
+        // a replay gets full polls, so the COPY path is measured with one large load
+        List<InventoryEventMessage> bulk = events(EVENTS);
+        start = System.nanoTime();
+        inventoryEventService.bulkLoadEvents(bulk);
+        long bulkNanos = System.nanoTime() - start;
+
+        assertEquals(3L * EVENTS, repository.countByInstallationIdAndEventType(installation.id, InventoryEventType.ITEM_ADDED));
+        log.info("Ingest of {} events: per-event path {} events/s, batch path ({} per poll) {} events/s, COPY path {} events/s",
+                EVENTS, eventsPerSecond(perEventNanos), POLL_SIZE, eventsPerSecond(batchNanos), eventsPerSecond(bulkNanos));
+    }
+
+    private long eventsPerSecond(long nanos) {
+        return EVENTS * 1_000_000_000L / nanos;
+    }
+
+    private List<InventoryEventMessage> events(int count) {
+        List<InventoryEventMessage> events = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            events.add(installation.event(InventoryEventType.ITEM_ADDED)
+                    .productId((long) (i % 200))
+                    .productName("Product " + (i % 200))
+                    .quantity(1)
+                    .build());
+        }
+        return events;
+    }
+}
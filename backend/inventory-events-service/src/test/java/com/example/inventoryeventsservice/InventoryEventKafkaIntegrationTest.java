@@ -1,18 +1,25 @@
 package com.example.inventoryeventsservice;
 
-import com.example.inventoryeventsservice.dto.InventoryEventMessage;
+import com.example.inventoryeventcontract.InventoryEventMessage;
+import com.example.inventoryeventcontract.InventoryEventSerializer;
+import com.example.inventoryeventcontract.InventoryEventType;
 import com.example.inventoryeventsservice.entity.InventoryEventEntity;
-import com.example.inventoryeventsservice.enums.InventoryEventType;
 import com.example.inventoryeventsservice.repository.InventoryEventRepository;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringSerializer;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
 import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.TestPropertySource;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
@@ -40,6 +47,9 @@ public class InventoryEventKafkaIntegrationTest {
     @Autowired
     private InventoryEventRepository repository;
 
+    @Autowired
+    private EmbeddedKafkaBroker embeddedKafka;
+
     @Test
     void testReceiveAndSaveEventFromKafka() {
         //1. Data preparation (edge case: adding item event)
@@ -131,4 +141,34 @@ public class InventoryEventKafkaIntegrationTest {
 
         try { Thread.sleep(10000); } catch (InterruptedException e) {}
     }
-}
\ No newline at end of file
+
+    @Test
+    void testUndecodableMessage_ShouldNotBlockTheNextEvent() {
+        // 1. Bytes that are neither the binary format nor JSON, sent past the event serializer
+        KafkaTemplate<String, byte[]> bytesTemplate = new KafkaTemplate<>(new DefaultKafkaProducerFactory<>(
+                KafkaTestUtils.producerProps(embeddedKafka), new StringSerializer(), new ByteArraySerializer()));
+        UUID installationId = UUID.randomUUID();
+        bytesTemplate.send("inventory.events", installationId.toString(),
+                "not an inventory event".getBytes(StandardCharsets.UTF_8));
+
+        // 2. A valid event right behind it on the same partition, encoded as inventory-service sends it
+        UUID eventId = UUID.randomUUID();
+        InventoryEventMessage message = InventoryEventMessage.builder()
+                .eventId(eventId)
+                .eventType(InventoryEventType.ITEM_ADDED)
+                .installationId(installationId)
+                .productId(102L)
+                .productName("After Poison Pill")
+                .quantity(1)
+                .occurredAt(Instant.now())
+                .sourceService("inventory-service")
+                .build();
+        bytesTemplate.send("inventory.events", installationId.toString(),
+                new InventoryEventSerializer().serialize("inventory.events", message));
+        bytesTemplate.destroy();
+
+        // 3. The undecodable record goes to the DLT without retries and the valid one is stored
+        await().atMost(10, TimeUnit.SECONDS).untilAsserted(() ->
+                assertTrue(repository.existsByEventId(eventId), "event after the undecodable one supposed to be saved"));
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.inventoryeventsservice;
+
+import com.example.inventoryeventcontract.InventoryEventMessage;
+import com.example.inventoryeventcontract.InventoryEventType;
+import com.example.inventoryeventsservice.enums.PartitionRetentionAction;
+import com.example.inventoryeventsservice.maintenance.InventoryEventPartitionMaintenance;
+import com.example.inventoryeventsservice.repository.InventoryEventBatchRepository;
+import com.example.inventoryeventsservice.repository.InventoryEventPartitionRepository;
+import com.example.inventoryeventsservice.repository.InventoryEventPartitionRepository.MonthPartition;
+import com.example.inventoryeventsservice.service.InventoryEventService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@EventsServiceTest
+class InventoryEventPartitionTest {
+
+    // far enough back that no other test has events in this month
+    private static final YearMonth OLD_MONTH = YearMonth.of(2001, 1);
+
+    @Autowired
+    private InventoryEventService inventoryEventService;
+
+    @Autowired
+    private InventoryEventBatchRepository batchRepository;
+
+    @Autowired
+    private InventoryEventPartitionRepository partitionRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private TestInstallation installation;
+
+    @BeforeEach
+    void setUp() {
+        installation = new TestInstallation(jdbcTemplate);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        installation.cleanUp();
+        jdbcTemplate.execute("drop table if exists " + InventoryEventPartitionRepository.partitionName(OLD_MONTH));
+    }
+
+    @Test
+    void partitionsAreCreatedAheadOfTheCurrentMonth() {
+        List<YearMonth> months = partitionRepository.findAttachedPartitions().stream().map(MonthPartition::month).toList();
+        YearMonth currentMonth = YearMonth.now(ZoneOffset.UTC);
+
+        for (int ahead = 0; ahead <= 3; ahead++) {
+            assertTrue(months.contains(currentMonth.plusMonths(ahead)), "missing partition for " + currentMonth.plusMonths(ahead));
+        }
+    }
+
+    @Test
+    void eventsInTheDefaultPartitionMoveWhenTheirMonthIsCreated() {
+        InventoryEventMessage event = event(OLD_MONTH.atDay(10).atStartOfDay().toInstant(ZoneOffset.UTC));
+        inventoryEventService.saveEvents(List.of(event));
+        assertEquals(1, countIn("inventory_event_default"));
+
+        transactionTemplate.executeWithoutResult(status -> partitionRepository.createPartition(OLD_MONTH));
+
+        assertEquals(0, countIn("inventory_event_default"));
+        assertEquals(1, countIn(InventoryEventPartitionRepository.partitionName(OLD_MONTH)));
+        // goes past the recent id filter, so the unique key itself must still reject the moved row
+        assertEquals(List.of(), transactionTemplate.execute(status ->
+                batchRepository.insertAllIgnoringDuplicates(List.of(event))));
+        assertEquals(1, countIn(InventoryEventPartitionRepository.partitionName(OLD_MONTH)));
+    }
+
+    @Test
+    void partitionsPastRetentionAreDetached() {
+        transactionTemplate.executeWithoutResult(status -> partitionRepository.createPartition(OLD_MONTH));
+        inventoryEventService.saveEvents(List.of(event(OLD_MONTH.atDay(10).atStartOfDay().toInstant(ZoneOffset.UTC))));
+
+        // only OLD_MONTH is older than twenty years, so nothing else is detached
+        new InventoryEventPartitionMaintenance(partitionRepository, transactionTemplate, 3, 240, PartitionRetentionAction.DETACH).run();
+
+        assertFalse(partitionRepository.findAttachedPartitions().stream().anyMatch(partition -> partition.month().equals(OLD_MONTH)));
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "select count(*) from inventory_event where installation_id = ?", Long.class, installation.id));
+        assertEquals(1, countIn(InventoryEventPartitionRepository.partitionName(OLD_MONTH)));
+    }
+
+    private long countIn(String table) {
+        return jdbcTemplate.queryForObject(
+                "select count(*) from " + table + " where installation_id = ?", Long.class, installation.id);
+    }
+
+    private InventoryEventMessage event(Instant occurredAt) {
+        return installation.event(InventoryEventType.ITEM_ADDED).productId(1L).quantity(1).occurredAt(occurredAt).build();
+    }
+}
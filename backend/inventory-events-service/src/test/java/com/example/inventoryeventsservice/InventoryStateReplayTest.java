@@ -0,0 +1,164 @@
+package com.example.inventoryeventsservice;
+
+import com.example.inventoryeventcontract.InventoryEventMessage;
+import com.example.inventoryeventcontract.InventoryEventType;
+import com.example.inventoryeventsservice.replay.InventoryLogReplayer;
+import com.example.inventoryeventsservice.replay.InventoryStateSnapshot;
+import com.example.inventoryeventsservice.replay.LongLongHashMap;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.core.ConsumerFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InventoryStateReplayTest {
+
+    private static final String TOPIC = "inventory.events";
+    private static final int PARTITIONS = 3;
+
+    private final UUID[] installations = {UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID()};
+    private final Map<String, MockConsumer<Object, Object>> consumers = new HashMap<>();
+
+    @Test
+    void foldsEveryPartitionUpToTheEndOffsetsSeenAtTheStart() throws InterruptedException {
+        givenLog();
+        AtomicLong read = new AtomicLong();
+
+        InventoryStateSnapshot snapshot = replayer().replay(null, read::addAndGet);
+
+        // each partition holds 100 records below its end offset; the addition appended after it is left out
+        assertEquals(3 * 100, read.get());
+        assertEquals(3 * 85, snapshot.applied());
+        assertEquals(3 * 15, snapshot.skipped());
+        assertEquals(3, snapshot.installations().size());
+        for (UUID installation : installations) {
+            LongLongHashMap stock = snapshot.stockOf(installation);
+            // per product: 10 additions of 5, 6 depletions of 2, one deletion of 3; updates are ignored
+            assertEquals(5, stock.size());
+            for (long productId = 0; productId < 5; productId++) {
+                assertEquals(10 * 5 - 6 * 2 - 3, stock.get(productId));
+            }
+        }
+    }
+
+    @Test
+    void foldsOnlyTheRequestedInstallation() throws InterruptedException {
+        givenLog();
+
+        InventoryStateSnapshot snapshot = replayer().replay(installations[1], read -> { });
+
+        assertEquals(List.of(installations[1]), List.copyOf(snapshot.installations()));
+        assertEquals(35, snapshot.stockOf(installations[1]).get(4));
+        assertEquals(0, snapshot.stockOf(installations[0]).size());
+    }
+
+    @Test
+    void primitiveMapMatchesHashMap() {
+        Random random = new Random(7);
+        LongLongHashMap map = new LongLongHashMap(1);
+        Map<Long, Long> expected = new HashMap<>();
+        for (int i = 0; i < 100_000; i++) {
+            long key = random.nextInt(5_000) - 100;
+            long delta = random.nextInt(21) - 10;
+            map.addTo(key, delta);
+            expected.merge(key, delta, Long::sum);
+        }
+
+        assertEquals(expected.size(), map.size());
+        expected.forEach((key, value) -> assertEquals(value, map.get(key)));
+        Map<Long, Long> iterated = new HashMap<>();
+        map.forEach(iterated::put);
+        assertEquals(expected, iterated);
+        assertTrue(map.containsKey(0));
+        assertFalse(map.containsKey(10_000));
+        assertEquals(0, map.get(10_000));
+    }
+
+    /**
+     * Partition {@code p} holds the events of installation {@code p} at offsets 10 to 109: every tenth
+     * record is empty, the other 90 cycle through 5 products, 18 events each. One more addition sits
+     * at offset 110, past the end offset the replay starts from.
+     */
+    private void givenLog() {
+        MockConsumer<Object, Object> metadata = new MockConsumer<>("earliest");
+        Map<TopicPartition, Long> endOffsets = new HashMap<>();
+        List<PartitionInfo> infos = new ArrayList<>();
+        for (int p = 0; p < PARTITIONS; p++) {
+            endOffsets.put(new TopicPartition(TOPIC, p), 110L);
+            infos.add(new PartitionInfo(TOPIC, p, null, null, null));
+        }
+        metadata.updatePartitions(TOPIC, infos);
+        metadata.updateEndOffsets(endOffsets);
+        consumers.put("-metadata", metadata);
+
+        for (int p = 0; p < PARTITIONS; p++) {
+            TopicPartition partition = new TopicPartition(TOPIC, p);
+            MockConsumer<Object, Object> consumer = new MockConsumer<>("earliest");
+            consumer.updateBeginningOffsets(Map.of(partition, 10L));
+            consumer.updateEndOffsets(Map.of(partition, 111L));
+            UUID installation = installations[p];
+            consumer.schedulePollTask(() -> {
+                for (int offset = 10; offset <= 110; offset++) {
+                    consumer.addRecord(new ConsumerRecord<>(TOPIC, partition.partition(), offset, null,
+                            offset % 10 == 0 && offset < 110 ? null : event(installation, offset)));
+                }
+            });
+            consumers.put("-" + p, consumer);
+        }
+    }
+
+    private InventoryEventMessage event(UUID installation, int offset) {
+        int step = offset - 10 - (offset - 10) / 10 - 1;
+        int kind = step / 5;
+        InventoryEventType type;
+        int quantity;
+        if (offset >= 110) {
+            type = InventoryEventType.ITEM_ADDED;
+            quantity = 1000;
+        } else if (kind < 10) {
+            type = InventoryEventType.ITEM_ADDED;
+            quantity = 5;
+        } else if (kind < 16) {
+            type = InventoryEventType.ITEM_DEPLETED;
+            quantity = 2;
+        } else if (kind == 16) {
+            type = InventoryEventType.ITEM_DELETED;
+            quantity = 3;
+        } else {
+            type = InventoryEventType.ITEM_UPDATED;
+            quantity = 100;
+        }
+        return TestInstallation.event(installation, type).productId((long) (step % 5)).quantity(quantity).build();
+    }
+
+    private InventoryLogReplayer replayer() {
+        ConsumerFactory<Object, Object> consumerFactory = new ConsumerFactory<>() {
+            @Override
+            public Consumer<Object, Object> createConsumer(String groupId, String clientIdPrefix, String clientIdSuffix,
+                                                           Properties properties) {
+                return consumers.get(clientIdSuffix);
+            }
+
+            @Override
+            public boolean isAutoCommit() {
+                return false;
+            }
+        };
+        return new InventoryLogReplayer(consumerFactory, TOPIC, "inventory-events-group", PARTITIONS, 500);
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.inventoryeventsservice;
+
+import com.example.inventoryeventsservice.dedupe.RecentEventIdFilter;
+import com.example.inventoryeventsservice.dedupe.RecentEventIdFilter.Result;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RecentEventIdFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RecentEventIdFilter filter = new RecentEventIdFilter(meterRegistry, 100);
+
+    @Test
+    void recentIdsAreExactDuplicates() {
+        UUID eventId = UUID.randomUUID();
+        assertEquals(Result.NEW, filter.check(eventId));
+
+        filter.recordAll(List.of(eventId));
+
+        assertEquals(Result.DUPLICATE, filter.check(eventId));
+        assertEquals(1.0, checkCount("new"));
+        assertEquals(1.0, checkCount("duplicate"));
+    }
+
+    @Test
+    void leastRecentlySeenIdsAreEvictedFirst() {
+        List<UUID> stored = randomIds(150);
+        filter.recordAll(stored.subList(0, 100));
+        // a redelivery keeps its id around
+        assertEquals(Result.DUPLICATE, filter.check(stored.get(0)));
+
+        filter.recordAll(stored.subList(100, 150));
+
+        assertEquals(Result.DUPLICATE, filter.check(stored.get(0)));
+        assertEquals(Result.NEW, filter.check(stored.get(1)));
+        assertEquals(Result.NEW, filter.check(stored.get(50)));
+        assertEquals(Result.DUPLICATE, filter.check(stored.get(51)));
+        assertEquals(Result.DUPLICATE, filter.check(stored.get(149)));
+    }
+
+    private List<UUID> randomIds(int count) {
+        List<UUID> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ids.add(UUID.randomUUID());
+        }
+        return ids;
+    }
+
+    private double checkCount(String result) {
+        return meterRegistry.get("inventory.events.dedupe").tag("result", result).counter().count();
+    }
+}
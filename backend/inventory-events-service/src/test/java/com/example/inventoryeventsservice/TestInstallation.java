@@ -0,0 +1,58 @@
+package com.example.inventoryeventsservice;
+
+import com.example.inventoryeventcontract.InventoryEventMessage;
+import com.example.inventoryeventcontract.InventoryEventType;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * A random installation for tests that store events: builds inventory-service events for it and
+ * removes every row they left behind.
+ */
+final class TestInstallation {
+
+    private static final String[] TABLES = {
+            "inventory_event", "installation_event_counters", "inventory_event_rollups", "consumption_forecast_state"
+    };
+
+    final UUID id = UUID.randomUUID();
+
+    private final JdbcTemplate jdbcTemplate;
+
+    TestInstallation(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /** An event of this installation, happening now; set product, quantity or time as the test needs. */
+    InventoryEventMessage.InventoryEventMessageBuilder event(InventoryEventType eventType) {
+        return event(id, eventType);
+    }
+
+    List<InventoryEventMessage> events(int count, InventoryEventType eventType) {
+        List<InventoryEventMessage> events = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            events.add(event(eventType).build());
+        }
+        return events;
+    }
+
+    void cleanUp() {
+        for (String table : TABLES) {
+            jdbcTemplate.update("delete from " + table + " where installation_id = ?", id);
+        }
+    }
+
+    /** An event as inventory-service publishes it, for tests that do not touch the database. */
+    static InventoryEventMessage.InventoryEventMessageBuilder event(UUID installationId, InventoryEventType eventType) {
+        return InventoryEventMessage.builder()
+                .eventId(UUID.randomUUID())
+                .eventType(eventType)
+                .installationId(installationId)
+                .occurredAt(Instant.now())
+                .sourceService("inventory-service");
+    }
+}
@@ -0,0 +1,188 @@
+package com.example.inventoryservice.client;
+
+import com.example.inventoryservice.dto.DefaultRequirementItemDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Keeps the last good snapshot of product-service's default requirements.
+ * <p>
+ * Once a snapshot is older than {@code refresh-after} it is still served while a single background
+ * reload runs; past {@code expire-after} it is counted as stale, but callers still never wait for
+ * product-service. Only the very first load blocks, and only it can fail the caller. After a failed
+ * load nobody calls product-service again for {@code failure-backoff}: callers without a snapshot get
+ * that failure straight away.
+ */
+@Slf4j
+@Component
+public class DefaultRequirementsCache {
+
+    private static final String METRIC_PREFIX = "inventory.product-service.default-requirements";
+
+    private final ProductServiceClient productServiceClient;
+    private final Duration refreshAfter;
+    private final Duration expireAfter;
+    private final Duration failureBackoff;
+    private final Clock clock;
+
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+    private volatile Instant retryAfter = Instant.MIN;
+    private volatile RuntimeException lastFailure;
+    private final Object loadLock = new Object();
+    private final ExecutorService refreshExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "default-requirements-refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter staleServes;
+    private final Counter refreshSuccesses;
+    private final Counter refreshFailures;
+
+    @Autowired
+    public DefaultRequirementsCache(
+            ProductServiceClient productServiceClient,
+            MeterRegistry meterRegistry,
+            @Value("${app.product-service.default-requirements.refresh-after:5m}") Duration refreshAfter,
+            @Value("${app.product-service.default-requirements.expire-after:1h}") Duration expireAfter,
+            @Value("${app.product-service.default-requirements.failure-backoff:30s}") Duration failureBackoff
+    ) {
+        this(productServiceClient, meterRegistry, refreshAfter, expireAfter, failureBackoff, Clock.systemUTC());
+    }
+
+    public DefaultRequirementsCache(ProductServiceClient productServiceClient, MeterRegistry meterRegistry,
+                                    Duration refreshAfter, Duration expireAfter, Duration failureBackoff,
+                                    Clock clock) {
+        this.productServiceClient = productServiceClient;
+        this.refreshAfter = refreshAfter;
+        this.expireAfter = expireAfter;
+        this.failureBackoff = failureBackoff;
+        this.clock = clock;
+
+        this.hits = cacheCounter(meterRegistry, "hit");
+        this.misses = cacheCounter(meterRegistry, "miss");
+        this.staleServes = cacheCounter(meterRegistry, "stale");
+        this.refreshSuccesses = refreshCounter(meterRegistry, "success");
+        this.refreshFailures = refreshCounter(meterRegistry, "failure");
+        Gauge.builder(METRIC_PREFIX + ".age", this, DefaultRequirementsCache::snapshotAgeSeconds)
+                .description("Age of the cached default requirements snapshot")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    public List<DefaultRequirementItemDto> getDefaultRequirementItems() {
+        Snapshot current = snapshot.get();
+        if (current == null) {
+            misses.increment();
+            return loadBlocking();
+        }
+
+        Instant now = clock.instant();
+        if (current.isOlderThan(expireAfter, now)) {
+            staleServes.increment();
+        } else {
+            hits.increment();
+        }
+        if (current.isOlderThan(refreshAfter, now)) {
+            refreshInBackground();
+        }
+        return current.items();
+    }
+
+    private List<DefaultRequirementItemDto> loadBlocking() {
+        // single flight: callers queued behind a load reuse its result, or its failure during the backoff
+        synchronized (loadLock) {
+            Snapshot current = snapshot.get();
+            if (current != null) {
+                return current.items();
+            }
+            if (isBackingOff()) {
+                throw lastFailure;
+            }
+            return reload().items();
+        }
+    }
+
+    private void refreshInBackground() {
+        if (isBackingOff() || !refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        refreshExecutor.execute(() -> {
+            try {
+                reload();
+            } catch (RuntimeException e) {
+                log.warn("Background refresh of default requirements failed, serving the snapshot loaded at {} "
+                        + "and retrying after {}: {}", snapshot.get().loadedAt(), retryAfter, e.getMessage());
+            } finally {
+                refreshing.set(false);
+            }
+        });
+    }
+
+    private boolean isBackingOff() {
+        return clock.instant().isBefore(retryAfter);
+    }
+
+    private Snapshot reload() {
+        try {
+            Snapshot loaded = new Snapshot(List.copyOf(productServiceClient.getDefaultRequirementItems()), clock.instant());
+            snapshot.set(loaded);
+            refreshSuccesses.increment();
+            log.debug("Loaded {} default requirements from product-service", loaded.items().size());
+            return loaded;
+        } catch (RuntimeException e) {
+            lastFailure = e;
+            retryAfter = clock.instant().plus(failureBackoff);
+            refreshFailures.increment();
+            throw e;
+        }
+    }
+
+    private double snapshotAgeSeconds() {
+        Snapshot current = snapshot.get();
+        return current == null ? Double.NaN : Duration.between(current.loadedAt(), clock.instant()).toMillis() / 1000.0;
+    }
+
+    private static Counter cacheCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder(METRIC_PREFIX + ".cache")
+                .description("Default requirements lookups by cache result")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private static Counter refreshCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder(METRIC_PREFIX + ".refresh")
+                .description("Default requirements reloads from product-service")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        refreshExecutor.shutdownNow();
+    }
+
+    private record Snapshot(List<DefaultRequirementItemDto> items, Instant loadedAt) {
+        boolean isOlderThan(Duration age, Instant now) {
+            return loadedAt.plus(age).isBefore(now);
+        }
+    }
+}
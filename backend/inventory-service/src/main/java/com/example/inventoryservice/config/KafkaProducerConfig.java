@@ -1,6 +1,7 @@
 package com.example.inventoryservice.config;
 
-import com.example.inventoryservice.event.InventoryEventMessage;
+import com.example.inventoryeventcontract.InventoryEventMessage;
+import com.example.inventoryeventcontract.InventoryEventSerializer;
 import jakarta.annotation.PostConstruct;
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.common.serialization.StringSerializer;
@@ -21,6 +22,30 @@ public class KafkaProducerConfig {
     @Value("${spring.kafka.bootstrap-servers}")
     private String bootstrapServers;
 
+    @Value("${app.kafka.producer.value-format:binary}")
+    private String valueFormat;
+
+    @Value("${app.kafka.producer.acks:all}")
+    private String acks;
+
+    @Value("${app.kafka.producer.enable-idempotence:true}")
+    private boolean enableIdempotence;
+
+    @Value("${app.kafka.producer.linger-ms:10}")
+    private int lingerMs;
+
+    @Value("${app.kafka.producer.batch-size:65536}")
+    private int batchSize;
+
+    @Value("${app.kafka.producer.compression-type:lz4}")
+    private String compressionType;
+
+    @Value("${app.kafka.producer.max-in-flight-requests-per-connection:5}")
+    private int maxInFlightRequestsPerConnection;
+
+    @Value("${app.kafka.producer.delivery-timeout-ms:120000}")
+    private int deliveryTimeoutMs;
+
     @PostConstruct
     public void init() {
         System.out.println(">>> KafkaProducerConfig loaded");
@@ -32,7 +57,22 @@ public class KafkaProducerConfig {
 
         props.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-        props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JacksonJsonSerializer.class);
+        // consumers accept both formats, so switching back to json is a config-only rollback
+        props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, "json".equalsIgnoreCase(valueFormat)
+                ? JacksonJsonSerializer.class
+                : InventoryEventSerializer.class);
+
+        // idempotence keeps retried batches from being duplicated or reordered, as long as
+        // acks=all and at most 5 requests are in flight per connection
+        props.put(ProducerConfig.ACKS_CONFIG, acks);
+        props.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, enableIdempotence);
+        props.put(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, maxInFlightRequestsPerConnection);
+        props.put(ProducerConfig.DELIVERY_TIMEOUT_MS_CONFIG, deliveryTimeoutMs);
+
+        // the outbox relay hands over whole batches, so a short linger fills larger compressed batches
+        props.put(ProducerConfig.LINGER_MS_CONFIG, lingerMs);
+        props.put(ProducerConfig.BATCH_SIZE_CONFIG, batchSize);
+        props.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, compressionType);
 
         return new DefaultKafkaProducerFactory<>(props);
     }
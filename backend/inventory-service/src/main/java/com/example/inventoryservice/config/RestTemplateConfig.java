@@ -1,14 +1,78 @@
 package com.example.inventoryservice.config;
 
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
+
+/**
+ * HTTP client for calls to other services. Connections are pooled and kept alive per route, and
+ * every phase of a call is bounded so a hung peer cannot hold a request thread indefinitely.
+ */
 @Configuration
 public class RestTemplateConfig {
 
+    private static final TimeValue CONNECTION_TIME_TO_LIVE = TimeValue.ofMinutes(5);
+    private static final TimeValue VALIDATE_AFTER_INACTIVITY = TimeValue.ofSeconds(2);
+
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager interServiceConnectionManager(
+            @Value("${app.http-client.max-connections:100}") int maxConnections,
+            @Value("${app.http-client.max-connections-per-route:20}") int maxConnectionsPerRoute,
+            @Value("${app.http-client.connect-timeout:2s}") Duration connectTimeout,
+            @Value("${app.http-client.read-timeout:5s}") Duration readTimeout
+    ) {
+        return PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnectionsPerRoute)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.of(connectTimeout))
+                        .setSocketTimeout(Timeout.of(readTimeout))
+                        .setTimeToLive(CONNECTION_TIME_TO_LIVE)
+                        .setValidateAfterInactivity(VALIDATE_AFTER_INACTIVITY)
+                        .build())
+                .build();
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient interServiceHttpClient(
+            PoolingHttpClientConnectionManager interServiceConnectionManager,
+            @Value("${app.http-client.connection-request-timeout:1s}") Duration connectionRequestTimeout,
+            @Value("${app.http-client.read-timeout:5s}") Duration readTimeout,
+            @Value("${app.http-client.idle-timeout:30s}") Duration idleTimeout
+    ) {
+        return HttpClients.custom()
+                .setConnectionManager(interServiceConnectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        // how long to wait for a free pooled connection before failing fast
+                        .setConnectionRequestTimeout(Timeout.of(connectionRequestTimeout))
+                        .setResponseTimeout(Timeout.of(readTimeout))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.of(idleTimeout))
+                .build();
+    }
+
+    @Bean
+    public RestTemplate restTemplate(CloseableHttpClient interServiceHttpClient) {
+        return new RestTemplate(new HttpComponentsClientHttpRequestFactory(interServiceHttpClient));
+    }
+
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public MeterBinder interServiceConnectionPoolMetrics(PoolingHttpClientConnectionManager interServiceConnectionManager) {
+        return new PoolingHttpClientConnectionManagerMetricsBinder(interServiceConnectionManager, "inter-service");
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,18 @@
+package com.example.inventoryservice.config;
+
+import com.example.inventoryservice.service.ShoppingListProjectionService;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class ShoppingListProjectionConfig {
+
+    // Set after migrations that change how the shopping list is derived, then switch back off.
+    @Bean
+    @ConditionalOnProperty(name = "app.shopping-list.rebuild-on-startup", havingValue = "true")
+    public ApplicationRunner shoppingListRebuildRunner(ShoppingListProjectionService shoppingListProjectionService) {
+        return args -> shoppingListProjectionService.rebuildAll();
+    }
+}
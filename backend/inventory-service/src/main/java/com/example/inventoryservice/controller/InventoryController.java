@@ -1,17 +1,30 @@
 package com.example.inventoryservice.controller;
 
+import com.example.inventoryservice.dto.AdjustQuantityRequest;
+import com.example.inventoryservice.dto.BatchAddInventoryItemsResponse;
 import com.example.inventoryservice.dto.CreateInventoryItemRequest;
 import com.example.inventoryservice.dto.DeleteInventoryItemRequest;
+import com.example.inventoryservice.dto.InventoryItemChangesResponse;
+import com.example.inventoryservice.dto.InventoryItemPageResponse;
 import com.example.inventoryservice.dto.InventoryItemResponse;
 import com.example.inventoryservice.dto.UpdateInventoryItemRequest;
+import com.example.inventoryservice.exception.BatchTooLargeException;
 import com.example.inventoryservice.service.InventoryItemService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tools.jackson.databind.json.JsonMapper;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
 
@@ -22,6 +35,13 @@ import java.util.UUID;
 public class InventoryController {
 
     private final InventoryItemService inventoryItemService;
+    private final JsonMapper jsonMapper;
+
+    private static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    // a batch is upserted in one transaction that locks every installation it touches
+    @Value("${app.inventory.batch.max-items:1000}")
+    private int maxBatchItems;
 
     @GetMapping("/{id}")
     public ResponseEntity<InventoryItemResponse> getInventoryItemById(@PathVariable Long id) {
@@ -37,6 +57,44 @@ public class InventoryController {
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/items/page")
+    public ResponseEntity<InventoryItemPageResponse> getItemsPage(
+            @RequestHeader("X-Installation-Id") UUID installationId,
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(defaultValue = "100") int limit,
+            @RequestParam(required = false) String location,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate bestBeforeFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate bestBeforeTo
+    ) {
+        log.info("Fetching items page after {} for installation: {}", afterId, installationId);
+        InventoryItemPageResponse response = inventoryItemService.getItemsPage(
+                installationId, afterId, limit, location, bestBeforeFrom, bestBeforeTo);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/items/changes")
+    public ResponseEntity<InventoryItemChangesResponse> getItemChanges(
+            @RequestHeader("X-Installation-Id") UUID installationId,
+            @RequestParam(defaultValue = "0") long since
+    ) {
+        log.info("Fetching item changes since version {} for installation: {}", since, installationId);
+        return ResponseEntity.ok(inventoryItemService.getChangesSince(installationId, since));
+    }
+
+    @GetMapping("/items/stream")
+    public ResponseEntity<StreamingResponseBody> streamItems(@RequestHeader("X-Installation-Id") UUID installationId) {
+        log.info("Streaming all items for installation: {}", installationId);
+        StreamingResponseBody body = outputStream -> inventoryItemService.streamItemsForInstallation(installationId, item -> {
+            try {
+                outputStream.write(jsonMapper.writeValueAsBytes(item));
+                outputStream.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok().contentType(APPLICATION_NDJSON).body(body);
+    }
+
     @PostMapping
     public ResponseEntity<InventoryItemResponse> addItem(@Valid @RequestBody CreateInventoryItemRequest request) {
         log.info("Adding new inventory item: {}", request.getGenericProductName());
@@ -44,6 +102,17 @@ public class InventoryController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<BatchAddInventoryItemsResponse> addItems(@Valid @RequestBody List<CreateInventoryItemRequest> requests) {
+        if (requests.size() > maxBatchItems) {
+            throw new BatchTooLargeException(
+                    "Batch of " + requests.size() + " items exceeds the limit of " + maxBatchItems);
+        }
+        log.info("Adding batch of {} inventory items", requests.size());
+        BatchAddInventoryItemsResponse response = inventoryItemService.addInventoryItems(requests);
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<InventoryItemResponse> update(
             @RequestHeader("X-Installation-Id") UUID installationId,
@@ -55,6 +124,28 @@ public class InventoryController {
         return ResponseEntity.ok(response);
     }
 
+    @PostMapping("/{id}/consume")
+    public ResponseEntity<InventoryItemResponse> consume(
+            @RequestHeader("X-Installation-Id") UUID installationId,
+            @PathVariable Long id,
+            @Valid @RequestBody AdjustQuantityRequest request
+    ) {
+        log.info("Consuming {} of item {} for installation {}", request.amount(), id, installationId);
+        InventoryItemResponse response = inventoryItemService.consumeItem(installationId, id, request);
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/{id}/restock")
+    public ResponseEntity<InventoryItemResponse> restock(
+            @RequestHeader("X-Installation-Id") UUID installationId,
+            @PathVariable Long id,
+            @Valid @RequestBody AdjustQuantityRequest request
+    ) {
+        log.info("Restocking {} of item {} for installation {}", request.amount(), id, installationId);
+        InventoryItemResponse response = inventoryItemService.restockItem(installationId, id, request);
+        return ResponseEntity.ok(response);
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> delete(
             @RequestHeader("X-Installation-Id") UUID installationId,
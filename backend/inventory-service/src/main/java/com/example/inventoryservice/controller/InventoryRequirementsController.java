@@ -2,6 +2,7 @@ package com.example.inventoryservice.controller;
 
 import com.example.inventoryservice.dto.*;
 import com.example.inventoryservice.service.InventoryRequirementsService;
+import com.example.inventoryservice.service.ShoppingListProjectionService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -19,6 +20,7 @@ import java.util.UUID;
 public class InventoryRequirementsController {
 
     private final InventoryRequirementsService inventoryRequirementsService;
+    private final ShoppingListProjectionService shoppingListProjectionService;
 
     @GetMapping("/items")
     public ResponseEntity<List<InventoryRequirementsResponse>> getItems(
@@ -88,4 +90,15 @@ public class InventoryRequirementsController {
         log.info("Generating shopping list for installation: {}", installationId);
         return ResponseEntity.ok(inventoryRequirementsService.getShoppingList(installationId));
     }
-}
\ No newline at end of file
+
+    @PostMapping("/shopping-list/rebuild")
+    public ResponseEntity<RebuildShoppingListResponse> rebuildShoppingList(
+            @RequestHeader(value = "X-Installation-Id", required = false) UUID installationId) {
+        if (installationId == null) {
+            log.info("Rebuilding shopping list for all installations");
+            return ResponseEntity.ok(new RebuildShoppingListResponse(shoppingListProjectionService.rebuildAll()));
+        }
+        log.info("Rebuilding shopping list for installation: {}", installationId);
+        return ResponseEntity.ok(new RebuildShoppingListResponse(shoppingListProjectionService.rebuild(installationId)));
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.inventoryservice.dto;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+public record AdjustQuantityRequest(
+        @NotNull @Min(1) Integer amount,
+        String details
+) {}
@@ -0,0 +1,7 @@
+package com.example.inventoryservice.dto;
+
+public record BatchAddInventoryItemsResponse(
+        int receivedCount,
+        int upsertedCount
+) {
+}
@@ -1,6 +1,6 @@
 package com.example.inventoryservice.dto;
 
-import com.example.inventoryservice.event.InventoryEventReason;
+import com.example.inventoryeventcontract.InventoryEventReason;
 import jakarta.validation.constraints.NotNull;
 
 public record DeleteInventoryItemRequest(
@@ -0,0 +1,14 @@
+package com.example.inventoryservice.dto;
+
+import java.util.List;
+
+/**
+ * Items changed and deleted after the client's last sync. Store {@code version} and send it back
+ * as {@code since} on the next call.
+ */
+public record InventoryItemChangesResponse(
+        long version,
+        List<InventoryItemResponse> changedItems,
+        List<Long> deletedItemIds
+) {
+}
@@ -0,0 +1,13 @@
+package com.example.inventoryservice.dto;
+
+import java.util.List;
+
+/**
+ * One keyset page of inventory items. Pass {@code nextCursor} as {@code afterId} to fetch the
+ * following page; it is {@code null} on the last page.
+ */
+public record InventoryItemPageResponse(
+        List<InventoryItemResponse> items,
+        Long nextCursor
+) {
+}
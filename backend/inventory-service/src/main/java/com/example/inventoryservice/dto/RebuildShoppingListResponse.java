@@ -0,0 +1,6 @@
+package com.example.inventoryservice.dto;
+
+public record RebuildShoppingListResponse(
+        int entryCount
+) {
+}
@@ -0,0 +1,130 @@
+package com.example.inventoryservice.event;
+
+import com.example.inventoryeventcontract.InventoryEventMessage;
+import com.example.inventoryservice.repository.InventoryEventOutboxRepository.BacklogStats;
+import com.example.inventoryservice.repository.InventoryEventOutboxRepository.OutboxRow;
+import com.example.inventoryservice.repository.InventoryEventOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Drains {@code inventory_event_outbox} to Kafka. Each batch is read in id order, sent keyed by
+ * installation so per-installation order is kept on the partition, and deleted only once every send
+ * was acknowledged. A failed batch stays in the table and is retried on the next run, so delivery is
+ * at-least-once; consumers already de-duplicate on event id.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
+public class InventoryEventOutboxRelay {
+
+    private static final String METRIC_PREFIX = "inventory.events.outbox";
+
+    private final InventoryEventOutboxRepository inventoryEventOutboxRepository;
+    private final KafkaTemplate<String, InventoryEventMessage> kafkaTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final JsonMapper jsonMapper;
+    private final String inventoryEventsTopic;
+    private final int batchSize;
+    private final long sendTimeoutMillis;
+
+    private final AtomicReference<BacklogStats> backlog = new AtomicReference<>(new BacklogStats(0, 0));
+    private final Counter relayed;
+    private final Counter failedBatches;
+
+    public InventoryEventOutboxRelay(
+            InventoryEventOutboxRepository inventoryEventOutboxRepository,
+            KafkaTemplate<String, InventoryEventMessage> kafkaTemplate,
+            TransactionTemplate transactionTemplate,
+            JsonMapper jsonMapper,
+            MeterRegistry meterRegistry,
+            @Value("${app.kafka.topic.inventory-events}") String inventoryEventsTopic,
+            @Value("${app.outbox.relay.batch-size:500}") int batchSize,
+            @Value("${app.outbox.relay.send-timeout-ms:30000}") long sendTimeoutMillis
+    ) {
+        this.inventoryEventOutboxRepository = inventoryEventOutboxRepository;
+        this.kafkaTemplate = kafkaTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.jsonMapper = jsonMapper;
+        this.inventoryEventsTopic = inventoryEventsTopic;
+        this.batchSize = batchSize;
+        this.sendTimeoutMillis = sendTimeoutMillis;
+
+        this.relayed = Counter.builder(METRIC_PREFIX + ".relayed")
+                .description("Inventory events relayed from the outbox to Kafka")
+                .register(meterRegistry);
+        this.failedBatches = Counter.builder(METRIC_PREFIX + ".failed-batches")
+                .description("Outbox batches that could not be sent and will be retried")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".backlog", backlog, stats -> stats.get().depth())
+                .description("Inventory events waiting in the outbox")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".lag", backlog, stats -> stats.get().oldestAgeSeconds())
+                .description("Age of the oldest inventory event waiting in the outbox")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.relay.interval-ms:500}")
+    public void relay() {
+        try {
+            int sent;
+            do {
+                sent = transactionTemplate.execute(status -> relayBatch());
+            } while (sent == batchSize);
+        } catch (RuntimeException e) {
+            failedBatches.increment();
+            log.warn("Relaying inventory events failed, will retry: {}", e.getMessage());
+        } finally {
+            backlog.set(inventoryEventOutboxRepository.backlogStats());
+        }
+    }
+
+    private int relayBatch() {
+        if (!inventoryEventOutboxRepository.tryLockRelay()) {
+            return 0;
+        }
+        List<OutboxRow> rows = inventoryEventOutboxRepository.findOldest(batchSize);
+        if (rows.isEmpty()) {
+            return 0;
+        }
+
+        CompletableFuture<?>[] sends = rows.stream()
+                .map(row -> kafkaTemplate.send(inventoryEventsTopic, row.installationId().toString(),
+                        jsonMapper.readValue(row.payload(), InventoryEventMessage.class)))
+                .toArray(CompletableFuture[]::new);
+        await(CompletableFuture.allOf(sends));
+
+        inventoryEventOutboxRepository.deleteAllByIdIn(rows.stream().map(OutboxRow::id).toList());
+        relayed.increment(rows.size());
+        log.debug("Relayed {} inventory events to {}", rows.size(), inventoryEventsTopic);
+        return rows.size();
+    }
+
+    private void await(CompletableFuture<?> sends) {
+        try {
+            sends.get(sendTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while relaying inventory events", e);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new IllegalStateException("Kafka did not acknowledge the outbox batch", e);
+        }
+    }
+}
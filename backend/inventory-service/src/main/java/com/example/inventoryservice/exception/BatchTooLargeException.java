@@ -0,0 +1,10 @@
+package com.example.inventoryservice.exception;
+
+public class BatchTooLargeException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public BatchTooLargeException(String message) {
+        super(message);
+    }
+}
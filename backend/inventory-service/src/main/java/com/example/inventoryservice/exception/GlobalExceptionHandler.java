@@ -27,6 +27,30 @@ public class GlobalExceptionHandler {
     }
 
 
+    @ExceptionHandler(InventoryItemNotFoundException.class)
+    public ResponseEntity<Map<String, String>> handleItemNotFound(InventoryItemNotFoundException e) {
+        return ResponseEntity
+                .status(HttpStatus.NOT_FOUND)
+                .body(Map.of("error", "ITEM_NOT_FOUND", "message", e.getMessage()));
+    }
+
+
+    @ExceptionHandler(InsufficientQuantityException.class)
+    public ResponseEntity<Map<String, String>> handleInsufficientQuantity(InsufficientQuantityException e) {
+        return ResponseEntity
+                .status(HttpStatus.CONFLICT)
+                .body(Map.of("error", "INSUFFICIENT_QUANTITY", "message", e.getMessage()));
+    }
+
+
+    @ExceptionHandler(BatchTooLargeException.class)
+    public ResponseEntity<Map<String, String>> handleBatchTooLarge(BatchTooLargeException e) {
+        return ResponseEntity
+                .status(HttpStatus.CONTENT_TOO_LARGE)
+                .body(Map.of("error", "BATCH_TOO_LARGE", "message", e.getMessage()));
+    }
+
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<Map<String, String>> handleGeneralException(Exception e) {
         return ResponseEntity
@@ -0,0 +1,10 @@
+package com.example.inventoryservice.exception;
+
+public class InsufficientQuantityException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public InsufficientQuantityException(String message) {
+        super(message);
+    }
+}
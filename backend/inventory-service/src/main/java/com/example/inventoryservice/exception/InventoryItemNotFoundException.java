@@ -0,0 +1,10 @@
+package com.example.inventoryservice.exception;
+
+public class InventoryItemNotFoundException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public InventoryItemNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -11,7 +11,8 @@ import java.util.UUID;
 public class InventoryItem {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "inventory_items_id_seq")
+    @SequenceGenerator(name = "inventory_items_id_seq", sequenceName = "inventory_items_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "installation_id", nullable = false)
@@ -41,6 +42,9 @@ public class InventoryItem {
     @Column(name = "best_before")
     private LocalDate bestBefore;
 
+    @Column(name = "change_version", nullable = false)
+    private long changeVersion;
+
     @PrePersist
     public void onCreate() {
         this.createdAt = Instant.now();
@@ -118,4 +122,12 @@ public class InventoryItem {
     public void setBestBefore(LocalDate bestBefore) {
         this.bestBefore = bestBefore;
     }
+
+    public long getChangeVersion() {
+        return changeVersion;
+    }
+
+    public void setChangeVersion(long changeVersion) {
+        this.changeVersion = changeVersion;
+    }
 }
\ No newline at end of file
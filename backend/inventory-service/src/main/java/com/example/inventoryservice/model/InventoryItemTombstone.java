@@ -0,0 +1,61 @@
+package com.example.inventoryservice.model;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Entity
+@Table(name = "inventory_item_tombstones")
+public class InventoryItemTombstone {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "installation_id", nullable = false)
+    private UUID installationId;
+
+    @Column(name = "item_id", nullable = false)
+    private Long itemId;
+
+    @Column(name = "change_version", nullable = false)
+    private long changeVersion;
+
+    @Column(name = "deleted_at", nullable = false)
+    private Instant deletedAt;
+
+    protected InventoryItemTombstone() {
+    }
+
+    public InventoryItemTombstone(UUID installationId, Long itemId, long changeVersion) {
+        this.installationId = installationId;
+        this.itemId = itemId;
+        this.changeVersion = changeVersion;
+    }
+
+    @PrePersist
+    public void onCreate() {
+        this.deletedAt = Instant.now();
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public UUID getInstallationId() {
+        return installationId;
+    }
+
+    public Long getItemId() {
+        return itemId;
+    }
+
+    public long getChangeVersion() {
+        return changeVersion;
+    }
+
+    public Instant getDeletedAt() {
+        return deletedAt;
+    }
+}
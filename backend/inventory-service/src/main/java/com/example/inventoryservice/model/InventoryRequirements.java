@@ -12,7 +12,8 @@ import java.util.UUID;
 public class InventoryRequirements {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "inventory_requirements_id_seq")
+    @SequenceGenerator(name = "inventory_requirements_id_seq", sequenceName = "inventory_requirements_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "installation_id", nullable = false)
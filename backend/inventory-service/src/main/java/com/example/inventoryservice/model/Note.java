@@ -12,7 +12,8 @@ import java.util.UUID;
 public class Note {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "notes_id_seq")
+    @SequenceGenerator(name = "notes_id_seq", sequenceName = "notes_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "installation_id", nullable = false)
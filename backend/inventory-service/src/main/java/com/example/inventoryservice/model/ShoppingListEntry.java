@@ -0,0 +1,99 @@
+package com.example.inventoryservice.model;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Entity
+@Table(name = "shopping_list_entry", uniqueConstraints = {
+        @UniqueConstraint(columnNames = {"installation_id", "generic_product_id"})
+})
+public class ShoppingListEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "shopping_list_entry_id_seq")
+    @SequenceGenerator(name = "shopping_list_entry_id_seq", sequenceName = "shopping_list_entry_id_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "installation_id", nullable = false)
+    private UUID installationId;
+
+    @Column(name = "generic_product_id", nullable = false)
+    private Long genericProductId;
+
+    @Column(name = "generic_product_name", nullable = false)
+    private String genericProductName;
+
+    @Column(name = "current_quantity", nullable = false)
+    private int currentQuantity;
+
+    @Column(name = "required_quantity", nullable = false)
+    private int requiredQuantity;
+
+    @Column(name = "missing_quantity", nullable = false)
+    private int missingQuantity;
+
+    /** The id of the requirement this entry was projected from, so entries list in requirement order. */
+    @Column(name = "position", nullable = false)
+    private long position;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+    protected ShoppingListEntry() {
+    }
+
+    public ShoppingListEntry(UUID installationId, Long genericProductId, String genericProductName,
+                             int currentQuantity, int requiredQuantity, int missingQuantity, long position) {
+        this.installationId = installationId;
+        this.genericProductId = genericProductId;
+        this.genericProductName = genericProductName;
+        this.currentQuantity = currentQuantity;
+        this.requiredQuantity = requiredQuantity;
+        this.missingQuantity = missingQuantity;
+        this.position = position;
+    }
+
+    @PrePersist
+    @PreUpdate
+    public void onSave() {
+        this.updatedAt = Instant.now();
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public UUID getInstallationId() {
+        return installationId;
+    }
+
+    public Long getGenericProductId() {
+        return genericProductId;
+    }
+
+    public String getGenericProductName() {
+        return genericProductName;
+    }
+
+    public int getCurrentQuantity() {
+        return currentQuantity;
+    }
+
+    public int getRequiredQuantity() {
+        return requiredQuantity;
+    }
+
+    public int getMissingQuantity() {
+        return missingQuantity;
+    }
+
+    public long getPosition() {
+        return position;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.inventoryservice.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+@RequiredArgsConstructor
+public class InventoryEventOutboxRepository {
+
+    /**
+     * Guards the relay so only one instance drains the outbox at a time; concurrent relays
+     * could otherwise send the same installation's events out of order.
+     */
+    private static final long RELAY_LOCK_KEY = 0x6f7574626f78L;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void insertAll(List<OutboxRow> rows) {
+        jdbcTemplate.batchUpdate("""
+                insert into inventory_event_outbox (event_id, installation_id, payload)
+                values (?, ?, cast(? as jsonb))
+                """, rows, rows.size(), (ps, row) -> {
+            ps.setObject(1, row.eventId());
+            ps.setObject(2, row.installationId());
+            ps.setString(3, row.payload());
+        });
+    }
+
+    /**
+     * Takes the transaction-scoped relay lock; returns false when another relay holds it.
+     */
+    public boolean tryLockRelay() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "select pg_try_advisory_xact_lock(?)", Boolean.class, RELAY_LOCK_KEY));
+    }
+
+    public List<OutboxRow> findOldest(int limit) {
+        return jdbcTemplate.query("""
+                select id, event_id, installation_id, payload::text as payload
+                from inventory_event_outbox
+                order by id
+                limit ?
+                """, (rs, rowNum) -> new OutboxRow(
+                rs.getLong("id"),
+                rs.getObject("event_id", UUID.class),
+                rs.getObject("installation_id", UUID.class),
+                rs.getString("payload")
+        ), limit);
+    }
+
+    public void deleteAllByIdIn(Collection<Long> ids) {
+        jdbcTemplate.update("delete from inventory_event_outbox where id = any(?)",
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("bigint", ids.toArray())));
+    }
+
+    public BacklogStats backlogStats() {
+        return jdbcTemplate.queryForObject("""
+                select count(*) as depth,
+                       coalesce(extract(epoch from now() - min(created_at)), 0) as oldest_age_seconds
+                from inventory_event_outbox
+                """, (rs, rowNum) -> new BacklogStats(rs.getLong("depth"), rs.getDouble("oldest_age_seconds")));
+    }
+
+    public record OutboxRow(Long id, UUID eventId, UUID installationId, String payload) {
+    }
+
+    public record BacklogStats(long depth, double oldestAgeSeconds) {
+    }
+}
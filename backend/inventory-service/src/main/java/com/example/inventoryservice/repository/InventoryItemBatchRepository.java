@@ -0,0 +1,79 @@
+package com.example.inventoryservice.repository;
+
+import com.example.inventoryservice.model.InventoryItem;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * JDBC batch upserts for inventory items. Each statement targets one of the partial unique
+ * indexes from V9, so a repeated product (and expiry date) adds to the existing row's quantity.
+ */
+@Repository
+@RequiredArgsConstructor
+public class InventoryItemBatchRepository {
+
+    private static final int BATCH_SIZE = 100;
+
+    private static final String INSERT_COLUMNS = """
+            insert into inventory_items (installation_id, generic_product_id, generic_product_name, quantity,
+                                         location, notes, best_before, created_at, change_version)
+            values (?, ?, ?, ?, ?, ?, ?, now(), ?)
+            """;
+
+    private static final String MERGE_QUANTITY = """
+            do update set quantity = inventory_items.quantity + excluded.quantity,
+                          location = coalesce(excluded.location, inventory_items.location),
+                          notes = coalesce(excluded.notes, inventory_items.notes),
+                          updated_at = now(),
+                          change_version = excluded.change_version
+            """;
+
+    private static final String UPSERT_NO_EXPIRY = INSERT_COLUMNS + """
+            on conflict (installation_id, generic_product_id) where best_before is null
+            """ + MERGE_QUANTITY;
+
+    private static final String UPSERT_WITH_EXPIRY = INSERT_COLUMNS + """
+            on conflict (installation_id, generic_product_id, best_before) where best_before is not null
+            """ + MERGE_QUANTITY;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Upserts the given unsaved items. Callers must merge items sharing a unique key first, since
+     * Postgres refuses to update the same row twice within one statement.
+     */
+    public void upsertAll(List<InventoryItem> items) {
+        List<InventoryItem> withoutExpiry = items.stream()
+                .filter(item -> item.getBestBefore() == null)
+                .toList();
+        List<InventoryItem> withExpiry = items.stream()
+                .filter(item -> item.getBestBefore() != null)
+                .toList();
+
+        if (!withoutExpiry.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPSERT_NO_EXPIRY, withoutExpiry, BATCH_SIZE,
+                    (ps, item) -> bind(ps, item));
+        }
+        if (!withExpiry.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPSERT_WITH_EXPIRY, withExpiry, BATCH_SIZE,
+                    (ps, item) -> bind(ps, item));
+        }
+    }
+
+    private void bind(PreparedStatement ps, InventoryItem item) throws SQLException {
+        ps.setObject(1, item.getInstallationId());
+        ps.setLong(2, item.getGenericProductId());
+        ps.setString(3, item.getGenericProductName());
+        ps.setInt(4, item.getQuantity());
+        ps.setString(5, item.getLocation());
+        ps.setString(6, item.getNotes());
+        ps.setDate(7, item.getBestBefore() != null ? Date.valueOf(item.getBestBefore()) : null);
+        ps.setLong(8, item.getChangeVersion());
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.inventoryservice.repository;
+
+import com.example.inventoryservice.model.InventoryItemTombstone;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface InventoryItemTombstoneRepository extends JpaRepository<InventoryItemTombstone, Long> {
+
+    List<InventoryItemTombstone> findAllByInstallationIdAndChangeVersionGreaterThanOrderByChangeVersion(
+            UUID installationId,
+            long changeVersion
+    );
+}
@@ -1,12 +1,19 @@
 package com.example.inventoryservice.repository;
 
 import com.example.inventoryservice.model.InventoryItem;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 public interface InventoryRepository extends JpaRepository<InventoryItem, Long> {
     Optional<InventoryItem> findByInstallationIdAndId(
@@ -17,4 +24,70 @@ public interface InventoryRepository extends JpaRepository<InventoryItem, Long>
 
     List<InventoryItem> findAllByInstallationId(UUID installationId);
 
+    List<InventoryItem> findAllByInstallationIdAndChangeVersionGreaterThanOrderByChangeVersion(
+            UUID installationId,
+            long changeVersion
+    );
+
+    /**
+     * Bumps and returns the installation's change version. The row lock is held until commit, so
+     * versions become visible in the order they were handed out.
+     */
+    @Query(value = """
+    insert into installation_change_versions (installation_id, version)
+    values (:installationId, 1)
+    on conflict (installation_id) do update
+        set version = installation_change_versions.version + 1
+    returning version
+""", nativeQuery = true)
+    long nextChangeVersion(@Param("installationId") UUID installationId);
+
+    /**
+     * Applies a quantity delta in one statement so concurrent writers cannot lose updates.
+     * A result below zero violates the quantity check constraint and aborts the transaction.
+     */
+    @Query(value = """
+    update inventory_items
+       set quantity = quantity + :delta,
+           change_version = :changeVersion,
+           updated_at = now()
+     where installation_id = :installationId
+       and id = :id
+    returning *
+""", nativeQuery = true)
+    Optional<InventoryItem> applyQuantityDelta(@Param("installationId") UUID installationId,
+                                               @Param("id") Long id,
+                                               @Param("delta") int delta,
+                                               @Param("changeVersion") long changeVersion);
+
+    @Query(value = """
+    select coalesce(max(version), 0) from installation_change_versions where installation_id = :installationId
+""", nativeQuery = true)
+    long currentChangeVersion(@Param("installationId") UUID installationId);
+
+    @Query("""
+    select i from InventoryItem i
+    where i.installationId = :installationId
+      and i.id > :afterId
+      and (cast(:location as String) is null or i.location = :location)
+      and (cast(:bestBeforeFrom as LocalDate) is null or i.bestBefore >= :bestBeforeFrom)
+      and (cast(:bestBeforeTo as LocalDate) is null or i.bestBefore <= :bestBeforeTo)
+    order by i.id
+""")
+    List<InventoryItem> findPage(@Param("installationId") UUID installationId,
+                                 @Param("afterId") long afterId,
+                                 @Param("location") String location,
+                                 @Param("bestBeforeFrom") LocalDate bestBeforeFrom,
+                                 @Param("bestBeforeTo") LocalDate bestBeforeTo,
+                                 Limit limit);
+
+    /**
+     * Cursor-backed stream for exporting a whole installation; must be consumed inside a transaction.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select i from InventoryItem i where i.installationId = :installationId order by i.id")
+    Stream<InventoryItem> streamAllByInstallationId(@Param("installationId") UUID installationId);
 }
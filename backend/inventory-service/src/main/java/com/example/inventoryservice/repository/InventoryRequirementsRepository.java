@@ -1,7 +1,10 @@
 package com.example.inventoryservice.repository;
 
+import com.example.inventoryservice.dto.ShoppngListItemResponse;
 import com.example.inventoryservice.model.InventoryRequirements;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
@@ -19,9 +22,31 @@ public interface InventoryRequirementsRepository extends JpaRepository<Inventory
             UUID installationId,
             List<Long> genericProductIds
     );
-    boolean existsByInstallationIdAndGenericProductId(UUID installationId, Long genericProductId);
 
     void deleteByInstallationIdAndGenericProductId(UUID installationId, Long genericProductId);
 
     void deleteAllByInstallationIdAndGenericProductIdIn(UUID installationId, List<Long> genericProductIds);
-}
\ No newline at end of file
+
+    /**
+     * Computes the shopping list in the database: every requirement is joined with the summed
+     * quantity of its inventory batches and only rows that are still missing stock are returned.
+     */
+    @Query("""
+    select new com.example.inventoryservice.dto.ShoppngListItemResponse(
+        r.genericProductId,
+        r.genericProductName,
+        cast(coalesce(sum(i.quantity), 0) as Integer),
+        r.minimumQuantity,
+        r.minimumQuantity - cast(coalesce(sum(i.quantity), 0) as Integer)
+    )
+    from InventoryRequirements r
+    left join InventoryItem i
+        on i.installationId = r.installationId
+        and i.genericProductId = r.genericProductId
+    where r.installationId = :installationId
+    group by r.id, r.genericProductId, r.genericProductName, r.minimumQuantity
+    having r.minimumQuantity - coalesce(sum(i.quantity), 0) > 0
+    order by r.id
+""")
+    List<ShoppngListItemResponse> findShoppingList(@Param("installationId") UUID installationId);
+}
@@ -0,0 +1,120 @@
+package com.example.inventoryservice.repository;
+
+import com.example.inventoryservice.model.ShoppingListEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+public interface ShoppingListEntryRepository extends JpaRepository<ShoppingListEntry, Long> {
+
+    /** Entries in the order their requirements were created, read from the entries alone. */
+    List<ShoppingListEntry> findAllByInstallationIdOrderByPosition(UUID installationId);
+
+    /**
+     * Serializes projection writers of one installation until commit. Each writer recomputes the sums
+     * from its own snapshot, so without it an item change and a requirement change committing side by
+     * side could each miss the other and leave a stale entry.
+     */
+    @Query(value = "select count(*) from pg_advisory_xact_lock(:lockSpace, :installationKey)", nativeQuery = true)
+    long lockInstallation(@Param("lockSpace") int lockSpace, @Param("installationKey") int installationKey);
+
+    @Modifying(flushAutomatically = true)
+    @Query("""
+       delete from ShoppingListEntry e
+               where e.installationId = :installationId
+               and e.genericProductId in :genericProductIds
+       """)
+    int deleteEntries(@Param("installationId") UUID installationId,
+                      @Param("genericProductIds") Collection<Long> genericProductIds);
+
+    @Modifying(flushAutomatically = true)
+    @Query("delete from ShoppingListEntry e where e.installationId = :installationId")
+    int deleteAllEntries(@Param("installationId") UUID installationId);
+
+    /**
+     * Recomputes the entries of the given generic products from the current requirements and items.
+     * Upserts so that two transactions refreshing the same product cannot collide on the unique key.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+    insert into shopping_list_entry (installation_id, generic_product_id, generic_product_name,
+                                     current_quantity, required_quantity, missing_quantity, position, updated_at)
+    select r.installation_id,
+           r.generic_product_id,
+           r.generic_product_name,
+           coalesce(sum(i.quantity), 0),
+           r.minimum_quantity,
+           r.minimum_quantity - coalesce(sum(i.quantity), 0),
+           r.id,
+           now()
+    from inventory_requirements r
+    left join inventory_items i
+        on i.installation_id = r.installation_id
+        and i.generic_product_id = r.generic_product_id
+    where r.installation_id = :installationId
+      and r.generic_product_id in (:genericProductIds)
+    group by r.id
+    having r.minimum_quantity - coalesce(sum(i.quantity), 0) > 0
+    on conflict (installation_id, generic_product_id) do update
+        set generic_product_name = excluded.generic_product_name,
+            current_quantity = excluded.current_quantity,
+            required_quantity = excluded.required_quantity,
+            missing_quantity = excluded.missing_quantity,
+            position = excluded.position,
+            updated_at = excluded.updated_at
+""", nativeQuery = true)
+    int upsertEntries(@Param("installationId") UUID installationId,
+                      @Param("genericProductIds") Collection<Long> genericProductIds);
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+    insert into shopping_list_entry (installation_id, generic_product_id, generic_product_name,
+                                     current_quantity, required_quantity, missing_quantity, position, updated_at)
+    select r.installation_id,
+           r.generic_product_id,
+           r.generic_product_name,
+           coalesce(sum(i.quantity), 0),
+           r.minimum_quantity,
+           r.minimum_quantity - coalesce(sum(i.quantity), 0),
+           r.id,
+           now()
+    from inventory_requirements r
+    left join inventory_items i
+        on i.installation_id = r.installation_id
+        and i.generic_product_id = r.generic_product_id
+    where r.installation_id = :installationId
+    group by r.id
+    having r.minimum_quantity - coalesce(sum(i.quantity), 0) > 0
+""", nativeQuery = true)
+    int insertEntries(@Param("installationId") UUID installationId);
+
+    @Modifying
+    @Query(value = "delete from shopping_list_entry", nativeQuery = true)
+    int deleteAllInstallations();
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+    insert into shopping_list_entry (installation_id, generic_product_id, generic_product_name,
+                                     current_quantity, required_quantity, missing_quantity, position, updated_at)
+    select r.installation_id,
+           r.generic_product_id,
+           r.generic_product_name,
+           coalesce(sum(i.quantity), 0),
+           r.minimum_quantity,
+           r.minimum_quantity - coalesce(sum(i.quantity), 0),
+           r.id,
+           now()
+    from inventory_requirements r
+    left join inventory_items i
+        on i.installation_id = r.installation_id
+        and i.generic_product_id = r.generic_product_id
+    group by r.id
+    having r.minimum_quantity - coalesce(sum(i.quantity), 0) > 0
+""", nativeQuery = true)
+    int insertAllInstallations();
+}
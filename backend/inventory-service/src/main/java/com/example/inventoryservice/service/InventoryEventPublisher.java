@@ -1,8 +1,10 @@
 package com.example.inventoryservice.service;
 
-import com.example.inventoryservice.event.InventoryEventReason;
-import com.example.inventoryservice.event.InventoryEventType;
+import com.example.inventoryeventcontract.InventoryEventMessage;
+import com.example.inventoryeventcontract.InventoryEventReason;
+import com.example.inventoryeventcontract.InventoryEventType;
 
+import java.util.List;
 import java.util.UUID;
 
 public interface InventoryEventPublisher {
@@ -13,4 +15,6 @@ public interface InventoryEventPublisher {
                  InventoryEventType eventType,
                  InventoryEventReason reason,
                  String details);
+
+    void publishAll(List<InventoryEventMessage> events);
 }
@@ -1,18 +1,31 @@
 package com.example.inventoryservice.service;
 
+import com.example.inventoryservice.dto.AdjustQuantityRequest;
+import com.example.inventoryservice.dto.BatchAddInventoryItemsResponse;
 import com.example.inventoryservice.dto.CreateInventoryItemRequest;
 import com.example.inventoryservice.dto.DeleteInventoryItemRequest;
+import com.example.inventoryservice.dto.InventoryItemChangesResponse;
+import com.example.inventoryservice.dto.InventoryItemPageResponse;
 import com.example.inventoryservice.dto.InventoryItemResponse;
 import com.example.inventoryservice.dto.UpdateInventoryItemRequest;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 public interface InventoryItemService {
 
     public InventoryItemResponse getInventoryItemById(Long id);
     public List<InventoryItemResponse> getItemsForInstallation (UUID installationId);
+    public InventoryItemPageResponse getItemsPage(UUID installationId, Long afterId, int limit,
+                                                  String location, LocalDate bestBeforeFrom, LocalDate bestBeforeTo);
+    public InventoryItemChangesResponse getChangesSince(UUID installationId, long sinceVersion);
+    public void streamItemsForInstallation(UUID installationId, Consumer<InventoryItemResponse> consumer);
     public InventoryItemResponse addNewInventoryItem(CreateInventoryItemRequest request);
+    public BatchAddInventoryItemsResponse addInventoryItems(List<CreateInventoryItemRequest> requests);
     public InventoryItemResponse updateItem(UUID installationId, Long productId, UpdateInventoryItemRequest request);
+    public InventoryItemResponse consumeItem(UUID installationId, Long id, AdjustQuantityRequest request);
+    public InventoryItemResponse restockItem(UUID installationId, Long id, AdjustQuantityRequest request);
     public void deleteItem(UUID installationId, Long id, DeleteInventoryItemRequest request);
 }
@@ -0,0 +1,18 @@
+package com.example.inventoryservice.service;
+
+import com.example.inventoryservice.dto.ShoppngListItemResponse;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+public interface ShoppingListProjectionService {
+
+    List<ShoppngListItemResponse> getShoppingList(UUID installationId);
+
+    void refresh(UUID installationId, Collection<Long> genericProductIds);
+
+    int rebuild(UUID installationId);
+
+    int rebuildAll();
+}
@@ -1,21 +1,44 @@
 package com.example.inventoryservice.service.impl;
 
+import com.example.inventoryeventcontract.InventoryEventMessage;
+import com.example.inventoryeventcontract.InventoryEventReason;
+import com.example.inventoryeventcontract.InventoryEventType;
+import com.example.inventoryservice.dto.AdjustQuantityRequest;
+import com.example.inventoryservice.dto.BatchAddInventoryItemsResponse;
 import com.example.inventoryservice.dto.CreateInventoryItemRequest;
 import com.example.inventoryservice.dto.DeleteInventoryItemRequest;
+import com.example.inventoryservice.dto.InventoryItemChangesResponse;
+import com.example.inventoryservice.dto.InventoryItemPageResponse;
 import com.example.inventoryservice.dto.InventoryItemResponse;
 import com.example.inventoryservice.dto.UpdateInventoryItemRequest;
-import com.example.inventoryservice.event.InventoryEventReason;
-import com.example.inventoryservice.event.InventoryEventType;
+import com.example.inventoryservice.exception.InsufficientQuantityException;
+import com.example.inventoryservice.exception.InventoryItemNotFoundException;
 import com.example.inventoryservice.model.InventoryItem;
+import com.example.inventoryservice.model.InventoryItemTombstone;
+import com.example.inventoryservice.repository.InventoryItemBatchRepository;
+import com.example.inventoryservice.repository.InventoryItemTombstoneRepository;
 import com.example.inventoryservice.repository.InventoryRepository;
+import com.example.inventoryservice.service.InventoryEventPublisher;
 import com.example.inventoryservice.service.InventoryItemService;
+import com.example.inventoryservice.service.ShoppingListProjectionService;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
@@ -23,9 +46,16 @@ import java.util.UUID;
 public class InventoryItemServiceImpl implements InventoryItemService {
 
     private final InventoryRepository inventoryRepository;
-    private final KafkaInventoryEventPublisher kafkaInventoryEventPublisher;
+    private final InventoryItemTombstoneRepository inventoryItemTombstoneRepository;
+    private final InventoryItemBatchRepository inventoryItemBatchRepository;
+    private final InventoryEventPublisher inventoryEventPublisher;
+    private final ShoppingListProjectionService shoppingListProjectionService;
+    private final EntityManager entityManager;
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final String ITEM_ADDED_DETAILS = "Item added to inventory";
     private static final String ITEM_UPDATED_DETAILS = "Item updated";
     private static final String ITEM_CONSUMED_DETAILS = "Item consumed";
+    private static final String ITEM_RESTOCKED_DETAILS = "Item restocked";
     @Override
     @Transactional(readOnly = true)
     public InventoryItemResponse getInventoryItemById(Long id) {
@@ -43,6 +73,62 @@ public class InventoryItemServiceImpl implements InventoryItemService {
                 .toList();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public InventoryItemPageResponse getItemsPage(UUID installationId, Long afterId, int limit,
+                                                  String location, LocalDate bestBeforeFrom, LocalDate bestBeforeTo) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        // one extra row tells us whether another page exists without a count query
+        List<InventoryItem> rows = inventoryRepository.findPage(
+                installationId,
+                afterId != null ? afterId : 0L,
+                location,
+                bestBeforeFrom,
+                bestBeforeTo,
+                Limit.of(pageSize + 1)
+        );
+
+        boolean hasMore = rows.size() > pageSize;
+        List<InventoryItemResponse> items = rows.stream()
+                .limit(pageSize)
+                .map(this::mapToResponse)
+                .toList();
+        Long nextCursor = hasMore ? items.get(items.size() - 1).getId() : null;
+        return new InventoryItemPageResponse(items, nextCursor);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public InventoryItemChangesResponse getChangesSince(UUID installationId, long sinceVersion) {
+        // read the version first: every change up to it is already committed, later ones are re-sent next time
+        long currentVersion = inventoryRepository.currentChangeVersion(installationId);
+
+        List<InventoryItemResponse> changedItems = inventoryRepository
+                .findAllByInstallationIdAndChangeVersionGreaterThanOrderByChangeVersion(installationId, sinceVersion)
+                .stream()
+                .map(this::mapToResponse)
+                .toList();
+        List<Long> deletedItemIds = inventoryItemTombstoneRepository
+                .findAllByInstallationIdAndChangeVersionGreaterThanOrderByChangeVersion(installationId, sinceVersion)
+                .stream()
+                .map(InventoryItemTombstone::getItemId)
+                .toList();
+
+        return new InventoryItemChangesResponse(currentVersion, changedItems, deletedItemIds);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamItemsForInstallation(UUID installationId, Consumer<InventoryItemResponse> consumer) {
+        try (Stream<InventoryItem> items = inventoryRepository.streamAllByInstallationId(installationId)) {
+            items.forEach(item -> {
+                consumer.accept(mapToResponse(item));
+                // keep the persistence context from accumulating every streamed row
+                entityManager.detach(item);
+            });
+        }
+    }
+
     @Override
     @Transactional
     public InventoryItemResponse addNewInventoryItem(CreateInventoryItemRequest request) {
@@ -55,45 +141,120 @@ public class InventoryItemServiceImpl implements InventoryItemService {
         item.setLocation(request.getLocation());
         item.setNotes(request.getNotes());
         item.setBestBefore(request.getBestBefore());
+        item.setChangeVersion(inventoryRepository.nextChangeVersion(request.getInstallationId()));
 
         InventoryItem saved = inventoryRepository.save(item);
+        shoppingListProjectionService.refresh(saved.getInstallationId(), List.of(saved.getGenericProductId()));
         log.info("New item added to inventory: id={}, genericProduct={}", saved.getId(), saved.getGenericProductName());
-        kafkaInventoryEventPublisher.publish(
+        inventoryEventPublisher.publish(
                 saved.getInstallationId(),
                 saved.getGenericProductId(),
                 saved.getGenericProductName(),
                 saved.getQuantity(),
                 InventoryEventType.ITEM_ADDED,
                 InventoryEventReason.PURCHASE,
-                "Item added to inventory"
+                ITEM_ADDED_DETAILS
         );
         return mapToResponse(saved);
     }
 
+    @Override
+    @Transactional
+    public BatchAddInventoryItemsResponse addInventoryItems(List<CreateInventoryItemRequest> requests) {
+        if (requests.isEmpty()) {
+            return new BatchAddInventoryItemsResponse(0, 0);
+        }
+
+        // bump every version row up front in installation order, so concurrent batches lock them in the same order
+        Map<UUID, Long> changeVersions = new TreeMap<>();
+        requests.stream()
+                .map(CreateInventoryItemRequest::getInstallationId)
+                .distinct()
+                .sorted()
+                .forEach(installationId -> changeVersions.put(
+                        installationId, inventoryRepository.nextChangeVersion(installationId)));
+
+        Map<BatchItemKey, InventoryItem> merged = new LinkedHashMap<>();
+        for (CreateInventoryItemRequest request : requests) {
+            long changeVersion = changeVersions.get(request.getInstallationId());
+            // a row can only be upserted once per statement, so repeated lines are summed here
+            InventoryItem item = merged.computeIfAbsent(BatchItemKey.of(request), key -> {
+                InventoryItem newItem = new InventoryItem();
+                newItem.setInstallationId(request.getInstallationId());
+                newItem.setGenericProductId(request.getGenericProductId());
+                newItem.setGenericProductName(request.getGenericProductName());
+                newItem.setQuantity(0);
+                newItem.setBestBefore(request.getBestBefore());
+                newItem.setChangeVersion(changeVersion);
+                return newItem;
+            });
+            item.setQuantity(item.getQuantity() + request.getQuantity());
+            if (request.getLocation() != null) item.setLocation(request.getLocation());
+            if (request.getNotes() != null) item.setNotes(request.getNotes());
+        }
+        List<InventoryItem> items = List.copyOf(merged.values());
+
+        inventoryItemBatchRepository.upsertAll(items);
+        items.stream()
+                .collect(Collectors.groupingBy(
+                        InventoryItem::getInstallationId,
+                        TreeMap::new,
+                        Collectors.mapping(InventoryItem::getGenericProductId, Collectors.toSet())
+                ))
+                .forEach(shoppingListProjectionService::refresh);
+        log.info("Batch added to inventory: {} lines merged into {} items across {} installations",
+                requests.size(), items.size(), changeVersions.size());
+
+        inventoryEventPublisher.publishAll(items.stream()
+                .map(item -> InventoryEventMessage.builder()
+                        .eventId(UUID.randomUUID())
+                        .eventType(InventoryEventType.ITEM_ADDED)
+                        .reason(InventoryEventReason.PURCHASE)
+                        .installationId(item.getInstallationId())
+                        .productId(item.getGenericProductId())
+                        .productName(item.getGenericProductName())
+                        .quantity(item.getQuantity())
+                        .occurredAt(Instant.now())
+                        .sourceService("inventory-service")
+                        .details(ITEM_ADDED_DETAILS)
+                        .build())
+                .toList());
+        return new BatchAddInventoryItemsResponse(requests.size(), items.size());
+    }
+
     @Override
     @Transactional
     public InventoryItemResponse updateItem(UUID installationId, Long id, UpdateInventoryItemRequest request) {
         InventoryItem item = inventoryRepository.findByInstallationIdAndId(installationId, id)
                 .orElseThrow(() -> new RuntimeException("Item not found for installation and product"));
 
+        int previousQuantity = item.getQuantity();
         if (request.getQuantity() != null) item.setQuantity(request.getQuantity());
         if (request.getLocation() != null) item.setLocation(request.getLocation());
         if (request.getNotes() != null) item.setNotes(request.getNotes());
+        item.setChangeVersion(inventoryRepository.nextChangeVersion(installationId));
         InventoryEventType updateType = InventoryEventType.ITEM_UPDATED;
         InventoryEventReason updateReason = InventoryEventReason.MANUAL_UPDATE;
         String details = ITEM_UPDATED_DETAILS;
-        if(request.getQuantity() != null && item.getQuantity() != request.getQuantity()){
+        // quantity changes are published as the amount moved, like consume / restock
+        int eventQuantity = item.getQuantity();
+        if (request.getQuantity() != null && previousQuantity > request.getQuantity()) {
             updateType = InventoryEventType.ITEM_DEPLETED;
             updateReason = InventoryEventReason.CONSUMED;
             details = ITEM_CONSUMED_DETAILS;
+            eventQuantity = previousQuantity - request.getQuantity();
+        } else if (request.getQuantity() != null && previousQuantity < request.getQuantity()) {
+            updateType = InventoryEventType.ITEM_ADDED;
+            eventQuantity = request.getQuantity() - previousQuantity;
         }
         InventoryItem saved = inventoryRepository.save(item);
+        shoppingListProjectionService.refresh(installationId, List.of(saved.getGenericProductId()));
         log.info("Item updated: installation={}, product={}", installationId, id);
-        kafkaInventoryEventPublisher.publish(
+        inventoryEventPublisher.publish(
                 saved.getInstallationId(),
                 saved.getGenericProductId(),
                 saved.getGenericProductName(),
-                saved.getQuantity(),
+                eventQuantity,
                 updateType,
                 updateReason,
                 details
@@ -101,6 +262,40 @@ public class InventoryItemServiceImpl implements InventoryItemService {
         return mapToResponse(saved);
     }
 
+    @Override
+    @Transactional
+    public InventoryItemResponse consumeItem(UUID installationId, Long id, AdjustQuantityRequest request) {
+        InventoryItem saved = applyQuantityDelta(installationId, id, -request.amount());
+        log.info("Item consumed: installation={}, item={}, amount={}", installationId, id, request.amount());
+        inventoryEventPublisher.publish(
+                saved.getInstallationId(),
+                saved.getGenericProductId(),
+                saved.getGenericProductName(),
+                request.amount(),
+                InventoryEventType.ITEM_DEPLETED,
+                InventoryEventReason.CONSUMED,
+                request.details() != null ? request.details() : ITEM_CONSUMED_DETAILS
+        );
+        return mapToResponse(saved);
+    }
+
+    @Override
+    @Transactional
+    public InventoryItemResponse restockItem(UUID installationId, Long id, AdjustQuantityRequest request) {
+        InventoryItem saved = applyQuantityDelta(installationId, id, request.amount());
+        log.info("Item restocked: installation={}, item={}, amount={}", installationId, id, request.amount());
+        inventoryEventPublisher.publish(
+                saved.getInstallationId(),
+                saved.getGenericProductId(),
+                saved.getGenericProductName(),
+                request.amount(),
+                InventoryEventType.ITEM_ADDED,
+                InventoryEventReason.PURCHASE,
+                request.details() != null ? request.details() : ITEM_RESTOCKED_DETAILS
+        );
+        return mapToResponse(saved);
+    }
+
     @Override
     @Transactional
     public void deleteItem(UUID installationId, Long id, DeleteInventoryItemRequest request) {
@@ -108,8 +303,11 @@ public class InventoryItemServiceImpl implements InventoryItemService {
                 .orElseThrow(() -> new RuntimeException("Item not found"));
 
         inventoryRepository.delete(item);
+        inventoryItemTombstoneRepository.save(new InventoryItemTombstone(
+                installationId, item.getId(), inventoryRepository.nextChangeVersion(installationId)));
+        shoppingListProjectionService.refresh(installationId, List.of(item.getGenericProductId()));
         log.info("Item deleted: installation={}, product={}", installationId, id);
-        kafkaInventoryEventPublisher.publish(
+        inventoryEventPublisher.publish(
                 item.getInstallationId(),
                 item.getGenericProductId(),
                 item.getGenericProductName(),
@@ -123,6 +321,29 @@ public class InventoryItemServiceImpl implements InventoryItemService {
     }
 
 
+    private InventoryItem applyQuantityDelta(UUID installationId, Long id, int delta) {
+        long changeVersion = inventoryRepository.nextChangeVersion(installationId);
+        InventoryItem saved;
+        try {
+            saved = inventoryRepository.applyQuantityDelta(installationId, id, delta, changeVersion)
+                    .orElseThrow(() -> new InventoryItemNotFoundException("Item " + id + " not found"));
+        } catch (DataIntegrityViolationException e) {
+            throw new InsufficientQuantityException("Not enough quantity left for item " + id);
+        }
+        // an item already loaded in this transaction is returned as it was loaded, not as updated
+        if (saved.getChangeVersion() != changeVersion) {
+            entityManager.refresh(saved);
+        }
+        shoppingListProjectionService.refresh(installationId, List.of(saved.getGenericProductId()));
+        return saved;
+    }
+
+    private record BatchItemKey(UUID installationId, Long genericProductId, LocalDate bestBefore) {
+        static BatchItemKey of(CreateInventoryItemRequest request) {
+            return new BatchItemKey(request.getInstallationId(), request.getGenericProductId(), request.getBestBefore());
+        }
+    }
+
     private InventoryItemResponse mapToResponse(InventoryItem item) {
         return new InventoryItemResponse(
                 item.getId(),
@@ -1,23 +1,22 @@
 package com.example.inventoryservice.service.impl;
 
-import com.example.inventoryservice.client.ProductServiceClient;
+import com.example.inventoryservice.client.DefaultRequirementsCache;
 import com.example.inventoryservice.dto.*;
-import com.example.inventoryservice.model.InventoryItem;
 import com.example.inventoryservice.model.InventoryRequirements;
-import com.example.inventoryservice.repository.InventoryRepository;
 import com.example.inventoryservice.repository.InventoryRequirementsRepository;
 import com.example.inventoryservice.service.InventoryRequirementsService;
+import com.example.inventoryservice.service.ShoppingListProjectionService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 @Slf4j
 @Service
@@ -25,40 +24,15 @@ import java.util.stream.Stream;
 public class InventoryRequirementsServiceImpl implements InventoryRequirementsService {
 
     private final InventoryRequirementsRepository inventoryRequirementsRepository;
-    private final InventoryRepository inventoryRepository;
-    private final ProductServiceClient productServiceClient;
+    private final DefaultRequirementsCache defaultRequirementsCache;
+    private final ShoppingListProjectionService shoppingListProjectionService;
 
     @Override
     @Transactional(readOnly = true)
     public List<ShoppngListItemResponse> getShoppingList(UUID installationId) {
         log.info("Generating shopping list for installationId: {}", installationId);
 
-        List<InventoryRequirements> requirements = inventoryRequirementsRepository.findAllByInstallationId(installationId);
-        List<InventoryItem> currentInventory = inventoryRepository.findAllByInstallationId(installationId);
-
-        Map<Long, Integer> inventoryMap = currentInventory.stream()
-                .collect(Collectors.groupingBy(
-                        InventoryItem::getGenericProductId,
-                        Collectors.summingInt(InventoryItem::getQuantity)
-                ));
-
-        return requirements.stream()
-                .flatMap(req -> {
-                    int currentQty = inventoryMap.getOrDefault(req.getGenericProductId(), 0);
-                    int missing = req.getMinimumQuantity() - currentQty;
-
-                    if (missing > 0) {
-                        return Stream.of(new ShoppngListItemResponse(
-                                req.getGenericProductId(),
-                                req.getGenericProductName(),
-                                currentQty,
-                                req.getMinimumQuantity(),
-                                missing
-                        ));
-                    }
-                    return Stream.empty();
-                })
-                .toList();
+        return shoppingListProjectionService.getShoppingList(installationId);
     }
 
     @Override
@@ -75,6 +49,7 @@ public class InventoryRequirementsServiceImpl implements InventoryRequirementsSe
     public InventoryRequirementsResponse addInventoryRequiredItem(UUID installationId, CreateInventoryRequiredItemRequest request) {
         InventoryRequirements entity = mapToEntity(installationId, request);
         InventoryRequirements saved = inventoryRequirementsRepository.save(entity);
+        shoppingListProjectionService.refresh(installationId, List.of(saved.getGenericProductId()));
         log.info("Added requirement for generic product: {}", request.getGenericProductName());
         return mapToResponse(saved);
     }
@@ -86,9 +61,12 @@ public class InventoryRequirementsServiceImpl implements InventoryRequirementsSe
                 .map(req -> mapToEntity(installationId, req))
                 .toList();
 
-        return inventoryRequirementsRepository.saveAll(entities).stream()
+        List<InventoryRequirementsResponse> saved = inventoryRequirementsRepository.saveAll(entities).stream()
                 .map(this::mapToResponse)
                 .toList();
+        shoppingListProjectionService.refresh(installationId,
+                saved.stream().map(InventoryRequirementsResponse::getGenericProductId).toList());
+        return saved;
     }
 
     @Override
@@ -103,6 +81,7 @@ public class InventoryRequirementsServiceImpl implements InventoryRequirementsSe
         }
 
         InventoryRequirements saved = inventoryRequirementsRepository.save(item);
+        shoppingListProjectionService.refresh(installationId, List.of(genericProductId));
         return mapToResponse(saved);
     }
 
@@ -110,26 +89,32 @@ public class InventoryRequirementsServiceImpl implements InventoryRequirementsSe
     @Transactional
     public void deleteItem(UUID installationId, Long genericProductId) {
         inventoryRequirementsRepository.deleteByInstallationIdAndGenericProductId(installationId, genericProductId);
+        shoppingListProjectionService.refresh(installationId, List.of(genericProductId));
         log.info("Deleted requirement for installation: {}, genericProductId: {}", installationId, genericProductId);
     }
 
     @Override
     @Transactional
     public AddDefaultRequirementsResponse addDefaultRequirements(UUID installationId) {
-        List<DefaultRequirementItemDto> defaultItems = productServiceClient.getDefaultRequirementItems();
+        List<DefaultRequirementItemDto> defaultItems = defaultRequirementsCache.getDefaultRequirementItems();
+
+        // one lookup for everything already required instead of an existence check per default
+        Set<Long> existingProductIds = inventoryRequirementsRepository
+                .findByInstallationIdAndGenericProductIdIn(
+                        installationId,
+                        defaultItems.stream().map(DefaultRequirementItemDto::genericProductId).toList()
+                )
+                .stream()
+                .map(InventoryRequirements::getGenericProductId)
+                .collect(Collectors.toCollection(HashSet::new));
 
-        int addedCount = 0;
         int skippedCount = 0;
 
         List<InventoryRequirements> itemsToSave = new ArrayList<>();
 
         for (DefaultRequirementItemDto defaultItem : defaultItems) {
-            boolean exists = inventoryRequirementsRepository.existsByInstallationIdAndGenericProductId(
-                    installationId,
-                    defaultItem.genericProductId()
-            );
-
-            if (exists) {
+            // add() also skips a product listed twice in the defaults
+            if (!existingProductIds.add(defaultItem.genericProductId())) {
                 skippedCount++;
                 continue;
             }
@@ -143,11 +128,13 @@ public class InventoryRequirementsServiceImpl implements InventoryRequirementsSe
             );
 
             itemsToSave.add(item);
-            addedCount++;
         }
+        int addedCount = itemsToSave.size();
 
         if (!itemsToSave.isEmpty()) {
             inventoryRequirementsRepository.saveAll(itemsToSave);
+            shoppingListProjectionService.refresh(installationId,
+                    itemsToSave.stream().map(InventoryRequirements::getGenericProductId).toList());
         }
 
         log.info("Added {} default requirements and skipped {} existing ones for installation {}",
@@ -159,6 +146,7 @@ public class InventoryRequirementsServiceImpl implements InventoryRequirementsSe
     @Transactional
     public void deleteItems(UUID installationId, List<Long> genericProductIds) {
         inventoryRequirementsRepository.deleteAllByInstallationIdAndGenericProductIdIn(installationId, genericProductIds);
+        shoppingListProjectionService.refresh(installationId, genericProductIds);
         log.info("Deleted {} requirement items for installation: {}", genericProductIds.size(), installationId);
     }
 
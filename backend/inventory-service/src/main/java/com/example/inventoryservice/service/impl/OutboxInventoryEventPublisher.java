@@ -0,0 +1,71 @@
+package com.example.inventoryservice.service.impl;
+
+import com.example.inventoryeventcontract.InventoryEventMessage;
+import com.example.inventoryeventcontract.InventoryEventReason;
+import com.example.inventoryeventcontract.InventoryEventType;
+import com.example.inventoryservice.repository.InventoryEventOutboxRepository.OutboxRow;
+import com.example.inventoryservice.repository.InventoryEventOutboxRepository;
+import com.example.inventoryservice.service.InventoryEventPublisher;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Records events in the outbox table as part of the caller's transaction, so an event exists
+ * exactly when the change it describes was committed. {@code InventoryEventOutboxRelay} sends them.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OutboxInventoryEventPublisher implements InventoryEventPublisher {
+
+    private final InventoryEventOutboxRepository inventoryEventOutboxRepository;
+    private final JsonMapper jsonMapper;
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publish(
+            UUID installationId,
+            Long productId,
+            String productName,
+            Integer quantity,
+            InventoryEventType eventType,
+            InventoryEventReason reason,
+            String details
+    ) {
+        InventoryEventMessage event = InventoryEventMessage.builder()
+                .eventId(UUID.randomUUID())
+                .eventType(eventType)
+                .reason(reason)
+                .installationId(installationId)
+                .productId(productId)
+                .productName(productName)
+                .quantity(quantity)
+                .occurredAt(Instant.now())
+                .sourceService("inventory-service")
+                .details(details)
+                .build();
+
+        publishAll(List.of(event));
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publishAll(List<InventoryEventMessage> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        inventoryEventOutboxRepository.insertAll(events.stream()
+                .map(event -> new OutboxRow(null, event.getEventId(), event.getInstallationId(),
+                        jsonMapper.writeValueAsString(event)))
+                .toList());
+        log.debug("Queued {} inventory events in the outbox", events.size());
+    }
+}
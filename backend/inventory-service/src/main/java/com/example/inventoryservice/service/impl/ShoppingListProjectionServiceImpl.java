@@ -0,0 +1,84 @@
+package com.example.inventoryservice.service.impl;
+
+import com.example.inventoryservice.dto.ShoppngListItemResponse;
+import com.example.inventoryservice.model.ShoppingListEntry;
+import com.example.inventoryservice.repository.ShoppingListEntryRepository;
+import com.example.inventoryservice.service.ShoppingListProjectionService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Keeps the shopping_list_entry projection in sync with inventory items and requirements.
+ * Writers call {@link #refresh} inside their own transaction so the projection commits
+ * (or rolls back) together with the change that affected it; writers of one installation
+ * take turns on an advisory lock, so each recomputes from the others' committed changes.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ShoppingListProjectionServiceImpl implements ShoppingListProjectionService {
+
+    private static final int LOCK_SPACE = 0x73686f70;
+
+    private final ShoppingListEntryRepository shoppingListEntryRepository;
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ShoppngListItemResponse> getShoppingList(UUID installationId) {
+        return shoppingListEntryRepository.findAllByInstallationIdOrderByPosition(installationId)
+                .stream()
+                .map(this::mapToResponse)
+                .toList();
+    }
+
+    @Override
+    @Transactional
+    public void refresh(UUID installationId, Collection<Long> genericProductIds) {
+        if (genericProductIds.isEmpty()) {
+            return;
+        }
+        lock(installationId);
+        shoppingListEntryRepository.deleteEntries(installationId, genericProductIds);
+        shoppingListEntryRepository.upsertEntries(installationId, genericProductIds);
+        log.debug("Refreshed shopping list for installation {} products {}", installationId, genericProductIds);
+    }
+
+    @Override
+    @Transactional
+    public int rebuild(UUID installationId) {
+        lock(installationId);
+        shoppingListEntryRepository.deleteAllEntries(installationId);
+        int count = shoppingListEntryRepository.insertEntries(installationId);
+        log.info("Rebuilt shopping list for installation {}: {} entries", installationId, count);
+        return count;
+    }
+
+    @Override
+    @Transactional
+    public int rebuildAll() {
+        shoppingListEntryRepository.deleteAllInstallations();
+        int count = shoppingListEntryRepository.insertAllInstallations();
+        log.info("Rebuilt shopping list for all installations: {} entries", count);
+        return count;
+    }
+
+    private void lock(UUID installationId) {
+        shoppingListEntryRepository.lockInstallation(LOCK_SPACE, installationId.hashCode());
+    }
+
+    private ShoppngListItemResponse mapToResponse(ShoppingListEntry entry) {
+        return new ShoppngListItemResponse(
+                entry.getGenericProductId(),
+                entry.getGenericProductName(),
+                entry.getCurrentQuantity(),
+                entry.getRequiredQuantity(),
+                entry.getMissingQuantity()
+        );
+    }
+}
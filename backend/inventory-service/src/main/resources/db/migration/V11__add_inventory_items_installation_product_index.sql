@@ -0,0 +1,4 @@
+-- Supports the shopping list aggregate (requirements LEFT JOIN items per generic product)
+-- and every per-installation lookup; the partial unique indexes cannot serve these.
+CREATE INDEX IF NOT EXISTS idx_inventory_items_installation_product
+    ON inventory_items (installation_id, generic_product_id);
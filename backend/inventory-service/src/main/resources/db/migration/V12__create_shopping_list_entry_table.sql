@@ -0,0 +1,34 @@
+-- Materialized shopping list: one row per (installation, generic product) that is below its minimum.
+-- Maintained transactionally by inventory-service on every item / requirement change.
+CREATE TABLE shopping_list_entry (
+    id BIGSERIAL PRIMARY KEY,
+
+    installation_id UUID NOT NULL,
+    generic_product_id BIGINT NOT NULL,
+    generic_product_name VARCHAR(1000) NOT NULL,
+
+    current_quantity INTEGER NOT NULL,
+    required_quantity INTEGER NOT NULL,
+    missing_quantity INTEGER NOT NULL,
+
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL,
+
+    CONSTRAINT uq_shopping_list_entry_installation_product
+        UNIQUE (installation_id, generic_product_id)
+);
+
+INSERT INTO shopping_list_entry (installation_id, generic_product_id, generic_product_name,
+                                 current_quantity, required_quantity, missing_quantity, updated_at)
+SELECT r.installation_id,
+       r.generic_product_id,
+       r.generic_product_name,
+       COALESCE(SUM(i.quantity), 0),
+       r.minimum_quantity,
+       r.minimum_quantity - COALESCE(SUM(i.quantity), 0),
+       now()
+FROM inventory_requirements r
+LEFT JOIN inventory_items i
+    ON i.installation_id = r.installation_id
+    AND i.generic_product_id = r.generic_product_id
+GROUP BY r.id
+HAVING r.minimum_quantity - COALESCE(SUM(i.quantity), 0) > 0;
@@ -0,0 +1,3 @@
+-- Keyset pagination and streaming walk an installation's items in id order.
+CREATE INDEX IF NOT EXISTS idx_inventory_items_installation_id_id
+    ON inventory_items (installation_id, id);
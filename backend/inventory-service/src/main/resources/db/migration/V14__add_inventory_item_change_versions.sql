@@ -0,0 +1,27 @@
+-- Per-installation change counter used for delta sync of inventory items.
+CREATE TABLE installation_change_versions (
+    installation_id UUID PRIMARY KEY,
+    version BIGINT NOT NULL
+);
+
+ALTER TABLE inventory_items ADD COLUMN change_version BIGINT NOT NULL DEFAULT 1;
+ALTER TABLE inventory_items ALTER COLUMN change_version DROP DEFAULT;
+
+INSERT INTO installation_change_versions (installation_id, version)
+SELECT DISTINCT installation_id, 1
+FROM inventory_items;
+
+CREATE INDEX idx_inventory_items_installation_change_version
+    ON inventory_items (installation_id, change_version);
+
+-- Deleted items, so clients syncing from an older version can drop them locally.
+CREATE TABLE inventory_item_tombstones (
+    id BIGSERIAL PRIMARY KEY,
+    installation_id UUID NOT NULL,
+    item_id BIGINT NOT NULL,
+    change_version BIGINT NOT NULL,
+    deleted_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+CREATE INDEX idx_inventory_item_tombstones_installation_change_version
+    ON inventory_item_tombstones (installation_id, change_version);
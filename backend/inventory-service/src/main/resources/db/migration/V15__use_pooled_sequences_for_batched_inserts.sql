@@ -0,0 +1,7 @@
+-- Hibernate reserves 50 ids per sequence call (pooled optimizer), so it no longer needs
+-- IDENTITY's per-row INSERT ... RETURNING and can batch inserts. Column defaults keep
+-- working: each nextval() call simply skips ahead a whole block.
+ALTER SEQUENCE inventory_items_id_seq INCREMENT BY 50;
+ALTER SEQUENCE inventory_requirements_id_seq INCREMENT BY 50;
+ALTER SEQUENCE notes_id_seq INCREMENT BY 50;
+ALTER SEQUENCE shopping_list_entry_id_seq INCREMENT BY 50;
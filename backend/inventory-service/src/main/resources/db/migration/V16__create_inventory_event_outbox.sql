@@ -0,0 +1,9 @@
+-- Inventory events written in the same transaction as the change that caused them and
+-- relayed to Kafka afterwards, in id order, by InventoryEventOutboxRelay.
+CREATE TABLE inventory_event_outbox (
+    id BIGSERIAL PRIMARY KEY,
+    event_id UUID NOT NULL,
+    installation_id UUID NOT NULL,
+    payload JSONB NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now()
+);
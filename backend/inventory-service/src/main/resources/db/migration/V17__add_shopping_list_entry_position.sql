@@ -0,0 +1,14 @@
+-- The shopping list is read in requirement order. Each entry carries its requirement's id as its
+-- position, so the read is one walk of this index instead of a join on inventory_requirements.
+ALTER TABLE shopping_list_entry ADD COLUMN position BIGINT;
+
+UPDATE shopping_list_entry e
+SET position = r.id
+FROM inventory_requirements r
+WHERE r.installation_id = e.installation_id
+  AND r.generic_product_id = e.generic_product_id;
+
+ALTER TABLE shopping_list_entry ALTER COLUMN position SET NOT NULL;
+
+CREATE INDEX IF NOT EXISTS idx_shopping_list_entry_installation_position
+    ON shopping_list_entry (installation_id, position);
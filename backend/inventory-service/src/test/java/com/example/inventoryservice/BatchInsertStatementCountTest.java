@@ -0,0 +1,63 @@
+package com.example.inventoryservice;
+
+import com.example.inventoryservice.model.InventoryRequirements;
+import com.example.inventoryservice.repository.InventoryRequirementsRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Guards against falling back to IDENTITY ids, which makes Hibernate insert one row per round trip.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class BatchInsertStatementCountTest {
+
+    private static final int ROWS = 500;
+    private static final int BATCH_SIZE = 50;
+
+    @Autowired
+    private InventoryRequirementsRepository requirementsRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final UUID installationId = UUID.randomUUID();
+
+    @AfterEach
+    void cleanUp() {
+        requirementsRepository.deleteAll(requirementsRepository.findAllByInstallationId(installationId));
+    }
+
+    @Test
+    void saveAllBatchesInserts() {
+        List<InventoryRequirements> requirements = new ArrayList<>();
+        for (long productId = 1; productId <= ROWS; productId++) {
+            InventoryRequirements requirement = new InventoryRequirements();
+            requirement.setInstallationId(installationId);
+            requirement.setGenericProductId(productId);
+            requirement.setGenericProductName("Product " + productId);
+            requirement.setMinimumQuantity(1);
+            requirements.add(requirement);
+        }
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        requirementsRepository.saveAll(requirements);
+
+        // one insert statement reused for every batch, plus one sequence call per block of 50 ids;
+        // unbatched inserts would prepare a statement per row
+        assertEquals(ROWS, statistics.getEntityInsertCount());
+        assertEquals(1 + ROWS / BATCH_SIZE, statistics.getPrepareStatementCount());
+    }
+}
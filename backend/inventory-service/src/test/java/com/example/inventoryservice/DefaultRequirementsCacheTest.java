@@ -0,0 +1,171 @@
+package com.example.inventoryservice;
+
+import com.example.inventoryservice.client.DefaultRequirementsCache;
+import com.example.inventoryservice.client.ProductServiceClient;
+import com.example.inventoryservice.dto.DefaultRequirementItemDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class DefaultRequirementsCacheTest {
+
+    private static final List<DefaultRequirementItemDto> FIRST = List.of(new DefaultRequirementItemDto(1L, "Milk", 2));
+    private static final List<DefaultRequirementItemDto> SECOND = List.of(new DefaultRequirementItemDto(2L, "Eggs", 6));
+
+    private final ProductServiceClient client = mock(ProductServiceClient.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final MutableClock clock = new MutableClock();
+    private final DefaultRequirementsCache cache = new DefaultRequirementsCache(
+            client, meterRegistry, Duration.ofMinutes(5), Duration.ofHours(1), Duration.ofSeconds(30), clock);
+
+    @Test
+    void servesSnapshotWithoutCallingProductService() {
+        when(client.getDefaultRequirementItems()).thenReturn(FIRST);
+
+        assertEquals(FIRST, cache.getDefaultRequirementItems());
+        assertEquals(FIRST, cache.getDefaultRequirementItems());
+
+        verify(client, times(1)).getDefaultRequirementItems();
+        assertEquals(1.0, cacheCount("miss"));
+        assertEquals(1.0, cacheCount("hit"));
+    }
+
+    @Test
+    void refreshesAheadInBackground() {
+        when(client.getDefaultRequirementItems()).thenReturn(FIRST, SECOND);
+        cache.getDefaultRequirementItems();
+
+        clock.advance(Duration.ofMinutes(6));
+        // the old snapshot is returned immediately while the reload runs
+        assertEquals(FIRST, cache.getDefaultRequirementItems());
+
+        verify(client, timeout(1000).times(2)).getDefaultRequirementItems();
+        assertEquals(SECOND, awaitSnapshot(SECOND));
+    }
+
+    @Test
+    void servesExpiredSnapshotWithoutWaitingForProductService() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(client.getDefaultRequirementItems())
+                .thenReturn(FIRST)
+                .thenAnswer(invocation -> {
+                    release.await();
+                    return SECOND;
+                });
+        cache.getDefaultRequirementItems();
+
+        clock.advance(Duration.ofHours(2));
+        try {
+            // the reload hangs, yet every caller gets the expired snapshot at once
+            for (int i = 0; i < 10; i++) {
+                assertEquals(FIRST, assertTimeoutPreemptively(Duration.ofSeconds(1), cache::getDefaultRequirementItems));
+            }
+            verify(client, timeout(1000).times(2)).getDefaultRequirementItems();
+            assertEquals(10.0, cacheCount("stale"));
+        } finally {
+            release.countDown();
+        }
+        assertEquals(SECOND, awaitSnapshot(SECOND));
+    }
+
+    @Test
+    void failedRefreshIsNotRetriedUntilTheBackoffPasses() {
+        when(client.getDefaultRequirementItems())
+                .thenReturn(FIRST)
+                .thenThrow(new ResourceAccessException("product-service unavailable"))
+                .thenReturn(SECOND);
+        cache.getDefaultRequirementItems();
+
+        clock.advance(Duration.ofHours(2));
+        assertEquals(FIRST, cache.getDefaultRequirementItems());
+        verify(client, timeout(1000).times(2)).getDefaultRequirementItems();
+        await().atMost(1, TimeUnit.SECONDS).until(() -> refreshCount("failure") == 1.0);
+
+        clock.advance(Duration.ofSeconds(10));
+        for (int i = 0; i < 10; i++) {
+            assertEquals(FIRST, cache.getDefaultRequirementItems());
+        }
+        verify(client, times(2)).getDefaultRequirementItems();
+
+        clock.advance(Duration.ofSeconds(30));
+        assertEquals(SECOND, awaitSnapshot(SECOND));
+        verify(client, times(3)).getDefaultRequirementItems();
+    }
+
+    @Test
+    void firstLoadFailurePropagatesToEveryCallerWithinTheBackoff() {
+        when(client.getDefaultRequirementItems())
+                .thenThrow(new ResourceAccessException("product-service unavailable"))
+                .thenReturn(FIRST);
+
+        assertThrows(ResourceAccessException.class, cache::getDefaultRequirementItems);
+        assertThrows(ResourceAccessException.class, cache::getDefaultRequirementItems);
+        verify(client, times(1)).getDefaultRequirementItems();
+
+        clock.advance(Duration.ofSeconds(31));
+        assertEquals(FIRST, cache.getDefaultRequirementItems());
+        verify(client, times(2)).getDefaultRequirementItems();
+    }
+
+    private List<DefaultRequirementItemDto> awaitSnapshot(List<DefaultRequirementItemDto> expected) {
+        long deadline = System.currentTimeMillis() + 1000;
+        List<DefaultRequirementItemDto> current = cache.getDefaultRequirementItems();
+        while (!expected.equals(current) && System.currentTimeMillis() < deadline) {
+            Thread.onSpinWait();
+            current = cache.getDefaultRequirementItems();
+        }
+        return current;
+    }
+
+    private double refreshCount(String outcome) {
+        return meterRegistry.get("inventory.product-service.default-requirements.refresh")
+                .tag("outcome", outcome).counter().count();
+    }
+
+    private double cacheCount(String result) {
+        return meterRegistry.get("inventory.product-service.default-requirements.cache")
+                .tag("result", result).counter().count();
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now = Instant.parse("2025-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.example.inventoryservice;
+
+import com.example.inventoryservice.config.RestTemplateConfig;
+import com.sun.net.httpserver.HttpServer;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Drives the bare and the pooled RestTemplate against a local server with a fixed service time
+ * and logs latency percentiles under concurrent load.
+ */
+@Slf4j
+class InterServiceHttpClientBenchmarkTest {
+
+    private static final int CALLERS = 32;
+    private static final int CALLS_PER_CALLER = 50;
+    private static final long SERVICE_TIME_MILLIS = 5;
+    private static final byte[] BODY = "[{\"genericProductId\":1,\"genericProductName\":\"Milk\",\"defaultMinimumQuantity\":2}]"
+            .getBytes(StandardCharsets.UTF_8);
+
+    private final RestTemplateConfig config = new RestTemplateConfig();
+    private final Set<InetSocketAddress> clientConnections = ConcurrentHashMap.newKeySet();
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private String baseUrl;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/defaults", exchange -> {
+            clientConnections.add(exchange.getRemoteAddress());
+            sleep(SERVICE_TIME_MILLIS);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, BODY.length);
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(BODY);
+            }
+        });
+        server.createContext("/hang", exchange -> {
+            sleep(10_000);
+            exchange.sendResponseHeaders(204, -1);
+            exchange.close();
+        });
+        serverExecutor = Executors.newFixedThreadPool(CALLERS * 2);
+        server.setExecutor(serverExecutor);
+        server.start();
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Test
+    void pooledClientUnderConcurrentLoad() throws Exception {
+        long[] bare = run(new RestTemplate());
+
+        try (PoolingHttpClientConnectionManager connectionManager = connectionManager(Duration.ofSeconds(5));
+             CloseableHttpClient httpClient = httpClient(connectionManager, Duration.ofSeconds(5))) {
+            RestTemplate restTemplate = config.restTemplate(httpClient);
+            clientConnections.clear();
+            long[] pooled = run(restTemplate);
+            int connectionsAfterFirstRound = clientConnections.size();
+            run(restTemplate);
+
+            log.info("{} callers x {} calls, {} ms service time: bare p50={} ms p99={} ms, pooled p50={} ms p99={} ms",
+                    CALLERS, CALLS_PER_CALLER, SERVICE_TIME_MILLIS,
+                    percentile(bare, 50), percentile(bare, 99), percentile(pooled, 50), percentile(pooled, 99));
+            assertEquals(CALLERS * CALLS_PER_CALLER, pooled.length);
+            // connections are kept after the calls and reused by the next round instead of opened per call
+            assertTrue(connectionManager.getTotalStats().getAvailable() > 0);
+            assertTrue(connectionsAfterFirstRound <= CALLERS,
+                    "opened " + connectionsAfterFirstRound + " connections for " + CALLERS + " callers");
+            assertTrue(clientConnections.size() <= CALLERS,
+                    "opened " + clientConnections.size() + " connections over two rounds of " + CALLERS + " callers");
+        }
+    }
+
+    @Test
+    void hungPeerIsCutOffByReadTimeout() throws Exception {
+        try (PoolingHttpClientConnectionManager connectionManager = connectionManager(Duration.ofMillis(200));
+             CloseableHttpClient httpClient = httpClient(connectionManager, Duration.ofMillis(200))) {
+            RestTemplate restTemplate = config.restTemplate(httpClient);
+
+            long start = System.nanoTime();
+            assertThrows(ResourceAccessException.class, () -> restTemplate.getForObject(baseUrl + "/hang", String.class));
+            assertTrue(Duration.ofNanos(System.nanoTime() - start).toMillis() < 2_000);
+        }
+    }
+
+    private long[] run(RestTemplate restTemplate) throws Exception {
+        ExecutorService callers = Executors.newFixedThreadPool(CALLERS);
+        try {
+            List<Future<long[]>> futures = new ArrayList<>();
+            for (int i = 0; i < CALLERS; i++) {
+                futures.add(callers.submit(() -> {
+                    long[] latencies = new long[CALLS_PER_CALLER];
+                    for (int call = 0; call < CALLS_PER_CALLER; call++) {
+                        long start = System.nanoTime();
+                        restTemplate.getForObject(baseUrl + "/defaults", String.class);
+                        latencies[call] = System.nanoTime() - start;
+                    }
+                    return latencies;
+                }));
+            }
+            List<Long> all = new ArrayList<>();
+            for (Future<long[]> future : futures) {
+                Arrays.stream(future.get()).forEach(all::add);
+            }
+            return all.stream().mapToLong(Long::longValue).sorted().toArray();
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+
+    private PoolingHttpClientConnectionManager connectionManager(Duration readTimeout) {
+        return config.interServiceConnectionManager(100, CALLERS, Duration.ofSeconds(1), readTimeout);
+    }
+
+    private CloseableHttpClient httpClient(PoolingHttpClientConnectionManager connectionManager, Duration readTimeout) {
+        return config.interServiceHttpClient(connectionManager, Duration.ofSeconds(1), readTimeout, Duration.ofSeconds(30));
+    }
+
+    private static double percentile(long[] sortedNanos, int percentile) {
+        int index = Math.min(sortedNanos.length - 1, (int) Math.ceil(percentile / 100.0 * sortedNanos.length) - 1);
+        return sortedNanos[index] / 1_000_000.0;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.inventoryservice;
+
+import com.example.inventoryeventcontract.InventoryEventBinaryCodec;
+import com.example.inventoryeventcontract.InventoryEventMessage;
+import com.example.inventoryeventcontract.InventoryEventReason;
+import com.example.inventoryeventcontract.InventoryEventType;
+import lombok.extern.slf4j.Slf4j;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH comparison of the JSON and binary inventory event encodings. Not part of the test run;
+ * after {@code mvn test-compile} start it with
+ * {@code java -cp target/test-classes:target/classes:<test classpath> com.example.inventoryservice.InventoryEventCodecBenchmark}.
+ */
+@Slf4j
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InventoryEventCodecBenchmark {
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+
+    private InventoryEventMessage event;
+    private byte[] json;
+    private byte[] binary;
+
+    @Setup
+    public void setUp() {
+        event = InventoryEventMessage.builder()
+                .eventId(UUID.randomUUID())
+                .eventType(InventoryEventType.ITEM_DEPLETED)
+                .reason(InventoryEventReason.CONSUMED)
+                .installationId(UUID.randomUUID())
+                .productId(1042L)
+                .productName("Semi-skimmed milk 1L")
+                .quantity(2)
+                .occurredAt(Instant.now())
+                .sourceService("inventory-service")
+                .details("Item consumed")
+                .build();
+        json = jsonMapper.writeValueAsBytes(event);
+        binary = InventoryEventBinaryCodec.encode(event);
+        log.info("Encoded size: json={} bytes, binary={} bytes", json.length, binary.length);
+    }
+
+    @Benchmark
+    public byte[] encodeJson() {
+        return jsonMapper.writeValueAsBytes(event);
+    }
+
+    @Benchmark
+    public byte[] encodeBinary() {
+        return InventoryEventBinaryCodec.encode(event);
+    }
+
+    @Benchmark
+    public InventoryEventMessage decodeJson() {
+        return jsonMapper.readValue(json, InventoryEventMessage.class);
+    }
+
+    @Benchmark
+    public InventoryEventMessage decodeBinary() {
+        return InventoryEventBinaryCodec.decode(binary);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(InventoryEventCodecBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
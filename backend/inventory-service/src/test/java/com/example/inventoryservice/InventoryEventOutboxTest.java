@@ -0,0 +1,114 @@
+package com.example.inventoryservice;
+
+import com.example.inventoryeventcontract.InventoryEventMessage;
+import com.example.inventoryeventcontract.InventoryEventType;
+import com.example.inventoryservice.dto.AdjustQuantityRequest;
+import com.example.inventoryservice.dto.CreateInventoryItemRequest;
+import com.example.inventoryservice.dto.InventoryItemResponse;
+import com.example.inventoryservice.event.InventoryEventOutboxRelay;
+import com.example.inventoryservice.exception.InsufficientQuantityException;
+import com.example.inventoryservice.repository.InventoryRepository;
+import com.example.inventoryservice.service.InventoryItemService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest(properties = "app.outbox.relay.interval-ms=3600000")
+class InventoryEventOutboxTest {
+
+    @MockitoBean
+    private KafkaTemplate<String, InventoryEventMessage> kafkaTemplate;
+
+    @Autowired
+    private InventoryItemService inventoryItemService;
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @Autowired
+    private InventoryEventOutboxRelay relay;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private JsonMapper jsonMapper;
+
+    private final UUID installationId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        when(kafkaTemplate.send(anyString(), anyString(), any(InventoryEventMessage.class)))
+                .thenReturn(CompletableFuture.completedFuture(null));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        inventoryRepository.deleteAll(inventoryRepository.findAllByInstallationId(installationId));
+        jdbcTemplate.update("delete from inventory_event_outbox where installation_id = ?", installationId);
+    }
+
+    @Test
+    void eventsAreRecordedWithTheChangeAndRelayedInOrder() {
+        InventoryItemResponse item = inventoryItemService.addNewInventoryItem(createRequest(3));
+        inventoryItemService.consumeItem(installationId, item.getId(), new AdjustQuantityRequest(2, null));
+
+        // rolled back together with the failed update, so no event is left behind
+        assertThrows(InsufficientQuantityException.class, () ->
+                inventoryItemService.consumeItem(installationId, item.getId(), new AdjustQuantityRequest(5, null)));
+        assertEquals(2, outboxDepth());
+
+        relay.relay();
+
+        ArgumentCaptor<InventoryEventMessage> sent = ArgumentCaptor.forClass(InventoryEventMessage.class);
+        verify(kafkaTemplate, atLeastOnce()).send(anyString(), eq(installationId.toString()), sent.capture());
+        List<InventoryEventType> types = sent.getAllValues().stream()
+                .filter(event -> installationId.equals(event.getInstallationId()))
+                .map(InventoryEventMessage::getEventType)
+                .toList();
+        assertEquals(List.of(InventoryEventType.ITEM_ADDED, InventoryEventType.ITEM_DEPLETED), types);
+        assertEquals(0, outboxDepth());
+    }
+
+    @Test
+    void failedSendKeepsEventsForTheNextRun() {
+        when(kafkaTemplate.send(anyString(), anyString(), any(InventoryEventMessage.class)))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker unavailable")));
+        inventoryItemService.addNewInventoryItem(createRequest(1));
+
+        relay.relay();
+
+        assertEquals(1, outboxDepth());
+    }
+
+    private long outboxDepth() {
+        return jdbcTemplate.queryForObject(
+                "select count(*) from inventory_event_outbox where installation_id = ?", Long.class, installationId);
+    }
+
+    private CreateInventoryItemRequest createRequest(int quantity) {
+        return jsonMapper.readValue("""
+                {"installationId": "%s", "genericProductId": 1, "genericProductName": "Milk", "quantity": %d}
+                """.formatted(installationId, quantity), CreateInventoryItemRequest.class);
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.inventoryservice;
+
+import com.example.inventoryeventcontract.InventoryEventMessage;
+import com.example.inventoryeventcontract.InventoryEventReason;
+import com.example.inventoryeventcontract.InventoryEventType;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.serializer.JacksonJsonSerializer;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Sends the same burst of inventory events through the tuned producer profile and through a
+ * producer with client defaults, and logs events/sec and p99 send latency for both.
+ */
+@Slf4j
+@SpringBootTest(properties = "app.outbox.relay.enabled=false")
+@EmbeddedKafka(partitions = 3, topics = "${app.kafka.topic.inventory-events}",
+        bootstrapServersProperty = "spring.kafka.bootstrap-servers")
+class InventoryEventProducerBenchmarkTest {
+
+    private static final int EVENTS = 20_000;
+    private static final int INSTALLATIONS = 50;
+
+    @Autowired
+    private KafkaTemplate<String, InventoryEventMessage> kafkaTemplate;
+
+    @Value("${spring.kafka.bootstrap-servers}")
+    private String bootstrapServers;
+
+    @Value("${app.kafka.topic.inventory-events}")
+    private String topic;
+
+    @Test
+    void tunedProfileThroughput() throws Exception {
+        List<InventoryEventMessage> events = events();
+
+        DefaultKafkaProducerFactory<String, InventoryEventMessage> defaultsFactory = new DefaultKafkaProducerFactory<>(Map.of(
+                ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers,
+                ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class,
+                ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JacksonJsonSerializer.class
+        ));
+        try {
+            KafkaTemplate<String, InventoryEventMessage> defaults = new KafkaTemplate<>(defaultsFactory);
+            run(defaults, events); // warm-up: topic metadata, connections, JIT
+            Result baseline = run(defaults, events);
+
+            run(kafkaTemplate, events);
+            Result tuned = run(kafkaTemplate, events);
+
+            log.info("{} events: client defaults {} events/s p99={} ms, tuned profile {} events/s p99={} ms",
+                    EVENTS, baseline.eventsPerSecond(), baseline.p99Millis(), tuned.eventsPerSecond(), tuned.p99Millis());
+            assertTrue(tuned.eventsPerSecond() > 0);
+        } finally {
+            defaultsFactory.destroy();
+        }
+    }
+
+    private Result run(KafkaTemplate<String, InventoryEventMessage> template, List<InventoryEventMessage> events)
+            throws Exception {
+        long[] latencies = new long[events.size()];
+        CompletableFuture<?>[] sends = new CompletableFuture<?>[events.size()];
+
+        long start = System.nanoTime();
+        for (int i = 0; i < events.size(); i++) {
+            InventoryEventMessage event = events.get(i);
+            int index = i;
+            long sentAt = System.nanoTime();
+            sends[i] = template.send(topic, event.getInstallationId().toString(), event)
+                    .whenComplete((result, ex) -> latencies[index] = System.nanoTime() - sentAt);
+        }
+        CompletableFuture.allOf(sends).get(60, TimeUnit.SECONDS);
+        long elapsed = System.nanoTime() - start;
+
+        Arrays.sort(latencies);
+        double p99Millis = latencies[(int) Math.ceil(0.99 * latencies.length) - 1] / 1_000_000.0;
+        return new Result(Math.round(events.size() / (elapsed / 1_000_000_000.0)), p99Millis);
+    }
+
+    private List<InventoryEventMessage> events() {
+        List<UUID> installations = IntStream.range(0, INSTALLATIONS).mapToObj(i -> UUID.randomUUID()).toList();
+        return IntStream.range(0, EVENTS)
+                .mapToObj(i -> InventoryEventMessage.builder()
+                        .eventId(UUID.randomUUID())
+                        .eventType(InventoryEventType.ITEM_ADDED)
+                        .reason(InventoryEventReason.PURCHASE)
+                        .installationId(installations.get(i % INSTALLATIONS))
+                        .productId((long) (i % 300))
+                        .productName("Product " + (i % 300))
+                        .quantity(1 + i % 5)
+                        .occurredAt(Instant.now())
+                        .sourceService("inventory-service")
+                        .details("Item added to inventory")
+                        .build())
+                .toList();
+    }
+
+    private record Result(long eventsPerSecond, double p99Millis) {
+    }
+}
@@ -0,0 +1,239 @@
+package com.example.inventoryservice;
+
+import com.example.inventoryservice.controller.InventoryController;
+import com.example.inventoryservice.dto.BatchAddInventoryItemsResponse;
+import com.example.inventoryservice.dto.CreateInventoryItemRequest;
+import com.example.inventoryservice.exception.GlobalExceptionHandler;
+import com.example.inventoryservice.model.InventoryItem;
+import com.example.inventoryservice.repository.InventoryItemBatchRepository;
+import com.example.inventoryservice.repository.InventoryRepository;
+import com.example.inventoryservice.service.InventoryItemService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "app.inventory.batch.max-items=4")
+class InventoryItemBatchTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2030, 1, 7);
+    private static final LocalDate FRIDAY = LocalDate.of(2030, 1, 11);
+
+    @Autowired
+    private InventoryItemService inventoryItemService;
+
+    @Autowired
+    private InventoryItemBatchRepository inventoryItemBatchRepository;
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @Autowired
+    private InventoryController inventoryController;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private JsonMapper jsonMapper;
+
+    private TestInstallation installation;
+    private TestInstallation other;
+
+    @BeforeEach
+    void setUp() {
+        installation = new TestInstallation(jsonMapper, jdbcTemplate);
+        other = new TestInstallation(jsonMapper, jdbcTemplate);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        installation.cleanUp();
+        other.cleanUp();
+    }
+
+    @Test
+    void repeatedLinesAreMergedIntoOneRowAndOneEvent() {
+        BatchAddInventoryItemsResponse response = inventoryItemService.addInventoryItems(List.of(
+                installation.createRequest(1, 2, "Pantry", MONDAY),
+                installation.createRequest(2, 1),
+                installation.createRequest(1, 3, null, MONDAY),
+                installation.createRequest(1, 4, "Fridge", MONDAY)));
+
+        assertEquals(new BatchAddInventoryItemsResponse(4, 2), response);
+        assertEquals(Map.of("1/" + MONDAY, 9, "2/-", 1), quantities(installation));
+        // the last location given wins
+        assertEquals("Fridge", jdbcTemplate.queryForObject(
+                "select location from inventory_items where installation_id = ? and generic_product_id = 1",
+                String.class, installation.id));
+        assertEquals(List.of(9, 1), eventQuantities(installation));
+    }
+
+    @Test
+    void itemsWithAndWithoutExpiryMergeIntoTheirOwnRows() {
+        List<CreateInventoryItemRequest> batch = List.of(
+                installation.createRequest(1, 1),
+                installation.createRequest(1, 2, null, MONDAY),
+                installation.createRequest(1, 3, null, FRIDAY));
+
+        inventoryItemService.addInventoryItems(batch);
+        inventoryItemService.addInventoryItems(batch);
+
+        assertEquals(Map.of("1/-", 2, "1/" + MONDAY, 4, "1/" + FRIDAY, 6), quantities(installation));
+        assertEquals(List.of(1, 2, 3, 1, 2, 3), eventQuantities(installation));
+    }
+
+    @Test
+    void everyInstallationGetsOneNewVersion() {
+        inventoryItemService.addNewInventoryItem(other.createRequest(1, 1));
+
+        inventoryItemService.addInventoryItems(List.of(
+                installation.createRequest(1, 1),
+                other.createRequest(2, 1),
+                installation.createRequest(3, 1)));
+
+        assertEquals(1, inventoryRepository.currentChangeVersion(installation.id));
+        assertEquals(2, inventoryRepository.currentChangeVersion(other.id));
+        assertEquals(List.of(1L, 1L), changeVersions(installation));
+    }
+
+    @Test
+    void batchesLockInstallationsInTheSameOrder() throws Exception {
+        List<TestInstallation> sorted = List.of(installation, other).stream()
+                .sorted(Comparator.comparing(test -> test.id))
+                .toList();
+        TestInstallation first = sorted.get(0);
+        TestInstallation second = sorted.get(1);
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        // a batch listing the later installation first must still wait on the earlier one before locking anything
+        CompletableFuture<BatchAddInventoryItemsResponse> reversed = new CompletableFuture<>();
+        transaction.executeWithoutResult(status -> {
+            inventoryRepository.nextChangeVersion(first.id);
+
+            CompletableFuture.supplyAsync(() -> inventoryItemService.addInventoryItems(List.of(
+                            second.createRequest(1, 1), first.createRequest(1, 1))))
+                    .whenComplete((result, error) -> {
+                        if (error != null) {
+                            reversed.completeExceptionally(error);
+                        } else {
+                            reversed.complete(result);
+                        }
+                    });
+            await().atMost(10, TimeUnit.SECONDS).until(() -> jdbcTemplate.queryForObject(
+                    "select count(*) from pg_locks where not granted", Integer.class) > 0);
+
+            inventoryRepository.nextChangeVersion(second.id);
+        });
+
+        assertEquals(new BatchAddInventoryItemsResponse(2, 2), reversed.get(10, TimeUnit.SECONDS));
+        assertEquals(2, inventoryRepository.currentChangeVersion(first.id));
+        assertEquals(2, inventoryRepository.currentChangeVersion(second.id));
+    }
+
+    @Test
+    void batchOverTheLimitIsRejectedBeforeAnythingIsStored() throws Exception {
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(inventoryController)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+        List<CreateInventoryItemRequest> batch = List.of(
+                installation.createRequest(1, 1),
+                installation.createRequest(2, 1),
+                installation.createRequest(3, 1),
+                installation.createRequest(4, 1));
+        List<CreateInventoryItemRequest> tooLarge = new ArrayList<>(batch);
+        tooLarge.add(installation.createRequest(5, 1));
+
+        mockMvc.perform(post("/inventory/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(jsonMapper.writeValueAsString(tooLarge)))
+                .andExpect(status().isContentTooLarge())
+                .andExpect(jsonPath("$.error").value("BATCH_TOO_LARGE"));
+        assertEquals(Map.of(), quantities(installation));
+
+        mockMvc.perform(post("/inventory/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(jsonMapper.writeValueAsString(batch)))
+                .andExpect(status().isCreated());
+        assertEquals(4, quantities(installation).size());
+    }
+
+    @Test
+    void repositoryUpsertKeepsExistingValuesThatAreNotGiven() {
+        inventoryItemBatchRepository.upsertAll(List.of(
+                item(1, 2, "Pantry", "opened", null, 1),
+                item(2, 1, "Fridge", null, MONDAY, 1)));
+        inventoryItemBatchRepository.upsertAll(List.of(
+                item(1, 3, null, "sealed", null, 5),
+                item(2, 4, null, null, MONDAY, 5),
+                item(2, 1, null, null, FRIDAY, 5)));
+
+        assertEquals(Map.of("1/-", 5, "2/" + MONDAY, 5, "2/" + FRIDAY, 1), quantities(installation));
+        assertEquals(List.of("1|Pantry|sealed|5", "2|Fridge|null|5", "2|null|null|5"), jdbcTemplate.queryForList("""
+                select generic_product_id || '|' || coalesce(location, 'null') || '|' || coalesce(notes, 'null')
+                       || '|' || change_version
+                from inventory_items where installation_id = ? order by id
+                """, String.class, installation.id));
+    }
+
+    private InventoryItem item(long productId, int quantity, String location, String notes, LocalDate bestBefore,
+                               long changeVersion) {
+        InventoryItem item = new InventoryItem();
+        item.setInstallationId(installation.id);
+        item.setGenericProductId(productId);
+        item.setGenericProductName("Product " + productId);
+        item.setQuantity(quantity);
+        item.setLocation(location);
+        item.setNotes(notes);
+        item.setBestBefore(bestBefore);
+        item.setChangeVersion(changeVersion);
+        return item;
+    }
+
+    /** Quantity per {@code product/bestBefore}, with {@code -} for items that do not expire. */
+    private Map<String, Integer> quantities(TestInstallation test) {
+        return jdbcTemplate.queryForList("""
+                        select generic_product_id || '/' || coalesce(best_before::text, '-') as item_key, quantity
+                        from inventory_items where installation_id = ?
+                        """, test.id).stream()
+                .collect(Collectors.toMap(row -> (String) row.get("item_key"), row -> (Integer) row.get("quantity")));
+    }
+
+    private List<Long> changeVersions(TestInstallation test) {
+        return jdbcTemplate.queryForList(
+                "select change_version from inventory_items where installation_id = ? order by id",
+                Long.class, test.id);
+    }
+
+    private List<Integer> eventQuantities(TestInstallation test) {
+        return jdbcTemplate.queryForList(
+                "select (payload->>'quantity')::int from inventory_event_outbox where installation_id = ? order by id",
+                Integer.class, test.id);
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.inventoryservice;
+
+import com.example.inventoryeventcontract.InventoryEventReason;
+import com.example.inventoryservice.dto.AdjustQuantityRequest;
+import com.example.inventoryservice.dto.DeleteInventoryItemRequest;
+import com.example.inventoryservice.dto.InventoryItemChangesResponse;
+import com.example.inventoryservice.dto.InventoryItemResponse;
+import com.example.inventoryservice.service.InventoryItemService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class InventoryItemChangesTest {
+
+    @Autowired
+    private InventoryItemService inventoryItemService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private JsonMapper jsonMapper;
+
+    private TestInstallation installation;
+
+    @BeforeEach
+    void setUp() {
+        installation = new TestInstallation(jsonMapper, jdbcTemplate);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        installation.cleanUp();
+    }
+
+    @Test
+    void sinceZeroReturnsEveryItemAndTheCurrentVersion() {
+        List<Long> ids = List.of(add(1, 2), add(2, 2), add(3, 2));
+
+        InventoryItemChangesResponse changes = changesSince(0);
+
+        assertEquals(3, changes.version());
+        assertEquals(ids, itemIds(changes));
+        assertEquals(List.of(), changes.deletedItemIds());
+        assertEquals(changes.version(), changesSince(changes.version()).version());
+        assertEquals(List.of(), itemIds(changesSince(changes.version())));
+    }
+
+    @Test
+    void deletedItemIsReturnedAsTombstone() {
+        long kept = add(1, 2);
+        long deleted = add(2, 2);
+        long version = changesSince(0).version();
+
+        inventoryItemService.deleteItem(installation.id, deleted,
+                new DeleteInventoryItemRequest(InventoryEventReason.MANUAL_UPDATE, null));
+
+        InventoryItemChangesResponse changes = changesSince(version);
+        assertEquals(version + 1, changes.version());
+        assertEquals(List.of(), itemIds(changes));
+        assertEquals(List.of(deleted), changes.deletedItemIds());
+        // a client syncing from scratch never saw the item, but still gets its tombstone
+        assertEquals(List.of(kept), itemIds(changesSince(0)));
+        assertEquals(List.of(deleted), changesSince(0).deletedItemIds());
+    }
+
+    @Test
+    void consumeMovesTheItemPastTheLastSyncedVersion() {
+        long consumed = add(1, 5);
+        add(2, 5);
+        long version = changesSince(0).version();
+
+        inventoryItemService.consumeItem(installation.id, consumed, new AdjustQuantityRequest(2, null));
+
+        InventoryItemChangesResponse changes = changesSince(version);
+        assertEquals(version + 1, changes.version());
+        assertEquals(List.of(consumed), itemIds(changes));
+        assertEquals(3, changes.changedItems().get(0).getQuantity());
+    }
+
+    @Test
+    void changeCommittedAfterTheVersionReadIsReturnedOnTheNextSync() throws Exception {
+        add(1, 2);
+        long version = changesSince(0).version();
+
+        // the writer holds its new version uncommitted while a client syncs
+        long added = new TransactionTemplate(transactionManager).execute(status -> {
+            long id = add(2, 2);
+            InventoryItemChangesResponse during = read(version);
+            assertEquals(version, during.version());
+            assertEquals(List.of(), itemIds(during));
+            return id;
+        });
+
+        InventoryItemChangesResponse next = changesSince(version);
+        assertTrue(next.version() > version);
+        assertEquals(List.of(added), itemIds(next));
+    }
+
+    private InventoryItemChangesResponse read(long since) {
+        try {
+            return CompletableFuture.supplyAsync(() -> changesSince(since)).get(10, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private long add(long productId, int quantity) {
+        return inventoryItemService.addNewInventoryItem(installation.createRequest(productId, quantity)).getId();
+    }
+
+    private InventoryItemChangesResponse changesSince(long since) {
+        return inventoryItemService.getChangesSince(installation.id, since);
+    }
+
+    private static List<Long> itemIds(InventoryItemChangesResponse changes) {
+        return changes.changedItems().stream().map(InventoryItemResponse::getId).toList();
+    }
+}
@@ -0,0 +1,173 @@
+package com.example.inventoryservice;
+
+import com.example.inventoryservice.controller.InventoryController;
+import com.example.inventoryservice.dto.CreateInventoryItemRequest;
+import com.example.inventoryservice.dto.InventoryItemPageResponse;
+import com.example.inventoryservice.dto.InventoryItemResponse;
+import com.example.inventoryservice.service.InventoryItemService;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+class InventoryItemListingTest {
+
+    private static final LocalDate TODAY = LocalDate.now();
+    private static final int ITEMS = 7;
+
+    @Autowired
+    private InventoryItemService inventoryItemService;
+
+    @Autowired
+    private InventoryController inventoryController;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private JsonMapper jsonMapper;
+
+    private TestInstallation installation;
+    private final List<Long> ids = new ArrayList<>();
+
+    @BeforeEach
+    void seed() {
+        installation = new TestInstallation(jsonMapper, jdbcTemplate);
+        // items alternate between the fridge and the pantry and expire one day apart
+        for (int i = 0; i < ITEMS; i++) {
+            ids.add(inventoryItemService.addNewInventoryItem(installation.createRequest(
+                    i + 1, 1, i % 2 == 0 ? "Fridge" : "Pantry", TODAY.plusDays(i))).getId());
+        }
+    }
+
+    @AfterEach
+    void cleanUp() {
+        installation.cleanUp();
+    }
+
+    @Test
+    void cursorWalksEveryItemOnceInIdOrder() {
+        List<Long> seen = new ArrayList<>();
+        List<Integer> pageSizes = new ArrayList<>();
+        Long cursor = null;
+        do {
+            InventoryItemPageResponse page = page(cursor, 3, null, null, null);
+            page.items().forEach(item -> seen.add(item.getId()));
+            pageSizes.add(page.items().size());
+            cursor = page.nextCursor();
+        } while (cursor != null);
+
+        assertEquals(ids, seen);
+        assertEquals(List.of(3, 3, 1), pageSizes);
+    }
+
+    @Test
+    void cursorIsSetOnlyWhenAnotherRowExists() {
+        // the page is read with one extra row, so an exactly full last page still ends the walk
+        assertNull(page(null, ITEMS, null, null, null).nextCursor());
+        InventoryItemPageResponse page = page(null, ITEMS - 1, null, null, null);
+        assertEquals(ids.get(ITEMS - 2), page.nextCursor());
+        assertEquals(List.of(ids.get(ITEMS - 1)), itemIds(page(page.nextCursor(), ITEMS, null, null, null)));
+    }
+
+    @Test
+    void filtersApplyAcrossPages() {
+        InventoryItemPageResponse fridge = page(null, 2, "Fridge", null, null);
+        assertEquals(List.of(ids.get(0), ids.get(2)), itemIds(fridge));
+        assertEquals(List.of(ids.get(4), ids.get(6)), itemIds(page(fridge.nextCursor(), 2, "Fridge", null, null)));
+
+        assertEquals(List.of(ids.get(2), ids.get(3), ids.get(4)),
+                itemIds(page(null, 10, null, TODAY.plusDays(2), TODAY.plusDays(4))));
+        assertEquals(List.of(ids.get(3)), itemIds(page(null, 10, "Pantry", TODAY.plusDays(2), TODAY.plusDays(4))));
+    }
+
+    @Test
+    void limitIsClampedToOneAndFiveHundred() {
+        List<CreateInventoryItemRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            requests.add(installation.createRequest(1_000 + i, 1));
+        }
+        inventoryItemService.addInventoryItems(requests);
+
+        InventoryItemPageResponse capped = page(null, 10_000, null, null, null);
+        assertEquals(500, capped.items().size());
+        assertNotNull(capped.nextCursor());
+
+        assertEquals(List.of(ids.get(0)), itemIds(page(null, 0, null, null, null)));
+    }
+
+    @Test
+    void streamWritesOneJsonLinePerItem() throws Exception {
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(inventoryController).build();
+
+        MvcResult started = mockMvc.perform(get("/inventory/items/stream").header("X-Installation-Id", installation.id))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString();
+
+        List<Long> streamed = body.lines()
+                .map(line -> jsonMapper.readTree(line).get("id").asLong())
+                .toList();
+        assertEquals(ids, streamed);
+    }
+
+    @Test
+    void streamDetachesEveryRowAfterWritingIt() {
+        AtomicInteger maxManaged = new AtomicInteger();
+        AtomicInteger streamed = new AtomicInteger();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                inventoryItemService.streamItemsForInstallation(installation.id, item -> {
+                    streamed.incrementAndGet();
+                    maxManaged.accumulateAndGet(
+                            entityManager.unwrap(Session.class).getStatistics().getEntityCount(), Math::max);
+                }));
+
+        assertEquals(ITEMS, streamed.get());
+        // only the row being written is ever managed
+        assertEquals(1, maxManaged.get());
+    }
+
+    private InventoryItemPageResponse page(Long afterId, int limit, String location,
+                                           LocalDate bestBeforeFrom, LocalDate bestBeforeTo) {
+        return inventoryItemService.getItemsPage(installation.id, afterId, limit, location, bestBeforeFrom, bestBeforeTo);
+    }
+
+    private static List<Long> itemIds(InventoryItemPageResponse page) {
+        return page.items().stream().map(InventoryItemResponse::getId).toList();
+    }
+}
@@ -0,0 +1,167 @@
+package com.example.inventoryservice;
+
+import com.example.inventoryeventcontract.InventoryEventType;
+import com.example.inventoryservice.controller.InventoryController;
+import com.example.inventoryservice.dto.AdjustQuantityRequest;
+import com.example.inventoryservice.dto.InventoryItemResponse;
+import com.example.inventoryservice.dto.UpdateInventoryItemRequest;
+import com.example.inventoryservice.exception.GlobalExceptionHandler;
+import com.example.inventoryservice.exception.InsufficientQuantityException;
+import com.example.inventoryservice.repository.InventoryRepository;
+import com.example.inventoryservice.service.InventoryItemService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+class InventoryQuantityAdjustmentTest {
+
+    @Autowired
+    private InventoryItemService inventoryItemService;
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @Autowired
+    private InventoryController inventoryController;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private JsonMapper jsonMapper;
+
+    private TestInstallation installation;
+    private long itemId;
+
+    @BeforeEach
+    void setUp() {
+        installation = new TestInstallation(jsonMapper, jdbcTemplate);
+        itemId = inventoryItemService.addNewInventoryItem(installation.createRequest(1, 5)).getId();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        installation.cleanUp();
+    }
+
+    @Test
+    void consumeAndRestockReturnTheUpdatedRow() {
+        assertEquals(3, inventoryItemService.consumeItem(installation.id, itemId, adjust(2)).getQuantity());
+        assertEquals(7, inventoryItemService.restockItem(installation.id, itemId, adjust(4)).getQuantity());
+        assertEquals(7, storedQuantity());
+    }
+
+    @Test
+    void returnedRowIsFreshEvenWhenTheItemIsAlreadyLoaded() {
+        InventoryItemResponse consumed = new TransactionTemplate(transactionManager).execute(status -> {
+            inventoryRepository.findByInstallationIdAndId(installation.id, itemId).orElseThrow();
+            return inventoryItemService.consumeItem(installation.id, itemId, adjust(2));
+        });
+
+        assertEquals(3, consumed.getQuantity());
+        assertEquals(3, storedQuantity());
+    }
+
+    @Test
+    void overdrawLeavesTheItemAndOutboxUntouched() {
+        assertThrows(InsufficientQuantityException.class,
+                () -> inventoryItemService.consumeItem(installation.id, itemId, adjust(6)));
+
+        assertEquals(5, storedQuantity());
+        assertEquals(List.of(InventoryEventType.ITEM_ADDED), eventTypes());
+    }
+
+    @Test
+    void unknownItemIsNotFoundAndOverdrawIsConflict() throws Exception {
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(inventoryController)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+
+        mockMvc.perform(post("/inventory/{id}/consume", Long.MAX_VALUE)
+                        .header("X-Installation-Id", installation.id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"amount\": 1}"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.error").value("ITEM_NOT_FOUND"));
+        mockMvc.perform(post("/inventory/{id}/restock", itemId)
+                        .header("X-Installation-Id", installation.id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"amount\": 1}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.quantity").value(6));
+        mockMvc.perform(post("/inventory/{id}/consume", itemId)
+                        .header("X-Installation-Id", installation.id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"amount\": 7}"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.error").value("INSUFFICIENT_QUANTITY"));
+        assertEquals(6, storedQuantity());
+    }
+
+    @Test
+    void quantityEventsCarryTheAmountMoved() {
+        inventoryItemService.consumeItem(installation.id, itemId, adjust(2));
+        inventoryItemService.restockItem(installation.id, itemId, adjust(4));
+        inventoryItemService.updateItem(installation.id, itemId, update(10));
+        inventoryItemService.updateItem(installation.id, itemId, update(1));
+        inventoryItemService.updateItem(installation.id, itemId,
+                jsonMapper.readValue("{\"notes\": \"top shelf\"}", UpdateInventoryItemRequest.class));
+
+        assertEquals(List.of(
+                InventoryEventType.ITEM_ADDED,
+                InventoryEventType.ITEM_DEPLETED,
+                InventoryEventType.ITEM_ADDED,
+                InventoryEventType.ITEM_ADDED,
+                InventoryEventType.ITEM_DEPLETED,
+                InventoryEventType.ITEM_UPDATED), eventTypes());
+        // 5 -> 3 -> 7 -> 10 -> 1, then a notes-only update that reports the current quantity
+        assertEquals(List.of(5, 2, 4, 3, 9, 1), eventQuantities());
+    }
+
+    private int storedQuantity() {
+        return jdbcTemplate.queryForObject("select quantity from inventory_items where id = ?", Integer.class, itemId);
+    }
+
+    private List<InventoryEventType> eventTypes() {
+        return jdbcTemplate.queryForList(
+                        "select payload->>'eventType' from inventory_event_outbox where installation_id = ? order by id",
+                        String.class, installation.id).stream()
+                .map(InventoryEventType::valueOf)
+                .toList();
+    }
+
+    private List<Integer> eventQuantities() {
+        return jdbcTemplate.queryForList(
+                "select (payload->>'quantity')::int from inventory_event_outbox where installation_id = ? order by id",
+                Integer.class, installation.id);
+    }
+
+    private UpdateInventoryItemRequest update(int quantity) {
+        return jsonMapper.readValue("{\"quantity\": " + quantity + "}", UpdateInventoryItemRequest.class);
+    }
+
+    private static AdjustQuantityRequest adjust(int amount) {
+        return new AdjustQuantityRequest(amount, null);
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.inventoryservice;
+
+import com.example.inventoryservice.dto.ShoppngListItemResponse;
+import com.example.inventoryservice.model.InventoryItem;
+import com.example.inventoryservice.model.InventoryRequirements;
+import com.example.inventoryservice.repository.InventoryRepository;
+import com.example.inventoryservice.repository.InventoryRequirementsRepository;
+import com.example.inventoryservice.service.ShoppingListProjectionService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+class ShoppingListProjectionTest {
+
+    @Autowired
+    private InventoryRequirementsRepository requirementsRepository;
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @Autowired
+    private ShoppingListProjectionService shoppingListProjectionService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final UUID installationId = UUID.randomUUID();
+
+    @AfterEach
+    void cleanUp() {
+        inventoryRepository.deleteAll(inventoryRepository.findAllByInstallationId(installationId));
+        requirementsRepository.deleteAll(requirementsRepository.findAllByInstallationId(installationId));
+        shoppingListProjectionService.rebuild(installationId);
+    }
+
+    @Test
+    void projectionMatchesAggregateQueryAfterRebuildAndRefresh() {
+        for (long productId = 1; productId <= 20; productId++) {
+            requirement(productId, productId % 2 == 0 ? 5 : 1);
+            item(productId, 3);
+        }
+
+        assertEquals(10, shoppingListProjectionService.rebuild(installationId));
+        assertEquals(requirementsRepository.findShoppingList(installationId),
+                shoppingListProjectionService.getShoppingList(installationId));
+
+        // product 1 is fully stocked; dropping its items must surface it after an incremental refresh
+        inventoryRepository.deleteAll(inventoryRepository.findAllByInstallationId(installationId).stream()
+                .filter(item -> item.getGenericProductId() == 1L)
+                .toList());
+        shoppingListProjectionService.refresh(installationId, List.of(1L));
+
+        assertEquals(11, shoppingListProjectionService.getShoppingList(installationId).size());
+        assertEquals(requirementsRepository.findShoppingList(installationId),
+                shoppingListProjectionService.getShoppingList(installationId));
+    }
+
+    @Test
+    void listIsOrderedByRequirementCreation() {
+        requirement(30, 2);
+        requirement(10, 2);
+        requirement(20, 2);
+        shoppingListProjectionService.rebuild(installationId);
+        // an incrementally refreshed entry takes its requirement's place too
+        requirement(5, 2);
+        shoppingListProjectionService.refresh(installationId, List.of(5L));
+
+        assertEquals(List.of(30L, 10L, 20L, 5L), shoppingListProjectionService.getShoppingList(installationId).stream()
+                .map(ShoppngListItemResponse::getProductId)
+                .toList());
+    }
+
+    @Test
+    void concurrentItemAndRequirementChangesBothReachTheEntry() throws Exception {
+        InventoryRequirements requirement = requirement(1, 5);
+        item(1, 10);
+        shoppingListProjectionService.rebuild(installationId);
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        // the item change refreshes first and stays open while the requirement change tries to refresh
+        CompletableFuture<Void> requirementChange = new CompletableFuture<>();
+        transaction.executeWithoutResult(status -> {
+            jdbcTemplate.update("delete from inventory_items where installation_id = ?", installationId);
+            shoppingListProjectionService.refresh(installationId, List.of(1L));
+
+            CompletableFuture.runAsync(() -> transaction.executeWithoutResult(other -> {
+                jdbcTemplate.update("update inventory_requirements set minimum_quantity = 20 where id = ?",
+                        requirement.getId());
+                shoppingListProjectionService.refresh(installationId, List.of(1L));
+            })).whenComplete((result, error) -> {
+                if (error != null) {
+                    requirementChange.completeExceptionally(error);
+                } else {
+                    requirementChange.complete(null);
+                }
+            });
+            await().atMost(10, TimeUnit.SECONDS).until(() -> jdbcTemplate.queryForObject(
+                    "select count(*) from pg_locks where not granted", Integer.class) > 0);
+        });
+        requirementChange.get(10, TimeUnit.SECONDS);
+
+        List<ShoppngListItemResponse> shoppingList = shoppingListProjectionService.getShoppingList(installationId);
+        assertEquals(1, shoppingList.size());
+        assertEquals(0, shoppingList.get(0).getCurrentQuantity());
+        assertEquals(20, shoppingList.get(0).getMissingQuantity());
+    }
+
+    private InventoryRequirements requirement(long productId, int minimumQuantity) {
+        InventoryRequirements requirement = new InventoryRequirements();
+        requirement.setInstallationId(installationId);
+        requirement.setGenericProductId(productId);
+        requirement.setGenericProductName("Product " + productId);
+        requirement.setMinimumQuantity(minimumQuantity);
+        return requirementsRepository.save(requirement);
+    }
+
+    private void item(long productId, int quantity) {
+        InventoryItem item = new InventoryItem();
+        item.setInstallationId(installationId);
+        item.setGenericProductId(productId);
+        item.setGenericProductName("Product " + productId);
+        item.setQuantity(quantity);
+        item.setBestBefore(LocalDate.now().plusDays(7));
+        inventoryRepository.save(item);
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.inventoryservice;
+
+import com.example.inventoryservice.dto.ShoppngListItemResponse;
+import com.example.inventoryservice.model.InventoryItem;
+import com.example.inventoryservice.model.InventoryRequirements;
+import com.example.inventoryservice.repository.InventoryRepository;
+import com.example.inventoryservice.repository.InventoryRequirementsRepository;
+import com.example.inventoryservice.service.ShoppingListProjectionService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares the aggregate shopping list query against the previous approach of loading
+ * every requirement and inventory row into the JVM and subtracting with streams.
+ */
+@Slf4j
+@SpringBootTest
+class ShoppingListQueryBenchmarkTest {
+
+    private static final int PRODUCTS = 200;
+    private static final int BATCHES_PER_PRODUCT = 20;
+    private static final int ITERATIONS = 20;
+
+    @Autowired
+    private InventoryRequirementsRepository requirementsRepository;
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @Autowired
+    private ShoppingListProjectionService shoppingListProjectionService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final UUID installationId = UUID.randomUUID();
+
+    @BeforeEach
+    void seed() {
+        // every other product is under-stocked so the list is half of the requirements
+        List<InventoryRequirements> requirements = new ArrayList<>();
+        List<InventoryItem> items = new ArrayList<>();
+        for (long productId = 1; productId <= PRODUCTS; productId++) {
+            InventoryRequirements requirement = new InventoryRequirements();
+            requirement.setInstallationId(installationId);
+            requirement.setGenericProductId(productId);
+            requirement.setGenericProductName("Product " + productId);
+            requirement.setMinimumQuantity(BATCHES_PER_PRODUCT + (productId % 2 == 0 ? 5 : -5));
+            requirements.add(requirement);
+
+            for (int batch = 0; batch < BATCHES_PER_PRODUCT; batch++) {
+                InventoryItem item = new InventoryItem();
+                item.setInstallationId(installationId);
+                item.setGenericProductId(productId);
+                item.setGenericProductName("Product " + productId);
+                item.setQuantity(1);
+                item.setBestBefore(LocalDate.now().plusDays(batch));
+                items.add(item);
+            }
+        }
+        requirementsRepository.saveAll(requirements);
+        inventoryRepository.saveAll(items);
+
+        // freshly seeded tables have no planner statistics yet; autovacuum would normally provide them
+        jdbcTemplate.execute("ANALYZE inventory_requirements");
+        jdbcTemplate.execute("ANALYZE inventory_items");
+    }
+
+    @AfterEach
+    void cleanUp() {
+        inventoryRepository.deleteAll(inventoryRepository.findAllByInstallationId(installationId));
+        requirementsRepository.deleteAll(requirementsRepository.findAllByInstallationId(installationId));
+        shoppingListProjectionService.rebuild(installationId);
+    }
+
+    @Test
+    void aggregateQueryMatchesStreamPath() {
+        List<ShoppngListItemResponse> expected = streamShoppingList();
+        List<ShoppngListItemResponse> actual = requirementsRepository.findShoppingList(installationId);
+
+        assertEquals(PRODUCTS / 2, actual.size());
+        assertEquals(expected, actual);
+
+        long streamNanos = time(this::streamShoppingList);
+        long queryNanos = time(() -> requirementsRepository.findShoppingList(installationId));
+
+        log.info("Shopping list over {} requirements / {} items: stream path {} ms/op, aggregate query {} ms/op",
+                PRODUCTS, PRODUCTS * BATCHES_PER_PRODUCT,
+                streamNanos / ITERATIONS / 1_000_000.0, queryNanos / ITERATIONS / 1_000_000.0);
+    }
+
+    private long time(Runnable action) {
+        action.run(); // warm-up
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            action.run();
+        }
+        return System.nanoTime() - start;
+    }
+
+    private List<ShoppngListItemResponse> streamShoppingList() {
+        Map<Long, Integer> inventoryMap = inventoryRepository.findAllByInstallationId(installationId).stream()
+                .collect(Collectors.groupingBy(
+                        InventoryItem::getGenericProductId,
+                        Collectors.summingInt(InventoryItem::getQuantity)
+                ));
+
+        return requirementsRepository.findAllByInstallationId(installationId).stream()
+                .filter(req -> req.getMinimumQuantity() - inventoryMap.getOrDefault(req.getGenericProductId(), 0) > 0)
+                .map(req -> {
+                    int currentQty = inventoryMap.getOrDefault(req.getGenericProductId(), 0);
+                    return new ShoppngListItemResponse(
+                            req.getGenericProductId(),
+                            req.getGenericProductName(),
+                            currentQty,
+                            req.getMinimumQuantity(),
+                            req.getMinimumQuantity() - currentQty
+                    );
+                })
+                .toList();
+    }
+}
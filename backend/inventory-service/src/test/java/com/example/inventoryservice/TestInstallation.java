@@ -0,0 +1,52 @@
+package com.example.inventoryservice;
+
+import com.example.inventoryservice.dto.CreateInventoryItemRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * A random installation for tests that go through the services: builds item requests for it and
+ * removes every row it left behind.
+ */
+final class TestInstallation {
+
+    private static final String[] TABLES = {
+            "inventory_items", "inventory_item_tombstones", "inventory_requirements", "shopping_list_entry",
+            "inventory_event_outbox", "installation_change_versions"
+    };
+
+    final UUID id = UUID.randomUUID();
+
+    private final JsonMapper jsonMapper;
+    private final JdbcTemplate jdbcTemplate;
+
+    TestInstallation(JsonMapper jsonMapper, JdbcTemplate jdbcTemplate) {
+        this.jsonMapper = jsonMapper;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    CreateInventoryItemRequest createRequest(long productId, int quantity) {
+        return createRequest(productId, quantity, null, null);
+    }
+
+    CreateInventoryItemRequest createRequest(long productId, int quantity, String location, LocalDate bestBefore) {
+        return jsonMapper.readValue("""
+                {"installationId": "%s", "genericProductId": %d, "genericProductName": "Product %d", "quantity": %d,
+                 "location": %s, "bestBefore": %s}
+                """.formatted(id, productId, productId, quantity, quoted(location), quoted(bestBefore)),
+                CreateInventoryItemRequest.class);
+    }
+
+    void cleanUp() {
+        for (String table : TABLES) {
+            jdbcTemplate.update("delete from " + table + " where installation_id = ?", id);
+        }
+    }
+
+    private static String quoted(Object value) {
+        return value == null ? "null" : "\"" + value + "\"";
+    }
+}